@@ -0,0 +1,71 @@
+package com.social.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.mapping.EntityMapper;
+import com.social.backend.repository.mapping.EntityMappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a list response with the ObjectMapper configuration Spring MVC uses,
+ * for the full PostEntity and the PostSummary projection served by GET /posts.
+ * The encoded payload size of each variant is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseEncodingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"entity", "summary"})
+    public String view;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ApiResponse<?> response;
+
+    @Setup
+    public void setUp() {
+        List<PostEntity> posts = BenchmarkData.posts(pageSize);
+        if ("summary".equals(view)) {
+            EntityMapper<PostEntity> entityMapper = EntityMappers.forClass(PostEntity.class);
+            EntityMapper<PostSummary> summaryMapper = EntityMappers.forClass(PostSummary.class);
+            List<PostSummary> summaries = new ArrayList<>(posts.size());
+            for (PostEntity post : posts) {
+                summaries.add(summaryMapper.fromDocument(entityMapper.toDocument(post)));
+            }
+            response = ApiResponse.page(new CursorPage<>(summaries, "next-page-cursor"));
+        } else {
+            response = ApiResponse.page(new CursorPage<>(posts, "next-page-cursor"));
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportPayloadSize() throws JsonProcessingException {
+        System.out.printf("%n%s page of %d: %d bytes%n", view, pageSize, encode().length);
+    }
+}
@@ -0,0 +1,67 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.repository.CoalescingBatchWriter;
+import com.social.backend.repository.NotificationRepository;
+import com.social.backend.storage.FaultInjectingDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent notification creation through a store with 2 ms round trips: one set per write
+ * versus the coalescing batch writer. The number of store round trips of each variant is
+ * printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class BatchWriterBenchmark {
+
+    private Path directory;
+    private FaultInjectingDocumentStore store;
+    private NotificationRepository repository;
+    private CoalescingBatchWriter batchWriter;
+
+    @Setup
+    public void setUp() {
+        directory = BenchmarkData.tempDirectory();
+        store = new FaultInjectingDocumentStore(BenchmarkData.localStore(directory),
+                Duration.ofMillis(2), Duration.ZERO, 0);
+        repository = BenchmarkData.notificationRepository(store);
+        batchWriter = new CoalescingBatchWriter(store, 200, 10, 10_000, 8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("%nstore sets: %d, store commits: %d%n",
+                store.getCallCount("set"), store.getCallCount("commit"));
+        batchWriter.shutdown();
+        store.close();
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Void directSet() throws Exception {
+        String id = UUID.randomUUID().toString();
+        return repository.save(id, BenchmarkData.notification(id)).get();
+    }
+
+    @Benchmark
+    public Void batchedSet() throws Exception {
+        String id = UUID.randomUUID().toString();
+        return batchWriter.set(repository, id, BenchmarkData.notification(id)).get();
+    }
+}
@@ -0,0 +1,188 @@
+package com.social.backend.benchmark;
+
+import com.google.cloud.Timestamp;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.model.entity.ConversationEntity;
+import com.social.backend.model.entity.LastMessageEntity;
+import com.social.backend.model.entity.MessageEntity;
+import com.social.backend.model.entity.NotificationEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.ranking.RankedPostIndex;
+import com.social.backend.ranking.RankingProperties;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.repository.NotificationRepository;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.UserRepository;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.repository.cache.EntityCacheManager;
+import com.social.backend.repository.cache.EntityCacheProperties;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.local.LocalDocumentStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic sample entities and store fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final long EPOCH_SECONDS = 1_700_000_000L;
+
+    private BenchmarkData() {
+    }
+
+    static List<PostEntity> posts(int count) {
+        Random random = new Random(42);
+        List<PostEntity> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(PostEntity.builder()
+                    .id("post-" + i)
+                    .authorId("user-" + random.nextInt(1000))
+                    .authorName("Author " + i)
+                    .authorAvatarUrl("https://cdn.example.com/avatars/" + i + ".jpg")
+                    .text(text(random, 40 + random.nextInt(200)))
+                    .mediaUrls(List.of("https://cdn.example.com/media/" + i + "-0.jpg",
+                            "https://cdn.example.com/media/" + i + "-1.jpg"))
+                    .likeCount(random.nextInt(500))
+                    .commentCount(random.nextInt(50))
+                    .createdAt(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS + i, 0))
+                    .groupId(i % 5 == 0 ? "group-" + (i % 20) : null)
+                    .build());
+        }
+        return posts;
+    }
+
+    static List<MessageEntity> messages(int count) {
+        Random random = new Random(43);
+        List<MessageEntity> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(MessageEntity.builder()
+                    .id("message-" + i)
+                    .conversationId("conversation-" + (i % 50))
+                    .sequenceId(i)
+                    .senderId("user-" + random.nextInt(1000))
+                    .senderName("Sender " + i)
+                    .senderAvatarUrl("https://cdn.example.com/avatars/" + i + ".jpg")
+                    .content(text(random, 10 + random.nextInt(80)))
+                    .reactions(Map.of("like", List.of("user-1", "user-2")))
+                    .deliveredTo(List.of("user-1", "user-2", "user-3"))
+                    .seenBy(List.of("user-1"))
+                    .timestamp(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS + i, 0))
+                    .build());
+        }
+        return messages;
+    }
+
+    static List<ConversationEntity> conversations(int count) {
+        Random random = new Random(44);
+        List<ConversationEntity> conversations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            conversations.add(ConversationEntity.builder()
+                    .id("conversation-" + i)
+                    .type(i % 4 == 0 ? "GROUP" : "DIRECT")
+                    .name("Conversation " + i)
+                    .participantIds(List.of("user-" + i, "user-" + (i + 1), "user-" + (i + 2)))
+                    .adminIds(List.of("user-" + i))
+                    .lastMessage(LastMessageEntity.builder()
+                            .text(text(random, 30))
+                            .senderId("user-" + i)
+                            .senderName("Sender " + i)
+                            .sequenceId(random.nextInt(10_000))
+                            .timestamp(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS + i, 0))
+                            .build())
+                    .unreadCount(random.nextInt(20))
+                    .creatorId("user-" + i)
+                    .createdAt(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS, 0))
+                    .updatedAt(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS + i, 0))
+                    .build());
+        }
+        return conversations;
+    }
+
+    static NotificationEntity notification(String id) {
+        return NotificationEntity.builder()
+                .id(id)
+                .userId("user-1")
+                .title("New comment")
+                .message("Someone commented on your post")
+                .createdAt(System.currentTimeMillis())
+                .build();
+    }
+
+    static Path tempDirectory() {
+        try {
+            return Files.createTempDirectory("jmh-store");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** A local store that never compacts, so compaction does not land inside a measurement. */
+    static LocalDocumentStore localStore(Path directory) {
+        return new LocalDocumentStore(directory, false, Long.MAX_VALUE);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    static PostRepository postRepository(DocumentStore store) {
+        return new PostRepository(store, callbackExecutor(), uncachedCacheManager());
+    }
+
+    static UserRepository userRepository(DocumentStore store) {
+        return new UserRepository(store, callbackExecutor(), uncachedCacheManager());
+    }
+
+    static NotificationRepository notificationRepository(DocumentStore store) {
+        return new NotificationRepository(store, callbackExecutor());
+    }
+
+    /** An index that is never started: no warm-up and no change-feed subscription. */
+    static RankedPostIndex rankedPostIndex(DocumentStore store, PostRepository posts, RankingProperties properties) {
+        return new RankedPostIndex(properties, store, posts, postCounters(store),
+                new StaticListableBeanFactory().getBeanProvider(ChangeFeed.class));
+    }
+
+    static PostCounters postCounters(DocumentStore store) {
+        return new PostCounters(new PostCounterRepository(store, callbackExecutor(), 10, 2), Duration.ofSeconds(30), 100_000);
+    }
+
+    static LikedPostIndex likedPostIndex(DocumentStore store) {
+        return new LikedPostIndex(new LikeRepository(store, callbackExecutor()), 100_000, 200, Duration.ofHours(1));
+    }
+
+    private static FirestoreCallbackExecutor callbackExecutor() {
+        return new FirestoreCallbackExecutor(MoreExecutors.directExecutor());
+    }
+
+    private static EntityCacheManager uncachedCacheManager() {
+        EntityCacheProperties properties = new EntityCacheProperties();
+        properties.setEnabled(false);
+        return new EntityCacheManager(properties, new SimpleMeterRegistry());
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(i % 6 == 5 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
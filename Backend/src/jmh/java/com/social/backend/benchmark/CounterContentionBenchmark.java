@@ -0,0 +1,135 @@
+package com.social.backend.benchmark;
+
+import com.google.api.core.ApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.storage.local.LocalDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sustained like increments on one hot post from 32 threads. The store admits one write per
+ * document every {@code WRITE_INTERVAL_MICROS} (Firestore's roughly one write per second per
+ * document, scaled down 1000x), so with one shard throughput is capped at that rate and with
+ * {@code shards} shards it scales close to {@code shards} times higher. The post is marked hot on its
+ * first increment, so after that every increment goes to a shard.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CounterContentionBenchmark {
+
+    private static final long WRITE_INTERVAL_MICROS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class CounterState {
+
+        @Param({"1", "10", "50"})
+        public int shards;
+
+        Path directory;
+        LocalDocumentStore store;
+        PostCounterRepository counters;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            directory = BenchmarkData.tempDirectory();
+            store = BenchmarkData.localStore(directory);
+            counters = new PostCounterRepository(new WriteRateLimitedStore(store),
+                    new FirestoreCallbackExecutor(MoreExecutors.directExecutor()), shards, 0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            store.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void increment(CounterState state) throws Exception {
+        state.counters.commit(List.of(state.counters.increment("hot-post", PostCounterRepository.LIKES, 1))).get();
+    }
+
+    /** Queues each write behind earlier writes of the same documents, one per write interval per document. */
+    static final class WriteRateLimitedStore implements DocumentStore {
+
+        private final DocumentStore delegate;
+        private final Map<String, AtomicLong> nextSlot = new ConcurrentHashMap<>();
+
+        WriteRateLimitedStore(DocumentStore delegate) {
+            this.delegate = delegate;
+        }
+
+        private void admit(String collection, String id) {
+            long interval = TimeUnit.MICROSECONDS.toNanos(WRITE_INTERVAL_MICROS);
+            AtomicLong next = nextSlot.computeIfAbsent(collection + "/" + id, key -> new AtomicLong());
+            long slot = next.accumulateAndGet(System.nanoTime(), (reserved, now) -> Math.max(reserved, now) + interval) - interval;
+            long wait;
+            while ((wait = slot - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        @Override
+        public ApiFuture<Map<String, Object>> get(String collection, String id) {
+            return delegate.get(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+            return delegate.getAll(collection, ids);
+        }
+
+        @Override
+        public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+            admit(collection, id);
+            return delegate.set(collection, id, data);
+        }
+
+        @Override
+        public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+            admit(collection, id);
+            return delegate.update(collection, id, fields);
+        }
+
+        @Override
+        public ApiFuture<Void> delete(String collection, String id) {
+            admit(collection, id);
+            return delegate.delete(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+            return delegate.scan(request);
+        }
+
+        @Override
+        public ApiFuture<Void> commit(List<WriteOperation> writes) {
+            writes.forEach(write -> admit(write.getCollection(), write.getId()));
+            return delegate.commit(writes);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.model.entity.ConversationEntity;
+import com.social.backend.model.entity.MessageEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.mapping.EntityMapper;
+import com.social.backend.repository.mapping.EntityMappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a 1k-document page between document maps and entities, comparing the explicit
+ * per-entity mappers with the reflective bean-convention mapper. Run with {@code -prof gc}
+ * to compare allocation per page as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityMappingBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"post", "message", "conversation"})
+    public String entity;
+
+    @Param({"explicit", "reflective"})
+    public String mapper;
+
+    private EntityMapper<Object> entityMapper;
+    private List<?> entities;
+    private List<Map<String, Object>> documents;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Class<?> clazz;
+        switch (entity) {
+            case "post" -> {
+                clazz = PostEntity.class;
+                entities = BenchmarkData.posts(PAGE_SIZE);
+            }
+            case "message" -> {
+                clazz = MessageEntity.class;
+                entities = BenchmarkData.messages(PAGE_SIZE);
+            }
+            case "conversation" -> {
+                clazz = ConversationEntity.class;
+                entities = BenchmarkData.conversations(PAGE_SIZE);
+            }
+            default -> throw new IllegalArgumentException(entity);
+        }
+        entityMapper = (EntityMapper<Object>) ("explicit".equals(mapper)
+                ? EntityMappers.forClass(clazz)
+                : EntityMappers.reflective(clazz));
+        documents = new ArrayList<>(PAGE_SIZE);
+        for (Object value : entities) {
+            documents.add(entityMapper.toDocument(value));
+        }
+    }
+
+    @Benchmark
+    public void fromDocuments(Blackhole blackhole) {
+        for (Map<String, Object> document : documents) {
+            blackhole.consume(entityMapper.fromDocument(document));
+        }
+    }
+
+    @Benchmark
+    public void toDocuments(Blackhole blackhole) {
+        for (Object value : entities) {
+            blackhole.consume(entityMapper.toDocument(value));
+        }
+    }
+}
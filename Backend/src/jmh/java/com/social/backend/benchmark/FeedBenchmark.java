@@ -0,0 +1,262 @@
+package com.social.backend.benchmark;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.FeedSourceEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.model.entity.TimelineItemEntity;
+import com.social.backend.ranking.RankingProperties;
+import com.social.backend.repository.FeedSourceRepository;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.SocialGraphRepository;
+import com.social.backend.repository.TimelineRepository;
+import com.social.backend.service.impl.FeedServiceImpl;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.storage.local.LocalDocumentStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hybrid feed costs with a fan-out threshold of 1000. {@code fanOut} reports store writes per
+ * post (bounded by threshold + 2 however large the audience); {@code readFeed} reads a page for a
+ * reader following a number of pull-only sources (bounded by max-pull-sources).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FeedBenchmark {
+
+    private static final int THRESHOLD = 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final long EPOCH_SECONDS = 1_700_000_000L;
+
+    @State(Scope.Benchmark)
+    public static class FanOutState {
+
+        @Param({"100", "1000", "10000", "100000"})
+        public int audience;
+
+        Path directory;
+        LocalDocumentStore local;
+        WriteCountingStore store;
+        FeedServiceImpl feedService;
+        long nextPost;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            directory = BenchmarkData.tempDirectory();
+            local = BenchmarkData.localStore(directory);
+            addFriends(local, "author", audience);
+            store = new WriteCountingStore(local);
+            feedService = feedService(store);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            feedService.shutdown();
+            local.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({"0", "10", "50"})
+        public int pulledSources;
+
+        Path directory;
+        LocalDocumentStore store;
+        FeedServiceImpl feedService;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            directory = BenchmarkData.tempDirectory();
+            store = BenchmarkData.localStore(directory);
+            PostRepository posts = BenchmarkData.postRepository(store);
+            TimelineRepository timelines = new TimelineRepository(store, callbackExecutor());
+            FeedSourceRepository sources = new FeedSourceRepository(store, callbackExecutor());
+
+            // The reader's own timeline: 1000 pushed posts
+            for (int i = 0; i < 1000; i++) {
+                PostEntity post = post("pushed-" + i, "friend-" + (i % 100), EPOCH_SECONDS + i * 10L);
+                posts.save(post.getId(), post).get();
+                timelines.append(List.of("reader"), item(post)).get();
+            }
+            // Pull-only sources the reader is friends with, 200 posts each
+            List<String> friends = new ArrayList<>();
+            for (int s = 0; s < pulledSources; s++) {
+                String author = "celebrity-" + s;
+                friends.add(author);
+                sources.save("user:" + author, FeedSourceEntity.builder()
+                        .sourceKey("user:" + author).type("USER").sourceId(author)
+                        .audienceSize(THRESHOLD + 1).classifiedAt(Timestamp.now()).build()).get();
+                for (int i = 0; i < 200; i++) {
+                    PostEntity post = post(author + "-post-" + i, author, EPOCH_SECONDS + i * 50L + s);
+                    posts.save(post.getId(), post).get();
+                    timelines.appendToOutbox("user:" + author, item(post)).get();
+                }
+            }
+            List<WriteOperation> writes = new ArrayList<>();
+            for (String friend : friends) {
+                writes.add(WriteOperation.set("users/reader/friends", friend, Map.of("friendId", friend)));
+            }
+            if (!writes.isEmpty()) {
+                store.commit(writes).get();
+            }
+            feedService = feedService(store);
+            feedService.refreshPulledSources();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            feedService.shutdown();
+            store.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Writes {
+        public long writes;
+    }
+
+    @Benchmark
+    public void fanOut(FanOutState state, Writes writes) {
+        long before = state.store.writes.get();
+        long n = state.nextPost++;
+        state.feedService.fanOut(post("post-" + n, "author", EPOCH_SECONDS + n)).join();
+        writes.writes += state.store.writes.get() - before;
+    }
+
+    @Benchmark
+    public CursorPage<PostSummary> readFeed(ReadState state) {
+        return state.feedService.getFeed("reader", null, PAGE_SIZE).join();
+    }
+
+    private static FeedServiceImpl feedService(DocumentStore store) {
+        PostRepository posts = BenchmarkData.postRepository(store);
+        return new FeedServiceImpl(new TimelineRepository(store, callbackExecutor()),
+                new SocialGraphRepository(store, callbackExecutor()), posts,
+                new FeedSourceRepository(store, callbackExecutor()),
+                BenchmarkData.rankedPostIndex(store, posts, new RankingProperties()), new RankingProperties(),
+                BenchmarkData.likedPostIndex(store),
+                THRESHOLD, 50, Duration.ofHours(1));
+    }
+
+    private static FirestoreCallbackExecutor callbackExecutor() {
+        return new FirestoreCallbackExecutor(MoreExecutors.directExecutor());
+    }
+
+    private static void addFriends(DocumentStore store, String uid, int count) throws Exception {
+        List<WriteOperation> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(WriteOperation.set("users/" + uid + "/friends", "friend-" + i, Map.of("friendId", "friend-" + i)));
+            if (batch.size() == 500) {
+                store.commit(batch).get();
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            store.commit(batch).get();
+        }
+    }
+
+    private static PostEntity post(String id, String authorId, long createdAtSeconds) {
+        return PostEntity.builder()
+                .id(id)
+                .authorId(authorId)
+                .text("Post " + id)
+                .createdAt(Timestamp.ofTimeSecondsAndNanos(createdAtSeconds, 0))
+                .build();
+    }
+
+    private static TimelineItemEntity item(PostEntity post) {
+        return TimelineItemEntity.builder()
+                .postId(post.getId())
+                .authorId(post.getAuthorId())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+
+    /** Counts writes and drops timeline and outbox writes, so long runs don't grow the store without bound. */
+    static final class WriteCountingStore implements DocumentStore {
+
+        final AtomicLong writes = new AtomicLong();
+        private final DocumentStore delegate;
+
+        WriteCountingStore(DocumentStore delegate) {
+            this.delegate = delegate;
+        }
+
+        private static boolean dropped(String collection) {
+            return collection.startsWith("timelines/") || collection.startsWith("outboxes/");
+        }
+
+        @Override
+        public ApiFuture<Map<String, Object>> get(String collection, String id) {
+            return delegate.get(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+            return delegate.getAll(collection, ids);
+        }
+
+        @Override
+        public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+            writes.incrementAndGet();
+            return dropped(collection) ? ApiFutures.immediateFuture(null)
+                    : delegate.set(collection, id, data);
+        }
+
+        @Override
+        public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+            writes.incrementAndGet();
+            return delegate.update(collection, id, fields);
+        }
+
+        @Override
+        public ApiFuture<Void> delete(String collection, String id) {
+            writes.incrementAndGet();
+            return delegate.delete(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+            return delegate.scan(request);
+        }
+
+        @Override
+        public ApiFuture<Void> commit(List<WriteOperation> operations) {
+            writes.addAndGet(operations.size());
+            List<WriteOperation> kept = operations.stream().filter(op -> !dropped(op.getCollection())).toList();
+            return kept.isEmpty() ? ApiFutures.immediateFuture(null) : delegate.commit(kept);
+        }
+    }
+}
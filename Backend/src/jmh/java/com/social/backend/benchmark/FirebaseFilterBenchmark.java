@@ -0,0 +1,46 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.security.FirebaseFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorization header parsing done by FirebaseFilter on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FirebaseFilterBenchmark {
+
+    // Header, payload and signature sized like a real Firebase ID token (~900 bytes)
+    private static final String TOKEN = "eyJhbGciOiJSUzI1NiIsImtpZCI6IjEyMyIsInR5cCI6IkpXVCJ9."
+            + "e".repeat(620) + "." + "s".repeat(342);
+
+    @Param({"bearer", "missing", "otherScheme"})
+    public String header;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (header) {
+            case "bearer" -> "Bearer " + TOKEN;
+            case "missing" -> null;
+            case "otherScheme" -> "Basic dXNlcjpwYXNzd29yZA==";
+            default -> throw new IllegalArgumentException(header);
+        };
+    }
+
+    @Benchmark
+    public String bearerToken() {
+        return FirebaseFilter.bearerToken(value);
+    }
+}
@@ -0,0 +1,108 @@
+package com.social.backend.benchmark;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.SocialGraphRepository;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.storage.local.LocalDocumentStore;
+import com.social.backend.visibility.GroupVisibilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Private-group filtering of the post listing. {@code canSee} is the per-post check; {@code listPage}
+ * reads a full 20-post page when {@code privateShare} percent of posts are in private groups the
+ * reader is not a member of.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupVisibilityBenchmark {
+
+    private static final int GROUPS = 1000;
+    private static final int POSTS = 5000;
+    private static final int PAGE_SIZE = 20;
+
+    @State(Scope.Benchmark)
+    public static class IndexState {
+
+        @Param({"0", "50", "90"})
+        public int privateShare;
+
+        Path directory;
+        LocalDocumentStore store;
+        PostRepository posts;
+        GroupVisibilityIndex index;
+        String[] groupIds = new String[GROUPS];
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            directory = BenchmarkData.tempDirectory();
+            store = BenchmarkData.localStore(directory);
+            posts = BenchmarkData.postRepository(store);
+
+            // Groups below privateShare percent are private; the reader belongs to none of them
+            List<WriteOperation> writes = new ArrayList<>();
+            for (int g = 0; g < GROUPS; g++) {
+                groupIds[g] = "group-" + g;
+                boolean isPrivate = g * 100 < privateShare * GROUPS;
+                writes.add(WriteOperation.set("groups", "group-" + g, Map.of("privacy", isPrivate ? "PRIVATE" : "PUBLIC")));
+                for (int m = 0; m < 50; m++) {
+                    writes.add(WriteOperation.set("groups/group-" + g + "/members", "member-" + (g + m), Map.of("role", "MEMBER")));
+                }
+                store.commit(writes).get();
+                writes.clear();
+            }
+            List<PostEntity> samples = BenchmarkData.posts(POSTS);
+            for (int i = 0; i < samples.size(); i++) {
+                PostEntity post = samples.get(i);
+                post.setGroupId("group-" + (i % GROUPS));
+                posts.save(post.getId(), post).get();
+            }
+
+            index = new GroupVisibilityIndex(
+                    new SocialGraphRepository(store, new FirestoreCallbackExecutor(MoreExecutors.directExecutor())),
+                    new StaticListableBeanFactory().getBeanProvider(ChangeFeed.class), Duration.ofHours(1), 100_000);
+            index.refreshAll();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            index.shutdown();
+            store.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public boolean canSee(IndexState state) {
+        return state.index.canSee("reader", state.groupIds[ThreadLocalRandom.current().nextInt(GROUPS)]);
+    }
+
+    @Benchmark
+    public CursorPage<PostSummary> listPage(IndexState state) throws Exception {
+        return state.posts.findFilteredPage(PostSummary.class, "createdAt", null, PAGE_SIZE,
+                post -> state.index.canSee("reader", post.getGroupId())).get();
+    }
+}
@@ -0,0 +1,115 @@
+package com.social.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social.backend.security.CachingIdTokenVerifier;
+import com.social.backend.security.FirebaseFilter;
+import com.social.backend.security.IdTokenVerifier;
+import com.social.backend.security.LocalIdTokenVerifier;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FirebaseFilter throughput with in-process RS256 verification, with and without the
+ * verified-token cache, for one client repeating a token and for many distinct clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdTokenVerificationBenchmark {
+
+    private static final String PROJECT_ID = "benchmark-project";
+    private static final String KEY_ID = "benchmark-key";
+
+    @Param({"uncached", "cached"})
+    public String verifier;
+
+    @Param({"1", "10000"})
+    public int distinctTokens;
+
+    private String[] headers;
+    private FirebaseFilter filter;
+
+    @State(Scope.Thread)
+    public static class Request {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        headers = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            headers[i] = "Bearer " + sign(keyPair, "user-" + i);
+        }
+        IdTokenVerifier local = new LocalIdTokenVerifier(PROJECT_ID,
+                kid -> KEY_ID.equals(kid) ? keyPair.getPublic() : null);
+        filter = new FirebaseFilter("cached".equals(verifier)
+                ? new CachingIdTokenVerifier(local, 100_000, Duration.ofMinutes(10))
+                : local);
+    }
+
+    @Benchmark
+    public Object filter(Request state) throws Exception {
+        state.request.removeHeader("Authorization");
+        state.request.addHeader("Authorization", headers[state.next++ % headers.length]);
+        FilterChain chain = (request, response) -> { };
+        filter.doFilter(state.request, state.response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    // A token shaped like Firebase's: RS256 header with kid, standard claims, 2048-bit signature
+    private static String sign(KeyPair keyPair, String uid) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> header = Map.of("alg", "RS256", "kid", KEY_ID, "typ", "JWT");
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", "https://securetoken.google.com/" + PROJECT_ID);
+        claims.put("aud", PROJECT_ID);
+        claims.put("auth_time", now - 60);
+        claims.put("user_id", uid);
+        claims.put("sub", uid);
+        claims.put("iat", now - 60);
+        claims.put("exp", now + 3600);
+        claims.put("email", uid + "@example.com");
+        claims.put("email_verified", true);
+        claims.put("firebase", Map.of("identities", Map.of("email", new String[]{uid + "@example.com"}),
+                "sign_in_provider", "password"));
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String signingInput = encoder.encodeToString(mapper.writeValueAsBytes(header)) + "."
+                + encoder.encodeToString(mapper.writeValueAsBytes(claims));
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + encoder.encodeToString(signature.sign());
+    }
+}
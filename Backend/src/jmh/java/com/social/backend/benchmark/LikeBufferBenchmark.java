@@ -0,0 +1,182 @@
+package com.social.backend.benchmark;
+
+import com.google.api.core.ApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.service.FeedService;
+import com.social.backend.service.impl.LikeServiceImpl;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.storage.local.LocalDocumentStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bursty like/unlike toggling by 1000 users on 10 hot posts. {@code direct} commits every like with
+ * its counter increment, as the like endpoint did before buffering; {@code buffered} goes through
+ * {@link LikeServiceImpl}. Store commits per like are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LikeBufferBenchmark {
+
+    private static final int HOT_POSTS = 10;
+    private static final int USERS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class LikeState {
+
+        @Param({"direct", "buffered"})
+        public String mode;
+
+        Path directory;
+        LocalDocumentStore local;
+        CommitCountingStore store;
+        PostCounters counters;
+        LikeServiceImpl likeService;
+        final AtomicLong likes = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            directory = BenchmarkData.tempDirectory();
+            local = BenchmarkData.localStore(directory);
+            store = new CommitCountingStore(local);
+            PostRepository posts = BenchmarkData.postRepository(store);
+            for (int i = 0; i < HOT_POSTS; i++) {
+                posts.save("hot-" + i, PostEntity.builder().id("hot-" + i).authorId("author").build()).get();
+            }
+            FirestoreCallbackExecutor callbackExecutor = new FirestoreCallbackExecutor(MoreExecutors.directExecutor());
+            PostCounterRepository counterRepository = new PostCounterRepository(store, callbackExecutor, 10, 2);
+            counters = new PostCounters(counterRepository, Duration.ofSeconds(30), 1000);
+            LikedPostIndex index = BenchmarkData.likedPostIndex(store);
+            likeService = new LikeServiceImpl(posts, new LikeRepository(store, callbackExecutor), counterRepository,
+                    index, counters, new NoFeed(), new SimpleMeterRegistry(), Duration.ofMillis(250), 2000,
+                    directory.resolve("like-journal").toString(), false);
+            store.commits.set(0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            likeService.shutdown();
+            System.out.printf("%n%s: %d likes, %d commits, %.4f commits per like%n", mode, likes.get(),
+                    store.commits.get(), store.commits.get() / (double) Math.max(1, likes.get()));
+            local.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void toggle(LikeState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String uid = "user-" + random.nextInt(USERS);
+        String postId = "hot-" + random.nextInt(HOT_POSTS);
+        boolean liked = random.nextBoolean();
+        if (state.mode.equals("direct")) {
+            state.counters.increment(postId, PostCounterRepository.LIKES, liked ? 1 : -1,
+                    List.of(liked ? LikeRepository.like(uid, postId) : LikeRepository.unlike(uid, postId))).join();
+        } else {
+            state.likeService.setLiked(uid, postId, liked).join();
+        }
+        state.likes.incrementAndGet();
+    }
+
+    private static final class NoFeed implements FeedService {
+        @Override
+        public CompletableFuture<Void> fanOut(PostEntity post) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<CursorPage<PostSummary>> getFeed(String uid, String cursor, int limit) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+
+        @Override
+        public CompletableFuture<CursorPage<PostSummary>> getRankedFeed(String uid, String cursor, int limit) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+
+        @Override
+        public void onEngagement(String postId, long likeDelta, long commentDelta) {
+        }
+    }
+
+    static final class CommitCountingStore implements DocumentStore {
+
+        private final DocumentStore delegate;
+        final AtomicLong commits = new AtomicLong();
+
+        CommitCountingStore(DocumentStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ApiFuture<Map<String, Object>> get(String collection, String id) {
+            return delegate.get(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+            return delegate.getAll(collection, ids);
+        }
+
+        @Override
+        public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+            commits.incrementAndGet();
+            return delegate.set(collection, id, data);
+        }
+
+        @Override
+        public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+            commits.incrementAndGet();
+            return delegate.update(collection, id, fields);
+        }
+
+        @Override
+        public ApiFuture<Void> delete(String collection, String id) {
+            commits.incrementAndGet();
+            return delegate.delete(collection, id);
+        }
+
+        @Override
+        public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+            return delegate.scan(request);
+        }
+
+        @Override
+        public ApiFuture<Void> commit(List<WriteOperation> writes) {
+            commits.incrementAndGet();
+            return delegate.commit(writes);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.storage.local.LocalDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code likedByMe} for a 20-post page. {@code perPost} is one like read per post, as the app does
+ * today; {@code indexed} goes through {@link LikedPostIndex}, which holds readers with up to 200
+ * likes and resolves heavier ones with one batched read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LikedByMeBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @State(Scope.Benchmark)
+    public static class LikesState {
+
+        @Param({"100", "5000", "20000"})
+        public int likes;
+
+        Path directory;
+        LocalDocumentStore store;
+        LikedPostIndex index;
+        List<String> page = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            directory = BenchmarkData.tempDirectory();
+            store = BenchmarkData.localStore(directory);
+            List<WriteOperation> writes = new ArrayList<>();
+            for (int i = 0; i < likes; i++) {
+                String postId = "post-" + i * 2;
+                writes.add(WriteOperation.set(LikeRepository.COLLECTION, LikeRepository.likeId("reader", postId),
+                        Map.of("userId", "reader", "postId", postId)));
+                if (writes.size() == 500) {
+                    store.commit(writes).get();
+                    writes.clear();
+                }
+            }
+            if (!writes.isEmpty()) {
+                store.commit(writes).get();
+            }
+            // Half the page is liked
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                page.add("post-" + i);
+            }
+            index = BenchmarkData.likedPostIndex(store);
+            index.likedAmong("reader", page).join();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            store.close();
+            BenchmarkData.deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public int perPost(LikesState state) throws Exception {
+        int liked = 0;
+        for (String postId : state.page) {
+            if (state.store.get(LikeRepository.COLLECTION, LikeRepository.likeId("reader", postId)).get() != null) {
+                liked++;
+            }
+        }
+        return liked;
+    }
+
+    @Benchmark
+    public Set<String> indexed(LikesState state) {
+        return state.index.likedAmong("reader", state.page).join();
+    }
+}
@@ -0,0 +1,91 @@
+package com.social.backend.benchmark;
+
+import com.google.cloud.Timestamp;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.ranking.RankedPostIndex;
+import com.social.backend.ranking.RankingProperties;
+import com.social.backend.service.FeedSourceKeys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked feed index costs: applying one like (repositions one post in its source's top-K) and
+ * reading a ranked page for a reader following {@code followed} sources, first page and the one
+ * after it. Neither depends on how many posts or sources the index holds overall.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingBenchmark {
+
+    private static final int SOURCES = 10_000;
+    private static final int POSTS_PER_SOURCE = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final long EPOCH_SECONDS = 1_700_000_000L;
+
+    @State(Scope.Benchmark)
+    public static class IndexState {
+
+        @Param({"10", "100", "1000"})
+        public int followed;
+
+        RankedPostIndex index;
+        Map<String, Double> boosts;
+        String secondPage;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RankingProperties properties = new RankingProperties();
+            properties.setPostsPerSource(POSTS_PER_SOURCE);
+            // Store and repository are only used once the index is started, which never happens here
+            index = BenchmarkData.rankedPostIndex(null, null, properties);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int source = 0; source < SOURCES; source++) {
+                for (int i = 0; i < POSTS_PER_SOURCE; i++) {
+                    index.offer(PostEntity.builder()
+                            .id("post-" + source + "-" + i)
+                            .authorId("user-" + source)
+                            .likeCount(random.nextInt(500))
+                            .commentCount(random.nextInt(50))
+                            .createdAt(Timestamp.ofTimeSecondsAndNanos(EPOCH_SECONDS + random.nextInt(86_400 * 7), 0))
+                            .build());
+                }
+            }
+            boosts = new HashMap<>();
+            for (int source = 0; source < followed; source++) {
+                boosts.put(FeedSourceKeys.user("user-" + source), properties.getFriendBoost());
+            }
+            secondPage = index.top(boosts, null, PAGE_SIZE).getNextCursor();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void like(IndexState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        state.index.recordEngagement("post-" + random.nextInt(SOURCES) + "-" + random.nextInt(POSTS_PER_SOURCE), 1, 0);
+    }
+
+    @Benchmark
+    public CursorPage<String> firstPage(IndexState state) {
+        return state.index.top(state.boosts, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<String> nextPage(IndexState state) {
+        return state.index.top(state.boosts, state.secondPage, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.ratelimit.RateLimitProperties;
+import com.social.backend.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter on 4 threads: a route no rule matches, and a limited route
+ * where all threads share one user's bucket (worst-case CAS contention) or spread over many users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    @Param({"disabled", "unmatched", "limited"})
+    public String route;
+
+    @Param({"1", "100000"})
+    public int users;
+
+    private RateLimiter rateLimiter;
+    private String method;
+    private String path;
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(!"disabled".equals(route));
+        properties.setRules(List.of(
+                rule("create-post", "/api/v1/posts"),
+                rule("add-comment", "/api/v1/comments"),
+                rule("friend-request", "/api/v1/friends/request/*")));
+        rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        method = "unmatched".equals(route) ? "GET" : "POST";
+        path = "unmatched".equals(route) ? "/api/v1/posts" : "/api/v1/friends/request/user-42";
+        keys = new String[users];
+        for (int i = 0; i < users; i++) {
+            keys[i] = "user-" + i;
+        }
+    }
+
+    // Rate high enough that every request is granted, so the benchmark measures the check itself
+    private static RateLimitProperties.Rule rule(String name, String path) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setPath(path);
+        rule.setPermitsPerSecond(1_000_000_000);
+        rule.setBurst(1_000_000_000);
+        return rule;
+    }
+
+    @Benchmark
+    public long acquire(Cursor cursor) {
+        return rateLimiter.acquire(method, path, keys[cursor.next++ % keys.length]);
+    }
+}
@@ -0,0 +1,83 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.storage.local.LocalDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository read paths (store call, document transform, entity mapping, cursor encoding)
+ * against the embedded local store, with the entity cache disabled so every call reaches the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+
+    private static final int POSTS = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int BATCH_SIZE = 100;
+
+    private Path directory;
+    private LocalDocumentStore store;
+    private PostRepository repository;
+    private String middleCursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = BenchmarkData.tempDirectory();
+        store = BenchmarkData.localStore(directory);
+        repository = BenchmarkData.postRepository(store);
+        for (PostEntity post : BenchmarkData.posts(POSTS)) {
+            repository.save(post.getId(), post).get();
+        }
+        CursorPage<PostSummary> page = repository.findPage(PostSummary.class, "createdAt", null, POSTS / 2).get();
+        middleCursor = page.getNextCursor();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        store.close();
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public PostEntity findById() throws Exception {
+        return repository.findById("post-" + ThreadLocalRandom.current().nextInt(POSTS)).get();
+    }
+
+    @Benchmark
+    public List<PostEntity> findAllById() throws Exception {
+        int from = ThreadLocalRandom.current().nextInt(POSTS - BATCH_SIZE);
+        List<String> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add("post-" + (from + i));
+        }
+        return repository.findAllById(ids).get();
+    }
+
+    @Benchmark
+    public CursorPage<PostSummary> findSummaryPage() throws Exception {
+        return repository.findPage(PostSummary.class, "createdAt", middleCursor, PAGE_SIZE).get();
+    }
+
+    @Benchmark
+    public CursorPage<PostEntity> findEntityPage() throws Exception {
+        return repository.findPage("createdAt", middleCursor, PAGE_SIZE).get();
+    }
+}
@@ -0,0 +1,117 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.entity.UserEntity;
+import com.social.backend.repository.UserRepository;
+import com.social.backend.service.impl.UserServiceImpl;
+import com.social.backend.storage.FaultInjectingDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /users/{id} throughput through a bounded worker pool standing in for Tomcat's request
+ * threads, against a store with {@code latencyMs} round trips. {@code blocking} is the service as
+ * it was before requests went async: the worker waits on the store future, so throughput is capped
+ * at about {@code workers / latency}. {@code async} is {@link UserServiceImpl}: the worker returns as
+ * soon as the read is issued and the response completes on the store's callback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RequestPathBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int REQUESTS = 512;
+
+    @Param({"16", "200"})
+    public int workers;
+
+    @Param({"5"})
+    public int latencyMs;
+
+    private Path directory;
+    private FaultInjectingDocumentStore store;
+    private ExecutorService requestThreads;
+    private BlockingUserService blockingService;
+    private UserServiceImpl asyncService;
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = BenchmarkData.tempDirectory();
+        store = new FaultInjectingDocumentStore(BenchmarkData.localStore(directory),
+                Duration.ofMillis(latencyMs), Duration.ZERO, 0);
+        UserRepository repository = BenchmarkData.userRepository(store);
+        for (int i = 0; i < USERS; i++) {
+            repository.save("user-" + i, UserEntity.builder().uid("user-" + i).name("User " + i).build()).get();
+        }
+        requestThreads = Executors.newFixedThreadPool(workers);
+        blockingService = new BlockingUserService(repository);
+        asyncService = new UserServiceImpl(repository);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        requestThreads.shutdownNow();
+        store.close();
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void blocking() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String id = "user-" + (i % USERS);
+            responses[i] = CompletableFuture.supplyAsync(
+                    () -> ApiResponse.success(blockingService.getUserById(id)), requestThreads);
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void async() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            String id = "user-" + (i % USERS);
+            responses[i] = CompletableFuture.supplyAsync(() -> asyncService.getUserById(id), requestThreads)
+                    .thenCompose(user -> user)
+                    .thenApply(ApiResponse::success);
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    /** The blocking user service the request path used to have, kept here as the baseline. */
+    private static final class BlockingUserService {
+
+        private final UserRepository userRepository;
+
+        private BlockingUserService(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        UserEntity getUserById(String id) {
+            try {
+                return userRepository.findById(id).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Error fetching user", e);
+            }
+        }
+    }
+}
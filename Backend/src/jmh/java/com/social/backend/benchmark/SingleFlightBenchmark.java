@@ -0,0 +1,60 @@
+package com.social.backend.benchmark;
+
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.storage.FaultInjectingDocumentStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Many threads reading the same document through a store with 2 ms round trips. Concurrent
+ * identical reads share one in-flight call, so the store sees far fewer gets than there are
+ * findById calls; the ratio is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class SingleFlightBenchmark {
+
+    private Path directory;
+    private FaultInjectingDocumentStore store;
+    private PostRepository repository;
+    private final LongAdder reads = new LongAdder();
+
+    @Setup
+    public void setUp() throws Exception {
+        directory = BenchmarkData.tempDirectory();
+        store = new FaultInjectingDocumentStore(BenchmarkData.localStore(directory),
+                Duration.ofMillis(2), Duration.ZERO, 0);
+        repository = BenchmarkData.postRepository(store);
+        PostEntity post = BenchmarkData.posts(1).get(0);
+        repository.save(post.getId(), post).get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("%nfindById calls: %d, store gets: %d%n", reads.sum(), store.getCallCount("get"));
+        store.close();
+        BenchmarkData.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public PostEntity hotKeyFindById() throws Exception {
+        reads.increment();
+        return repository.findById("post-0").get();
+    }
+}
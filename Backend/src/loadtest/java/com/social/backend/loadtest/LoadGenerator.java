@@ -0,0 +1,382 @@
+package com.social.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.social.backend.SocialBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load generator for the REST API. Unless {@code --url} points at a running server it
+ * boots the backend in-process with the {@code loadtest} profile (embedded store with injected
+ * latency, fake token verification) on a random port, then drives a weighted mix of scenarios
+ * from {@code --users} concurrent clients, each authenticated as its own seeded user.
+ *
+ * <p>Without {@code --rate} every client sends its next request as soon as the previous one
+ * completes (closed model). With {@code --rate} requests are scheduled at a fixed total rate and
+ * latency is measured from the scheduled send time, so a stalled server is charged for the
+ * requests it delayed (coordinated omission). Compare blocking and async controllers, or
+ * platform and virtual threads, by running the same mix with different server settings.
+ *
+ * <pre>
+ * java ... LoadGenerator [--url=http://host:8080] [--users=64] [--duration=60] [--warmup=10]
+ *                        [--rate=0] [--mix=feed:60,notifications:20,post:10,comment:10,like:0]
+ *                        [--seed-users=1000] [--result=target/loadtest-result.json]
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Scenario {
+        FEED, NOTIFICATIONS, POST, COMMENT, LIKE
+    }
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "64"));
+        int seededUsers = Integer.parseInt(options.getOrDefault("seed-users", "1000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Map<Scenario, Integer> mix = parseMix(options.getOrDefault("mix", "feed:60,notifications:20,post:10,comment:10"));
+        File resultFile = new File(options.getOrDefault("result", "target/loadtest-result.json"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("url");
+        if (baseUrl == null || baseUrl.isBlank()) {
+            SpringApplication application = new SpringApplication(SocialBackendApplication.class);
+            application.setAdditionalProfiles("loadtest");
+            context = application.run("--server.port=0", "--app.loadtest.seed.users=" + seededUsers);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            System.out.printf("Load test against %s: %d users, %s, warmup %ds, duration %ds, mix %s%n", baseUrl,
+                    users, rate > 0 ? String.format("%.0f req/s", rate) : "closed loop",
+                    warmup.toSeconds(), duration.toSeconds(), mix);
+
+            run(client, baseUrl, users, seededUsers, rate, mix, warmup, false);
+            Map<Scenario, Recorder> results = run(client, baseUrl, users, seededUsers, rate, mix, duration, true);
+            report(results, duration, users, rate, resultFile);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<Scenario, Recorder> run(HttpClient client, String baseUrl, int users, int seededUsers,
+                                               double rate, Map<Scenario, Integer> mix, Duration duration,
+                                               boolean measure) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intervalNanos = rate > 0 ? (long) (users * 1_000_000_000L / rate) : 0;
+        List<Client> clients = new ArrayList<>(users);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            // Staggers the schedule so clients don't all fire on the same tick
+            long firstSend = start + (intervalNanos * i) / users;
+            Client c = new Client(client, baseUrl, "user-" + (i % seededUsers), mix, firstSend, intervalNanos, end);
+            clients.add(c);
+            Thread thread = new Thread(c, "load-client-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Scenario, Recorder> merged = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            merged.put(scenario, new Recorder());
+        }
+        if (measure) {
+            for (Client c : clients) {
+                c.recorders.forEach((scenario, recorder) -> merged.get(scenario).addAll(recorder));
+            }
+        }
+        return merged;
+    }
+
+    private static final class Client implements Runnable {
+
+        private final HttpClient http;
+        private final String baseUrl;
+        private final String authorization;
+        private final Scenario[] weighted;
+        private final long intervalNanos;
+        private final long end;
+        private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+        private final List<String> postIds = new ArrayList<>();
+        private long nextSend;
+        private String feedCursor;
+
+        Client(HttpClient http, String baseUrl, String uid, Map<Scenario, Integer> mix,
+               long firstSend, long intervalNanos, long end) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.authorization = "Bearer " + FakeIdTokenVerifier.TOKEN_PREFIX + uid;
+            this.weighted = mix.entrySet().stream()
+                    .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                    .toArray(Scenario[]::new);
+            this.nextSend = firstSend;
+            this.intervalNanos = intervalNanos;
+            this.end = end;
+            for (Scenario scenario : Scenario.values()) {
+                recorders.put(scenario, new Recorder());
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long intended;
+                if (intervalNanos > 0) {
+                    intended = nextSend;
+                    nextSend += intervalNanos;
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    intended = System.nanoTime();
+                }
+                if (intended >= end) {
+                    return;
+                }
+                Scenario scenario = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                if ((scenario == Scenario.COMMENT || scenario == Scenario.LIKE) && postIds.isEmpty()) {
+                    scenario = Scenario.FEED;
+                }
+                boolean ok;
+                try {
+                    ok = execute(scenario);
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                recorders.get(scenario).record(System.nanoTime() - intended, ok);
+            }
+        }
+
+        private boolean execute(Scenario scenario) throws IOException, InterruptedException {
+            switch (scenario) {
+                case FEED -> {
+                    boolean follow = feedCursor != null && ThreadLocalRandom.current().nextInt(3) == 0;
+                    JsonNode body = send(get("/api/v1/posts?limit=20"
+                            + (follow ? "&cursor=" + feedCursor : "")));
+                    if (!succeeded(body)) {
+                        return false;
+                    }
+                    feedCursor = body.path("nextCursor").isTextual() ? body.path("nextCursor").asText() : null;
+                    if (!follow) {
+                        postIds.clear();
+                        body.path("data").forEach(post -> postIds.add(post.path("id").asText()));
+                    }
+                    return true;
+                }
+                case NOTIFICATIONS -> {
+                    return succeeded(send(get("/api/v1/notifications?limit=20")));
+                }
+                case POST -> {
+                    ObjectNode post = MAPPER.createObjectNode().put("text", "Load test post");
+                    post.putArray("mediaUrls");
+                    return succeeded(send(postJson("/api/v1/posts", post)));
+                }
+                case COMMENT -> {
+                    String postId = postIds.get(ThreadLocalRandom.current().nextInt(postIds.size()));
+                    ObjectNode comment = MAPPER.createObjectNode()
+                            .put("postId", postId)
+                            .put("text", "Load test comment");
+                    return succeeded(send(postJson("/api/v1/comments", comment)));
+                }
+                case LIKE -> {
+                    // Like and unlike the listed posts at random, like users toggling on a few hot posts
+                    String path = "/api/v1/posts/" + postIds.get(ThreadLocalRandom.current().nextInt(postIds.size())) + "/like";
+                    HttpRequest like = ThreadLocalRandom.current().nextBoolean()
+                            ? request(path).POST(HttpRequest.BodyPublishers.noBody()).build()
+                            : request(path).DELETE().build();
+                    return succeeded(send(like));
+                }
+                default -> throw new IllegalStateException("Unknown scenario " + scenario);
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", authorization);
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest postJson(String path, JsonNode body) throws IOException {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                    .build();
+        }
+
+        private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            return MAPPER.readTree(response.body());
+        }
+
+        // Errors are reported in the ApiResponse envelope, usually with HTTP 200
+        private static boolean succeeded(JsonNode body) {
+            return body != null && body.path("status").asInt() == 200;
+        }
+    }
+
+    /** Latencies in nanoseconds; one per client thread, merged after the run. */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private static void report(Map<Scenario, Recorder> results, Duration duration, int users, double rate,
+                               File resultFile) throws IOException {
+        double[] percentiles = {50, 90, 99, 99.9};
+        ObjectNode json = MAPPER.createObjectNode()
+                .put("users", users)
+                .put("rate", rate)
+                .put("durationSeconds", duration.toSeconds());
+        ObjectNode scenarios = json.putObject("scenarios");
+
+        System.out.printf("%n%-14s %10s %8s %10s %10s %10s %10s %10s %10s%n", "Scenario", "Requests", "Errors",
+                "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Recorder total = new Recorder();
+        Map<String, Recorder> rows = new LinkedHashMap<>();
+        for (Map.Entry<Scenario, Recorder> entry : results.entrySet()) {
+            if (entry.getValue().count > 0) {
+                rows.put(entry.getKey().name().toLowerCase(), entry.getValue());
+                total.addAll(entry.getValue());
+            }
+        }
+        rows.put("total", total);
+        for (Map.Entry<String, Recorder> row : rows.entrySet()) {
+            Recorder recorder = row.getValue();
+            long[] sorted = recorder.sorted();
+            double throughput = recorder.count / (double) duration.toSeconds();
+            ObjectNode node = scenarios.putObject(row.getKey())
+                    .put("requests", recorder.count)
+                    .put("errors", recorder.errors)
+                    .put("throughput", throughput);
+            StringBuilder line = new StringBuilder(String.format("%-14s %10d %8d %10.1f", row.getKey(),
+                    recorder.count, recorder.errors, throughput));
+            for (double p : percentiles) {
+                double millis = percentile(sorted, p) / 1_000_000.0;
+                node.put("p" + (p == Math.floor(p) ? String.valueOf((int) p) : String.valueOf(p)), millis);
+                line.append(String.format(" %10.2f", millis));
+            }
+            double max = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+            node.put("max", max);
+            line.append(String.format(" %10.2f", max));
+            System.out.println(line);
+        }
+
+        File parent = resultFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(resultFile, json);
+        System.out.printf("%nResults written to %s%n", resultFile);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no positive weights: " + mix);
+        }
+        return weights;
+    }
+}
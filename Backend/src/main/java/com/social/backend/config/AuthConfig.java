@@ -0,0 +1,64 @@
+package com.social.backend.config;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.social.backend.security.AuthProperties;
+import com.social.backend.security.CachingIdTokenVerifier;
+import com.social.backend.security.FirebaseIdTokenVerifier;
+import com.social.backend.security.IdTokenVerifier;
+import com.social.backend.security.LocalIdTokenVerifier;
+import com.social.backend.security.SigningKeyCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects how FirebaseFilter verifies ID tokens: {@code app.auth.verifier=firebase} (default)
+ * calls the Admin SDK, {@code local} checks signatures in-process against cached Google signing
+ * keys. Either one sits behind a verified-token cache unless {@code app.auth.cache.enabled=false}.
+ */
+@Configuration
+@EnableConfigurationProperties(AuthProperties.class)
+public class AuthConfig {
+
+    private final AuthProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public AuthConfig(AuthProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "firebase", matchIfMissing = true)
+    public IdTokenVerifier firebaseIdTokenVerifier(FirebaseAuth firebaseAuth) {
+        return cached(new FirebaseIdTokenVerifier(firebaseAuth));
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "local")
+    public SigningKeyCache signingKeyCache() {
+        return new SigningKeyCache(properties.getKeys().getUrl(), properties.getKeys().getMinRefreshInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "local")
+    public IdTokenVerifier localIdTokenVerifier(SigningKeyCache signingKeyCache) {
+        if (properties.getProjectId() == null || properties.getProjectId().isBlank()) {
+            throw new IllegalStateException("app.auth.project-id is required when app.auth.verifier=local");
+        }
+        return cached(new LocalIdTokenVerifier(properties.getProjectId(), signingKeyCache::get));
+    }
+
+    private IdTokenVerifier cached(IdTokenVerifier verifier) {
+        AuthProperties.Cache cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return verifier;
+        }
+        CachingIdTokenVerifier caching = new CachingIdTokenVerifier(verifier, cache.getMaxSize(), cache.getMaxTtl());
+        CaffeineCacheMetrics.monitor(meterRegistry, caching.getCache(), "idTokens");
+        return caching;
+    }
+}
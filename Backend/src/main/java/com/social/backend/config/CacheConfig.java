@@ -0,0 +1,25 @@
+package com.social.backend.config;
+
+import com.google.cloud.firestore.Firestore;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.repository.cache.FirestoreChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// The local storage engine has no other writers, so evicting on write is enough there
+@Configuration
+@ConditionalOnProperty(name = "app.storage.engine", havingValue = "firestore", matchIfMissing = true)
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public ChangeFeed firestoreChangeFeed(Firestore firestore,
+                                          @Value("${app.cache.invalidation.clock-skew:1m}") Duration clockSkew,
+                                          @Value("${app.cache.invalidation.window:1h}") Duration window) {
+        return new FirestoreChangeFeed(firestore, clockSkew, window);
+    }
+}
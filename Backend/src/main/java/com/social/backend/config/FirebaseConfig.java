@@ -6,6 +6,8 @@ import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.cloud.FirestoreClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
@@ -14,7 +16,12 @@ import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStream;
 
+/**
+ * Firebase Admin SDK setup. Skipped entirely when neither storage nor token verification uses
+ * Firebase, so the backend can start without a service account (e.g. the loadtest profile).
+ */
 @Configuration
+@ConditionalOnExpression("'${app.storage.engine:firestore}' == 'firestore' or '${app.auth.verifier:firebase}' == 'firebase'")
 public class FirebaseConfig {
 
     @PostConstruct
@@ -35,11 +42,13 @@ public class FirebaseConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(name = "app.storage.engine", havingValue = "firestore", matchIfMissing = true)
     public Firestore firestore() {
         return FirestoreClient.getFirestore();
     }
 
     @Bean
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "firebase", matchIfMissing = true)
     public FirebaseAuth firebaseAuth() {
         return FirebaseAuth.getInstance();
     }
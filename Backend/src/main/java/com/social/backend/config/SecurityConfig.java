@@ -1,6 +1,8 @@
 package com.social.backend.config;
 
+import com.social.backend.ratelimit.RateLimitFilter;
 import com.social.backend.security.FirebaseFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,9 +19,11 @@ import org.springframework.web.filter.CorsFilter;
 public class SecurityConfig {
 
     private final FirebaseFilter firebaseFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(FirebaseFilter firebaseFilter) {
+    public SecurityConfig(FirebaseFilter firebaseFilter, RateLimitFilter rateLimitFilter) {
         this.firebaseFilter = firebaseFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -29,11 +33,15 @@ public class SecurityConfig {
             .cors(cors -> cors.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Controllers return CompletableFuture; the async re-dispatch was already authorized on the request thread
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(firebaseFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(firebaseFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, FirebaseFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,64 @@
+package com.social.backend.config;
+
+import com.google.cloud.firestore.Firestore;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.FaultInjectingDocumentStore;
+import com.social.backend.storage.InstrumentedDocumentStore;
+import com.social.backend.storage.firestore.FirestoreDocumentStore;
+import com.social.backend.storage.local.LocalDocumentStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Selects the storage engine behind the repositories: {@code app.storage.engine=firestore}
+ * (default) or {@code local} for the embedded log-structured store, which needs no cloud access.
+ * Either one is wrapped with per-collection timers and read counters, and optionally with
+ * {@code app.storage.fault-injection.*} latency and errors for load testing.
+ */
+@Configuration
+public class StorageConfig {
+
+    private final MeterRegistry meterRegistry;
+    private final Duration injectedLatency;
+    private final Duration injectedJitter;
+    private final double injectedErrorRate;
+
+    public StorageConfig(MeterRegistry meterRegistry,
+                         @Value("${app.storage.fault-injection.latency:0ms}") Duration injectedLatency,
+                         @Value("${app.storage.fault-injection.jitter:0ms}") Duration injectedJitter,
+                         @Value("${app.storage.fault-injection.error-rate:0}") double injectedErrorRate) {
+        this.meterRegistry = meterRegistry;
+        this.injectedLatency = injectedLatency;
+        this.injectedJitter = injectedJitter;
+        this.injectedErrorRate = injectedErrorRate;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.engine", havingValue = "firestore", matchIfMissing = true)
+    public DocumentStore firestoreDocumentStore(Firestore firestore, FirestoreCallbackExecutor callbackExecutor) {
+        return decorate(new FirestoreDocumentStore(firestore, callbackExecutor.getExecutor()), "firestore");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.storage.engine", havingValue = "local")
+    public DocumentStore localDocumentStore(
+            @Value("${app.storage.local.dir:./data}") String directory,
+            @Value("${app.storage.local.fsync:false}") boolean fsync,
+            @Value("${app.storage.local.compaction-threshold-bytes:67108864}") long compactionThresholdBytes) {
+        return decorate(new LocalDocumentStore(Path.of(directory), fsync, compactionThresholdBytes), "local");
+    }
+
+    private DocumentStore decorate(DocumentStore store, String engine) {
+        if (!injectedLatency.isZero() || !injectedJitter.isZero() || injectedErrorRate > 0) {
+            store = new FaultInjectingDocumentStore(store, injectedLatency, injectedJitter, injectedErrorRate);
+        }
+        return new InstrumentedDocumentStore(store, meterRegistry, engine);
+    }
+}
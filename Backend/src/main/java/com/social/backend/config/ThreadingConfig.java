@@ -0,0 +1,30 @@
+package com.social.backend.config;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Selects where Firestore callbacks run. {@code spring.threads.virtual.enabled=true} on a Java 21+
+ * runtime also switches Tomcat request handling to virtual threads; on older runtimes the
+ * property is ignored and the platform setup is used.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FirestoreCallbackExecutor virtualFirestoreCallbackExecutor() {
+        return new FirestoreCallbackExecutor(new VirtualThreadTaskExecutor("firestore-callback-"));
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public FirestoreCallbackExecutor directFirestoreCallbackExecutor() {
+        return new FirestoreCallbackExecutor(MoreExecutors.directExecutor());
+    }
+}
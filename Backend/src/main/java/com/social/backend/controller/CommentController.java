@@ -5,11 +5,17 @@ import com.social.backend.model.entity.CommentEntity;
 import com.social.backend.security.SecurityUtils;
 import com.social.backend.service.PostService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/comments")
 @SecurityRequirement(name = "Bearer Authentication")
@@ -22,13 +28,21 @@ public class CommentController {
     }
 
     @PostMapping
-    public ApiResponse<String> addComment(@RequestBody CommentEntity comment) {
+    public CompletableFuture<ApiResponse<String>> addComment(@RequestBody CommentEntity comment) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
         comment.setAuthorId(uid);
-        String id = postService.addComment(comment);
-        return ApiResponse.success(id, "Comment added");
+        return postService.addComment(comment)
+                .thenApply(id -> ApiResponse.success(id, "Comment added"));
+    }
+
+    @GetMapping("/{id}/replies")
+    public CompletableFuture<ApiResponse<List<CommentEntity>>> getReplies(@PathVariable String id,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int limit) {
+        return postService.getReplies(id, cursor, limit)
+                .thenApply(page -> ApiResponse.page(page));
     }
 }
@@ -0,0 +1,41 @@
+package com.social.backend.controller;
+
+import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.security.SecurityUtils;
+import com.social.backend.service.FeedService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/feed")
+@SecurityRequirement(name = "Bearer Authentication")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping
+    public CompletableFuture<ApiResponse<List<PostSummary>>> getFeed(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int limit,
+                                                                    @RequestParam(defaultValue = "recent") String ranking) {
+        String uid = SecurityUtils.getCurrentUserId();
+        if (uid == null) {
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
+        }
+        return switch (ranking) {
+            case "recent" -> feedService.getFeed(uid, cursor, limit)
+                    .thenApply(page -> ApiResponse.page(page));
+            case "top" -> feedService.getRankedFeed(uid, cursor, limit)
+                    .thenApply(page -> ApiResponse.page(page));
+            default -> CompletableFuture.completedFuture(
+                    ApiResponse.error(400, "ranking must be 'recent' or 'top'"));
+        };
+    }
+}
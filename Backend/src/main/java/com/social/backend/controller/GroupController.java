@@ -1,6 +1,7 @@
 package com.social.backend.controller;
 
 import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.dto.response.GroupSummary;
 import com.social.backend.model.entity.GroupEntity;
 import com.social.backend.security.SecurityUtils;
 import com.social.backend.service.GroupService;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/groups")
@@ -21,33 +23,37 @@ public class GroupController {
     }
 
     @PostMapping
-    public ApiResponse<String> createGroup(@RequestBody GroupEntity group) {
+    public CompletableFuture<ApiResponse<String>> createGroup(@RequestBody GroupEntity group) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
         group.setOwnerId(uid);
-        String id = groupService.createGroup(group);
-        return ApiResponse.success(id, "Group created");
+        return groupService.createGroup(group)
+                .thenApply(id -> ApiResponse.success(id, "Group created"));
     }
 
     @GetMapping
-    public ApiResponse<List<GroupEntity>> getGroups(@RequestParam(defaultValue = "20") int limit) {
-        return ApiResponse.success(groupService.getAllGroups(limit));
+    public CompletableFuture<ApiResponse<List<GroupSummary>>> getGroups(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
+        return groupService.getAllGroups(cursor, limit)
+                .thenApply(page -> ApiResponse.page(page));
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<GroupEntity> getGroupById(@PathVariable String id) {
-        GroupEntity group = groupService.getGroupById(id);
-        if (group == null) {
-            return ApiResponse.error(404, "Group not found");
-        }
-        return ApiResponse.success(group);
+    public CompletableFuture<ApiResponse<GroupEntity>> getGroupById(@PathVariable String id) {
+        return groupService.getGroupById(id)
+                .thenApply(group -> {
+                    if (group == null) {
+                        return ApiResponse.error(404, "Group not found");
+                    }
+                    return ApiResponse.success(group);
+                });
     }
 
     @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteGroup(@PathVariable String id) {
-        groupService.deleteGroup(id);
-        return ApiResponse.success(null, "Group deleted");
+    public CompletableFuture<ApiResponse<Void>> deleteGroup(@PathVariable String id) {
+        return groupService.deleteGroup(id)
+                .thenApply(result -> ApiResponse.success(null, "Group deleted"));
     }
 }
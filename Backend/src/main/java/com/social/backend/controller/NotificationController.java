@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
@@ -21,17 +22,19 @@ public class NotificationController {
     }
 
     @GetMapping
-    public ApiResponse<List<NotificationEntity>> getNotifications(@RequestParam(defaultValue = "20") int limit) {
+    public CompletableFuture<ApiResponse<List<NotificationEntity>>> getNotifications(@RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(defaultValue = "20") int limit) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
-        return ApiResponse.success(notificationService.getNotificationsForUser(uid, limit));
+        return notificationService.getNotificationsForUser(uid, cursor, limit)
+                .thenApply(page -> ApiResponse.page(page));
     }
 
     @PostMapping("/{id}/read")
-    public ApiResponse<Void> markAsRead(@PathVariable String id) {
-        notificationService.markAsRead(id);
-        return ApiResponse.success(null, "Notification marked as read");
+    public CompletableFuture<ApiResponse<Void>> markAsRead(@PathVariable String id) {
+        return notificationService.markAsRead(id)
+                .thenApply(result -> ApiResponse.success(null, "Notification marked as read"));
     }
 }
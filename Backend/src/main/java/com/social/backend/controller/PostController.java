@@ -1,13 +1,17 @@
 package com.social.backend.controller;
 
 import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.dto.response.CommentThread;
+import com.social.backend.model.dto.response.PostSummary;
 import com.social.backend.model.entity.PostEntity;
 import com.social.backend.security.SecurityUtils;
+import com.social.backend.service.LikeService;
 import com.social.backend.service.PostService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/posts")
@@ -15,34 +19,67 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final LikeService likeService;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, LikeService likeService) {
         this.postService = postService;
+        this.likeService = likeService;
     }
 
     @PostMapping
-    public ApiResponse<String> createPost(@RequestBody PostEntity post) {
+    public CompletableFuture<ApiResponse<String>> createPost(@RequestBody PostEntity post) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
         post.setAuthorId(uid);
-        String id = postService.createPost(post);
-        return ApiResponse.success(id, "Post created");
+        return postService.createPost(post)
+                .thenApply(id -> ApiResponse.success(id, "Post created"));
     }
 
     @GetMapping
-    public ApiResponse<List<PostEntity>> getPosts(@RequestParam(defaultValue = "10") int limit) {
-        List<PostEntity> posts = postService.getPosts(limit);
-        return ApiResponse.success(posts);
+    public CompletableFuture<ApiResponse<List<PostSummary>>> getPosts(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        return postService.getPosts(SecurityUtils.getCurrentUserId(), cursor, limit)
+                .thenApply(page -> ApiResponse.page(page));
+    }
+
+    @PostMapping("/{id}/like")
+    public CompletableFuture<ApiResponse<Boolean>> likePost(@PathVariable String id) {
+        return setLiked(id, true);
+    }
+
+    @DeleteMapping("/{id}/like")
+    public CompletableFuture<ApiResponse<Boolean>> unlikePost(@PathVariable String id) {
+        return setLiked(id, false);
+    }
+
+    @GetMapping("/{id}/comments")
+    public CompletableFuture<ApiResponse<List<CommentThread>>> getComments(@PathVariable String id,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "20") int limit,
+                                                                          @RequestParam(defaultValue = "3") int replies) {
+        return postService.getComments(id, cursor, limit, replies)
+                .thenApply(page -> ApiResponse.page(page));
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<PostEntity> getPostById(@PathVariable String id) {
-        PostEntity post = postService.getPostById(id);
-        if (post == null) {
-            return ApiResponse.error(404, "Post not found");
+    public CompletableFuture<ApiResponse<PostEntity>> getPostById(@PathVariable String id) {
+        return postService.getPostById(id)
+                .thenApply(post -> {
+                    if (post == null) {
+                        return ApiResponse.error(404, "Post not found");
+                    }
+                    return ApiResponse.success(post);
+                });
+    }
+
+    private CompletableFuture<ApiResponse<Boolean>> setLiked(String postId, boolean liked) {
+        String uid = SecurityUtils.getCurrentUserId();
+        if (uid == null) {
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
-        return ApiResponse.success(post);
+        return likeService.setLiked(uid, postId, liked)
+                .thenApply(changed -> ApiResponse.success(liked, liked ? "Post liked" : "Post unliked"));
     }
 }
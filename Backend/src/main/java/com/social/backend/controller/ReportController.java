@@ -1,6 +1,7 @@
 package com.social.backend.controller;
 
 import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.model.dto.response.ReportSummary;
 import com.social.backend.model.entity.ReportEntity;
 import com.social.backend.security.SecurityUtils;
 import com.social.backend.service.ReportService;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -21,24 +23,26 @@ public class ReportController {
     }
 
     @PostMapping
-    public ApiResponse<String> createReport(@RequestBody ReportEntity report) {
+    public CompletableFuture<ApiResponse<String>> createReport(@RequestBody ReportEntity report) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
         report.setReporterId(uid);
-        String id = reportService.createReport(report);
-        return ApiResponse.success(id, "Report created");
+        return reportService.createReport(report)
+                .thenApply(id -> ApiResponse.success(id, "Report created"));
     }
 
     @GetMapping
-    public ApiResponse<List<ReportEntity>> getReports(@RequestParam(defaultValue = "20") int limit) {
-        return ApiResponse.success(reportService.getReports(limit));
+    public CompletableFuture<ApiResponse<List<ReportSummary>>> getReports(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int limit) {
+        return reportService.getReports(cursor, limit)
+                .thenApply(page -> ApiResponse.page(page));
     }
 
     @PatchMapping("/{id}/status")
-    public ApiResponse<Void> updateReportStatus(@PathVariable String id, @RequestParam String status) {
-        reportService.updateReportStatus(id, status);
-        return ApiResponse.success(null, "Report status updated");
+    public CompletableFuture<ApiResponse<Void>> updateReportStatus(@PathVariable String id, @RequestParam String status) {
+        return reportService.updateReportStatus(id, status)
+                .thenApply(result -> ApiResponse.success(null, "Report status updated"));
     }
 }
@@ -7,48 +7,67 @@ import com.social.backend.service.UserService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
-@RequestMapping("/api/v1/users")
+@RequestMapping("/api/v1")
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserController {
 
+    private static final int MAX_BATCH_GET_IDS = 100;
+
     private final UserService userService;
 
     public UserController(UserService userService) {
         this.userService = userService;
     }
 
-    @GetMapping("/me")
-    public ApiResponse<UserEntity> getCurrentUser() {
+    @GetMapping("/users/me")
+    public CompletableFuture<ApiResponse<UserEntity>> getCurrentUser() {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
-        }
-        UserEntity user = userService.getUserById(uid);
-        if (user == null) {
-            return ApiResponse.error(404, "User not found");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
-        return ApiResponse.success(user);
+        return userService.getUserById(uid)
+                .thenApply(user -> {
+                    if (user == null) {
+                        return ApiResponse.error(404, "User not found");
+                    }
+                    return ApiResponse.success(user);
+                });
+    }
+
+    @GetMapping("/users/{id}")
+    public CompletableFuture<ApiResponse<UserEntity>> getUserById(@PathVariable String id) {
+        return userService.getUserById(id)
+                .thenApply(user -> {
+                    if (user == null) {
+                        return ApiResponse.error(404, "User not found");
+                    }
+                    return ApiResponse.success(user);
+                });
     }
 
-    @GetMapping("/{id}")
-    public ApiResponse<UserEntity> getUserById(@PathVariable String id) {
-        UserEntity user = userService.getUserById(id);
-        if (user == null) {
-            return ApiResponse.error(404, "User not found");
+    // Mapped under /api/v1 so the custom method can sit directly on the collection: /api/v1/users:batchGet
+    @GetMapping("/users:batchGet")
+    public CompletableFuture<ApiResponse<List<UserEntity>>> batchGetUsers(@RequestParam List<String> ids) {
+        if (ids.size() > MAX_BATCH_GET_IDS) {
+            return CompletableFuture.completedFuture(
+                    ApiResponse.error(400, "At most " + MAX_BATCH_GET_IDS + " ids per request"));
         }
-        return ApiResponse.success(user);
+        return userService.getUsersByIds(ids)
+                .thenApply(users -> ApiResponse.success(users));
     }
 
-    @PatchMapping("/me")
-    public ApiResponse<Void> updateProfile(@RequestBody Map<String, Object> updates) {
+    @PatchMapping("/users/me")
+    public CompletableFuture<ApiResponse<Void>> updateProfile(@RequestBody Map<String, Object> updates) {
         String uid = SecurityUtils.getCurrentUserId();
         if (uid == null) {
-            return ApiResponse.error(401, "Unauthorized");
+            return CompletableFuture.completedFuture(ApiResponse.error(401, "Unauthorized"));
         }
-        userService.updateProfile(uid, updates);
-        return ApiResponse.success(null, "Profile updated");
+        return userService.updateProfile(uid, updates)
+                .thenApply(result -> ApiResponse.success(null, "Profile updated"));
     }
 }
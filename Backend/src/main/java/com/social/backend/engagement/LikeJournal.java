@@ -0,0 +1,438 @@
+package com.social.backend.engagement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of buffered like intents, so likes acknowledged but not yet flushed to storage
+ * survive a restart. Records go to numbered segment files, framed like the local store's log
+ * (length, CRC32C, payload). Appends are queued to one appender thread, which writes whatever has
+ * queued up with one write and at most one {@code force}, then completes those appends together.
+ * A write that fails is cut off the segment again, so later appends never sit behind a torn record
+ * that recovery would stop at; if that fails too, appends fail until the next segment.
+ *
+ * <p>A flush rotates to a new segment and, before committing anything, writes a plan: the id and
+ * intents of each of its commits. Once the plan is on disk the segments it covers are deleted. Each
+ * commit carries a marker with its id, so at startup the commits of a plan whose marker exists are
+ * skipped and the rest replayed, together with the segments written after the last plan.
+ */
+public class LikeJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeJournal.class);
+    private static final String PREFIX = "likes-";
+    private static final String PLAN_PREFIX = "plan-";
+    private static final String SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String ID_FILE = "journal.id";
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int MAX_GROUP = 1024;
+
+    /** One like or unlike and the like-count change it caused; {@code uid} is null for a count-only record. */
+    public record Intent(String uid, String postId, boolean liked, long delta) {
+    }
+
+    /** One commit of a flush and the intents it applies. */
+    public record Commit(String id, List<Intent> intents) {
+    }
+
+    /** The commits of the flush that closed {@code segment}. */
+    public record Plan(long segment, List<Commit> commits) {
+    }
+
+    /** What the previous run left: its plans, oldest first, and the intents journaled after the last plan. */
+    public record Recovery(List<Plan> plans, List<Intent> intents) {
+    }
+
+    private sealed interface Command permits Append, Rotate, DeleteThrough, Close {
+        CompletableFuture<Void> done();
+    }
+
+    private record Append(byte[] frame, CompletableFuture<Void> done) implements Command {
+    }
+
+    private record Rotate(long next, CompletableFuture<Void> done) implements Command {
+    }
+
+    private record DeleteThrough(long last, CompletableFuture<Void> done) implements Command {
+    }
+
+    private record Close(CompletableFuture<Void> done) implements Command {
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    private final String id;
+    private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    private final Thread appender;
+    // Owned by the appender thread once it runs
+    private final TreeMap<Long, Path> closedSegments = new TreeMap<>();
+    private FileChannel channel;
+    // Length of the good records in the current segment, and whether a failed write could not be cut off it
+    private long position;
+    private boolean torn;
+    // Owned by the flusher thread
+    private final TreeMap<Long, Path> plans = new TreeMap<>();
+    private long segment;
+
+    public LikeJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.id = readOrCreateId(directory.resolve(ID_FILE));
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.startsWith(PLAN_PREFIX) && name.endsWith(SUFFIX)) {
+                    plans.put(number(name, PLAN_PREFIX), file);
+                } else if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    closedSegments.put(number(name, PREFIX), file);
+                }
+            }
+        }
+        long lastSegment = closedSegments.isEmpty() ? -1 : closedSegments.lastKey();
+        segment = Math.max(lastSegment, plans.isEmpty() ? -1 : plans.lastKey()) + 1;
+        channel = open(segment);
+        position = channel.size();
+        appender = new Thread(this::run, "like-journal");
+        appender.setDaemon(true);
+        appender.start();
+    }
+
+    /** Id for a new commit of a plan, unique across the nodes sharing storage. */
+    public String commitId(long planSegment, int commit) {
+        return id + "-" + planSegment + "-" + commit;
+    }
+
+    /**
+     * The previous run's plans and the intents of the segments after the last of them, oldest first.
+     * Segments a plan covers are ignored; everything stays on disk until the next {@link #writePlan}.
+     */
+    public Recovery recover() throws IOException {
+        List<Plan> recovered = new ArrayList<>();
+        for (Map.Entry<Long, Path> plan : plans.entrySet()) {
+            List<Commit> commits = new ArrayList<>();
+            for (byte[] payload : readFrames(plan.getValue())) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+                String commitId = in.readUTF();
+                int count = in.readInt();
+                List<Intent> intents = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    intents.add(readIntent(in));
+                }
+                commits.add(new Commit(commitId, intents));
+            }
+            recovered.add(new Plan(plan.getKey(), commits));
+        }
+        long covered = plans.isEmpty() ? -1 : plans.lastKey();
+        List<Intent> intents = new ArrayList<>();
+        for (Path file : closedSegments.tailMap(covered, false).values()) {
+            for (byte[] payload : readFrames(file)) {
+                intents.add(readIntent(new DataInputStream(new ByteArrayInputStream(payload))));
+            }
+        }
+        if (!recovered.isEmpty() || !intents.isEmpty()) {
+            log.info("Recovering {} flush plans and {} buffered like intents from {}",
+                    recovered.size(), intents.size(), directory);
+        }
+        return new Recovery(recovered, intents);
+    }
+
+    /** Completes once the intent is written (and forced, with {@code fsync}) together with whatever queued beside it. */
+    public CompletableFuture<Void> append(Intent intent) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeIntent(out, intent);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Append(frame(bytes.toByteArray()), done));
+        return done;
+    }
+
+    /**
+     * Starts a new segment for every append queued from now on; returns the number of the one closed.
+     * Callers keep appends out while rotating, so each intent lands on its side of the flush.
+     */
+    public long rotate() {
+        long closed = segment++;
+        queue.add(new Rotate(segment, new CompletableFuture<>()));
+        return closed;
+    }
+
+    /**
+     * Writes the plan of the flush that closed {@code planSegment}: {@code commits} holds every intent
+     * buffered so far, including commits of older plans still to be retried under their own ids, so
+     * once it is on disk the segments up to it and the older plans are deleted.
+     */
+    public void writePlan(long planSegment, List<Commit> commits) throws IOException {
+        Path path = planPath(planSegment);
+        Path temp = directory.resolve(path.getFileName() + TEMP_SUFFIX);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream frames = new ByteArrayOutputStream();
+            for (Commit commit : commits) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * commit.intents().size() + 64);
+                try (DataOutputStream payload = new DataOutputStream(bytes)) {
+                    payload.writeUTF(commit.id());
+                    payload.writeInt(commit.intents().size());
+                    for (Intent intent : commit.intents()) {
+                        writeIntent(payload, intent);
+                    }
+                }
+                frames.write(frame(bytes.toByteArray()));
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(frames.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        plans.put(planSegment, path);
+        var older = plans.headMap(planSegment, false);
+        for (Path file : older.values()) {
+            Files.deleteIfExists(file);
+        }
+        older.clear();
+        queue.add(new DeleteThrough(planSegment, new CompletableFuture<>()));
+    }
+
+    /** Deletes the plan once every one of its commits is applied. */
+    public void planApplied(long planSegment) throws IOException {
+        Path path = plans.remove(planSegment);
+        if (path != null) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /** Writes what is queued and stops the appender; appends after this fail. */
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        queue.add(new Close(done));
+        try {
+            done.join();
+            appender.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_GROUP - 1);
+                if (process(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Consecutive appends share one write and one force; returns whether the journal was closed
+    private boolean process(List<Command> batch) {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        List<CompletableFuture<Void>> written = new ArrayList<>();
+        for (Command command : batch) {
+            if (command instanceof Append append) {
+                frames.writeBytes(append.frame());
+                written.add(append.done());
+                continue;
+            }
+            writeOut(frames, written);
+            try {
+                if (command instanceof Rotate rotate) {
+                    channel.close();
+                    closedSegments.put(rotate.next() - 1, segmentPath(rotate.next() - 1));
+                    channel = open(rotate.next());
+                    position = channel.size();
+                    torn = false;
+                } else if (command instanceof DeleteThrough delete) {
+                    var deleted = closedSegments.headMap(delete.last(), true);
+                    for (Path file : deleted.values()) {
+                        Files.deleteIfExists(file);
+                    }
+                    deleted.clear();
+                } else if (command instanceof Close close) {
+                    channel.close();
+                    close.done().complete(null);
+                    failRemaining();
+                    return true;
+                }
+                command.done().complete(null);
+            } catch (IOException e) {
+                log.warn("Like journal operation failed: {}", e.getMessage());
+                command.done().completeExceptionally(e);
+            }
+        }
+        writeOut(frames, written);
+        return false;
+    }
+
+    private void writeOut(ByteArrayOutputStream frames, List<CompletableFuture<Void>> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        try {
+            if (torn) {
+                throw new IOException("The current like journal segment ends in a torn record");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(frames.toByteArray());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                cutBack(e);
+                throw e;
+            }
+            position += buffer.limit();
+            written.forEach(done -> done.complete(null));
+        } catch (IOException e) {
+            written.forEach(done -> done.completeExceptionally(e));
+        }
+        frames.reset();
+        written.clear();
+    }
+
+    // Removes a failed write, whole or torn, so the failed appends are not replayed and later ones stay readable
+    private void cutBack(IOException cause) {
+        try {
+            channel.truncate(position);
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            torn = true;
+            log.error("Could not cut a failed write off the like journal, failing appends until the next segment", e);
+        }
+    }
+
+    private void failRemaining() {
+        List<Command> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        IOException closed = new IOException("Like journal is closed");
+        remaining.forEach(command -> command.done().completeExceptionally(closed));
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private Path planPath(long number) {
+        return directory.resolve(PLAN_PREFIX + number + SUFFIX);
+    }
+
+    private static long number(String name, String prefix) {
+        return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String readOrCreateId(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(file, id, StandardCharsets.UTF_8);
+        return id;
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        return frame.array();
+    }
+
+    private static void writeIntent(DataOutputStream out, Intent intent) throws IOException {
+        out.writeBoolean(intent.uid() != null);
+        if (intent.uid() != null) {
+            out.writeUTF(intent.uid());
+        }
+        out.writeUTF(intent.postId());
+        out.writeBoolean(intent.liked());
+        out.writeLong(intent.delta());
+    }
+
+    private static Intent readIntent(DataInputStream in) throws IOException {
+        String uid = in.readBoolean() ? in.readUTF() : null;
+        return new Intent(uid, in.readUTF(), in.readBoolean(), in.readLong());
+    }
+
+    private static List<byte[]> readFrames(Path file) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+            byte[] payload;
+            while ((payload = readFrame(in)) != null) {
+                payloads.add(payload);
+            }
+        }
+        return payloads;
+    }
+
+    /** Returns {@code null} at end of file and on a torn or corrupt record. */
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] payload = in.readNBytes(length);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if (payload.length < length || (int) crc.getValue() != checksum) {
+                return null;
+            }
+            return payload;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
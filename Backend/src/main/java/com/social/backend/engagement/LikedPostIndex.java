@@ -0,0 +1,179 @@
+package com.social.backend.engagement;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.utils.FutureUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which posts a user has liked, so a page of posts gets its {@code likedByMe} flags from at most one
+ * read instead of one per post. By default a page is resolved with one batched read of its like
+ * documents. Readers with at most {@code max-likes-per-user} likes are held as a sorted array of
+ * liked post ids, loaded with one ids-only scan bounded by that limit, so readers with few likes
+ * resolve later pages without reads; heavier readers stay on the batched read.
+ *
+ * <p>Likes made through this node, including buffered ones replayed at startup, are applied to the
+ * held set and also kept for {@code ttl} as recent likes that override what the store says, since
+ * a buffered like reaches the store only when it is flushed. Likes made elsewhere show up once the
+ * held set expires after {@code ttl}.
+ */
+@Component
+public class LikedPostIndex {
+
+    private static final LikedPosts TOO_MANY = new LikedPosts(new String[0], false);
+
+    private final LikeRepository likeRepository;
+    private final int maxLikesPerUser;
+    private final Cache<String, LikedPosts> users;
+    private final Cache<String, Boolean> recentLikes;
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    public LikedPostIndex(LikeRepository likeRepository,
+                          @Value("${app.likes.index.max-users:100000}") long maxUsers,
+                          @Value("${app.likes.index.max-likes-per-user:200}") int maxLikesPerUser,
+                          @Value("${app.likes.index.ttl:1m}") Duration ttl) {
+        this.likeRepository = likeRepository;
+        this.maxLikesPerUser = maxLikesPerUser;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+        this.recentLikes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /** Sets {@code likedByMe} on every post of the page for {@code uid}; anonymous readers like nothing. */
+    public CompletableFuture<CursorPage<PostSummary>> markLiked(String uid, CursorPage<PostSummary> page) {
+        List<String> postIds = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(post -> postIds.add(post.getId()));
+        return likedAmong(uid, postIds).thenApply(liked -> {
+            page.getItems().forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
+            return page;
+        });
+    }
+
+    /** The subset of {@code postIds} liked by {@code uid}. */
+    public CompletableFuture<Set<String>> likedAmong(String uid, List<String> postIds) {
+        if (uid == null || postIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Set.of());
+        }
+        LikedPosts cached = users.getIfPresent(uid);
+        if (cached != null) {
+            return resolve(uid, cached, postIds).thenApply(liked -> withRecent(uid, postIds, liked));
+        }
+        // This page is resolved with the batched read; the bounded load only serves later pages
+        load(uid);
+        return FutureUtils.toCompletableFuture(likeRepository.filterLiked(uid, postIds))
+                .thenApply(liked -> withRecent(uid, postIds, liked))
+                .exceptionally(FutureUtils.rethrow("Error reading liked posts"));
+    }
+
+    /** Applies a like or unlike made by {@code uid} through this node to the held set and the recent likes. */
+    public void recordLike(String uid, String postId, boolean liked) {
+        recentLikes.put(LikeRepository.likeId(uid, postId), liked);
+        users.asMap().computeIfPresent(uid, (key, posts) -> posts.with(postId, liked, maxLikesPerUser));
+    }
+
+    /** Whether {@code uid}'s latest recent like or unlike of the post was a like; {@code null} if there is none. */
+    public Boolean recentLike(String uid, String postId) {
+        return recentLikes.getIfPresent(LikeRepository.likeId(uid, postId));
+    }
+
+    private Set<String> withRecent(String uid, List<String> postIds, Set<String> liked) {
+        Set<String> merged = null;
+        for (String postId : postIds) {
+            Boolean recent = recentLike(uid, postId);
+            if (recent != null && recent != liked.contains(postId)) {
+                if (merged == null) {
+                    merged = new HashSet<>(liked);
+                }
+                if (recent) {
+                    merged.add(postId);
+                } else {
+                    merged.remove(postId);
+                }
+            }
+        }
+        return merged == null ? liked : merged;
+    }
+
+    private void load(String uid) {
+        if (!loading.add(uid)) {
+            return;
+        }
+        FutureUtils.toCompletableFuture(likeRepository.findLikedPostIds(uid, maxLikesPerUser + 1))
+                .whenComplete((ids, e) -> {
+                    if (e == null) {
+                        users.put(uid, ids.size() > maxLikesPerUser ? TOO_MANY : LikedPosts.of(ids));
+                    }
+                    loading.remove(uid);
+                });
+    }
+
+    private CompletableFuture<Set<String>> resolve(String uid, LikedPosts posts, List<String> postIds) {
+        if (!posts.complete()) {
+            return FutureUtils.toCompletableFuture(likeRepository.filterLiked(uid, postIds));
+        }
+        Set<String> liked = new HashSet<>();
+        for (String postId : postIds) {
+            if (posts.contains(postId)) {
+                liked.add(postId);
+            }
+        }
+        return CompletableFuture.completedFuture(liked);
+    }
+
+    /** Sorted post ids; {@code complete} is false for readers with too many likes to hold. */
+    private record LikedPosts(String[] postIds, boolean complete) {
+
+        static LikedPosts of(List<String> postIds) {
+            String[] sorted = postIds.toArray(String[]::new);
+            Arrays.sort(sorted);
+            return new LikedPosts(sorted, true);
+        }
+
+        boolean contains(String postId) {
+            return Arrays.binarySearch(postIds, postId) >= 0;
+        }
+
+        LikedPosts with(String postId, boolean liked, int maxSize) {
+            if (!complete) {
+                return this;
+            }
+            int index = Arrays.binarySearch(postIds, postId);
+            if (liked == index >= 0) {
+                return this;
+            }
+            if (liked) {
+                if (postIds.length >= maxSize) {
+                    return TOO_MANY;
+                }
+                int at = -index - 1;
+                String[] updated = new String[postIds.length + 1];
+                System.arraycopy(postIds, 0, updated, 0, at);
+                updated[at] = postId;
+                System.arraycopy(postIds, at, updated, at + 1, postIds.length - at);
+                return new LikedPosts(updated, true);
+            }
+            String[] updated = new String[postIds.length - 1];
+            System.arraycopy(postIds, 0, updated, 0, index);
+            System.arraycopy(postIds, index + 1, updated, index, postIds.length - index - 1);
+            return new LikedPosts(updated, true);
+        }
+    }
+}
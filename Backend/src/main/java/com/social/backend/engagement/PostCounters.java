@@ -0,0 +1,114 @@
+package com.social.backend.engagement;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.utils.FutureUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Like and comment counts kept in {@link PostCounterRepository}'s counter documents. The counts on
+ * the post document stay as the base (everything counted before the counters existed, or by older
+ * app versions); responses show base plus counter totals. Totals are cached for {@code cache-ttl},
+ * a page's uncached totals are read in one batch, and increments made through this node are applied
+ * to the cached total as they commit.
+ */
+@Component
+public class PostCounters {
+
+    private final PostCounterRepository counterRepository;
+    private final AsyncCache<String, Map<String, Long>> totals;
+
+    public PostCounters(PostCounterRepository counterRepository,
+                        @Value("${app.counters.cache-ttl:30s}") Duration cacheTtl,
+                        @Value("${app.counters.cache-size:100000}") long cacheSize) {
+        this.counterRepository = counterRepository;
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .buildAsync();
+    }
+
+    /** Commits {@code writes} together with an increment of one of the post's counter shards. */
+    public CompletableFuture<Void> increment(String postId, String counter, long delta, List<WriteOperation> writes) {
+        List<WriteOperation> batch = new ArrayList<>(writes.size() + 1);
+        batch.addAll(writes);
+        batch.add(counterRepository.increment(postId, counter, delta));
+        return FutureUtils.toCompletableFuture(counterRepository.commit(batch))
+                .thenRun(() -> applyLocally(postId, counter, delta));
+    }
+
+    /** Adds {@code delta} to the cached total, for increments committed (or buffered to be committed) elsewhere. */
+    public void applyLocally(String postId, String counter, long delta) {
+        totals.synchronous().asMap().computeIfPresent(postId, (key, current) -> {
+            Map<String, Long> updated = new HashMap<>(current);
+            updated.merge(counter, delta, Long::sum);
+            return updated;
+        });
+    }
+
+    public CompletableFuture<Map<String, Long>> totals(String postId) {
+        return totals(List.of(postId)).thenApply(totals -> totals.getOrDefault(postId, Map.of()));
+    }
+
+    /** Totals of every post, the uncached ones read together in one batch. */
+    public CompletableFuture<Map<String, Map<String, Long>>> totals(List<String> postIds) {
+        return totals.getAll(postIds, (missing, executor) ->
+                FutureUtils.toCompletableFuture(counterRepository.totals(List.copyOf(missing))));
+    }
+
+    /** Adds the counter totals to every post of the page, read in one batch. */
+    public CompletableFuture<CursorPage<PostSummary>> withCounts(CursorPage<PostSummary> page) {
+        List<String> postIds = new ArrayList<>(page.getItems().size());
+        page.getItems().forEach(post -> postIds.add(post.getId()));
+        return totals(postIds).thenApply(counts -> {
+            for (PostSummary post : page.getItems()) {
+                Map<String, Long> postTotals = counts.getOrDefault(post.getId(), Map.of());
+                post.setLikeCount(add(post.getLikeCount(), postTotals.get(PostCounterRepository.LIKES)));
+                post.setCommentCount(add(post.getCommentCount(), postTotals.get(PostCounterRepository.COMMENTS)));
+            }
+            return page;
+        });
+    }
+
+    public CompletableFuture<PostEntity> withCounts(PostEntity post) {
+        if (post == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return withCounts(List.of(post)).thenApply(posts -> posts.get(0));
+    }
+
+    /** Copies of {@code posts} with the counter totals added, read in one batch. */
+    public CompletableFuture<List<PostEntity>> withCounts(List<PostEntity> posts) {
+        List<String> postIds = new ArrayList<>(posts.size());
+        posts.forEach(post -> postIds.add(post.getId()));
+        return totals(postIds).thenApply(counts -> {
+            List<PostEntity> counted = new ArrayList<>(posts.size());
+            for (PostEntity post : posts) {
+                Map<String, Long> postTotals = counts.getOrDefault(post.getId(), Map.of());
+                // A copy, since the repository hands out its cached instance
+                counted.add(post.toBuilder()
+                        .likeCount(add(post.getLikeCount(), postTotals.get(PostCounterRepository.LIKES)))
+                        .commentCount(add(post.getCommentCount(), postTotals.get(PostCounterRepository.COMMENTS)))
+                        .build());
+            }
+            return counted;
+        });
+    }
+
+    private static int add(int base, Long shardTotal) {
+        return shardTotal == null ? base : (int) Math.max(0, Math.min(Integer.MAX_VALUE, base + shardTotal));
+    }
+}
@@ -1,20 +1,57 @@
 package com.social.backend.exception;
 
 import com.social.backend.model.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * Maps exceptions to {@link ApiResponse} errors. Every handled failure is counted as
+ * {@code api.errors} by status and exception type; server errors are logged with their stack trace.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ApiResponse<Void> handleNotFound(ResourceNotFoundException e) {
-        return ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage());
+        return error(HttpStatus.NOT_FOUND, e);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ApiResponse<Void> handleBadRequest(BadRequestException e) {
+        return error(HttpStatus.BAD_REQUEST, e);
+    }
+
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ApiResponse<Void> handleWriteQueueFull(WriteQueueFullException e) {
+        log.warn("Shedding write: {}", e.getMessage());
+        return error(HttpStatus.SERVICE_UNAVAILABLE, e);
     }
 
     @ExceptionHandler(Exception.class)
     public ApiResponse<Void> handleGeneral(Exception e) {
-        return ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+        log.error("Unhandled error", e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, e);
+    }
+
+    private ApiResponse<Void> error(HttpStatus status, Exception e) {
+        Counter.builder("api.errors")
+                .tag("status", Integer.toString(status.value()))
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        return ApiResponse.error(status.value(), e.getMessage());
     }
 }
@@ -0,0 +1,42 @@
+package com.social.backend.loadtest;
+
+import com.social.backend.exception.InvalidTokenException;
+import com.social.backend.security.IdTokenVerifier;
+import com.social.backend.security.VerifiedIdToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Accepts tokens of the form {@code fake:<uid>} without any cryptography or network, after an
+ * optional simulated verification latency; a configurable fraction of verifications fails.
+ */
+public class FakeIdTokenVerifier implements IdTokenVerifier {
+
+    static final String TOKEN_PREFIX = "fake:";
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final long latencyNanos;
+    private final double errorRate;
+
+    public FakeIdTokenVerifier(Duration latency, double errorRate) {
+        this.latencyNanos = latency.toNanos();
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public VerifiedIdToken verify(String idToken) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new InvalidTokenException("Injected token verification failure");
+        }
+        if (!idToken.startsWith(TOKEN_PREFIX) || idToken.length() == TOKEN_PREFIX.length()) {
+            throw new InvalidTokenException("Not a load-test token");
+        }
+        return new VerifiedIdToken(idToken.substring(TOKEN_PREFIX.length()), Instant.now().plus(TOKEN_LIFETIME));
+    }
+}
@@ -0,0 +1,47 @@
+package com.social.backend.loadtest;
+
+import com.social.backend.repository.NotificationRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.UserRepository;
+import com.social.backend.security.IdTokenVerifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Beans for the {@code loadtest} profile, which runs the backend with no network access: the
+ * fake token verifier and a seeder for the local store. Storage latency and errors are set
+ * through {@code app.storage.fault-injection.*}.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestConfig.class);
+
+    // Requires the profile as well as the property, so the fake verifier can never be enabled by a property alone
+    @Bean
+    @ConditionalOnProperty(name = "app.auth.verifier", havingValue = "fake")
+    public IdTokenVerifier fakeIdTokenVerifier(@Value("${app.loadtest.auth.latency:0ms}") Duration latency,
+                                               @Value("${app.loadtest.auth.error-rate:0}") double errorRate) {
+        log.warn("Accepting unsigned load-test tokens ({}<uid>); never run this profile in production",
+                FakeIdTokenVerifier.TOKEN_PREFIX);
+        return new FakeIdTokenVerifier(latency, errorRate);
+    }
+
+    @Bean
+    public LoadTestDataSeeder loadTestDataSeeder(UserRepository userRepository, PostRepository postRepository,
+                                                 NotificationRepository notificationRepository,
+                                                 @Value("${app.loadtest.seed.users:1000}") int users,
+                                                 @Value("${app.loadtest.seed.posts:10000}") int posts,
+                                                 @Value("${app.loadtest.seed.notifications-per-user:20}") int notificationsPerUser) {
+        return new LoadTestDataSeeder(userRepository, postRepository, notificationRepository,
+                users, posts, notificationsPerUser);
+    }
+}
@@ -0,0 +1,103 @@
+package com.social.backend.loadtest;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.social.backend.model.entity.NotificationEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.model.entity.UserEntity;
+import com.social.backend.repository.NotificationRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills an empty store with users {@code user-0..N-1}, posts and per-user notifications, so the
+ * load generator's scenarios have data to read. Does nothing if posts already exist.
+ */
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+    private static final int WRITE_WINDOW = 500;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final NotificationRepository notificationRepository;
+    private final int users;
+    private final int posts;
+    private final int notificationsPerUser;
+
+    public LoadTestDataSeeder(UserRepository userRepository, PostRepository postRepository,
+                              NotificationRepository notificationRepository,
+                              @Value("${app.loadtest.seed.users:1000}") int users,
+                              @Value("${app.loadtest.seed.posts:10000}") int posts,
+                              @Value("${app.loadtest.seed.notifications-per-user:20}") int notificationsPerUser) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.notificationRepository = notificationRepository;
+        this.users = users;
+        this.posts = posts;
+        this.notificationsPerUser = notificationsPerUser;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!postRepository.findAll(1).get().isEmpty()) {
+            log.info("Load-test store already seeded");
+            return;
+        }
+        long start = System.nanoTime();
+        long now = Timestamp.now().getSeconds();
+        List<ApiFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String uid = "user-" + i;
+            writes.add(userRepository.save(uid, UserEntity.builder()
+                    .uid(uid)
+                    .name("Load Test User " + i)
+                    .email(uid + "@loadtest.local")
+                    .createdAt(Timestamp.ofTimeSecondsAndNanos(now - users + i, 0))
+                    .build()));
+            awaitIfFull(writes);
+            for (int n = 0; n < notificationsPerUser; n++) {
+                String id = uid + "-notification-" + n;
+                writes.add(notificationRepository.save(id, NotificationEntity.builder()
+                        .id(id)
+                        .userId(uid)
+                        .title("Notification " + n)
+                        .message("Seeded notification")
+                        .createdAt((now - n) * 1000)
+                        .build()));
+                awaitIfFull(writes);
+            }
+        }
+        for (int i = 0; i < posts; i++) {
+            String id = "post-" + i;
+            writes.add(postRepository.save(id, PostEntity.builder()
+                    .id(id)
+                    .authorId("user-" + (i % Math.max(1, users)))
+                    .authorName("Load Test User " + (i % Math.max(1, users)))
+                    .text("Seeded post " + i)
+                    .createdAt(Timestamp.ofTimeSecondsAndNanos(now - posts + i, 0))
+                    .build()));
+            awaitIfFull(writes);
+        }
+        ApiFutures.allAsList(writes).get();
+        log.info("Seeded {} users, {} posts and {} notifications in {} ms", users, posts,
+                (long) users * notificationsPerUser, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Bounds the number of writes in flight when the store has injected latency
+    private static void awaitIfFull(List<ApiFuture<Void>> writes) throws Exception {
+        if (writes.size() >= WRITE_WINDOW) {
+            ApiFutures.allAsList(writes).get();
+            writes.clear();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.social.backend.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-request tallies that {@link RequestMetricsFilter} publishes once the response is complete.
+ * Store calls made on the request thread find the current instance through the request context.
+ * Callbacks chained on a store call's future run with the instance of the request that made that
+ * call (see {@link #bind}), so reads they issue on callback threads are attributed to it too.
+ */
+public final class RequestMetrics {
+
+    static final String ATTRIBUTE = RequestMetrics.class.getName();
+
+    private static final ThreadLocal<RequestMetrics> BOUND = new ThreadLocal<>();
+
+    private final AtomicLong documentsRead = new AtomicLong();
+
+    /** The metrics of the request being served, or whose callback is running, on this thread, or {@code null}. */
+    public static RequestMetrics current() {
+        RequestMetrics bound = BOUND.get();
+        if (bound != null) {
+            return bound;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (RequestMetrics) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /** Wraps {@code task} to run with {@code metrics} as {@link #current()}, on whichever thread runs it. */
+    public static Runnable bind(RequestMetrics metrics, Runnable task) {
+        if (metrics == null) {
+            return task;
+        }
+        return () -> {
+            RequestMetrics previous = BOUND.get();
+            BOUND.set(metrics);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    BOUND.remove();
+                } else {
+                    BOUND.set(previous);
+                }
+            }
+        };
+    }
+
+    public void addDocumentsRead(long count) {
+        documentsRead.addAndGet(count);
+    }
+
+    long getDocumentsRead() {
+        return documentsRead.get();
+    }
+}
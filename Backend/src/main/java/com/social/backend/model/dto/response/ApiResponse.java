@@ -1,9 +1,12 @@
 package com.social.backend.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,16 +14,22 @@ public class ApiResponse<T> {
     private int status;
     private String message;
     private T data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public static <T> ApiResponse<T> success(T data, String message) {
-        return new ApiResponse<>(200, message, data);
+        return new ApiResponse<>(200, message, data, null);
     }
 
     public static <T> ApiResponse<T> success(T data) {
         return success(data, "Success");
     }
 
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return new ApiResponse<>(200, "Success", page.getItems(), page.getNextCursor());
+    }
+
     public static <T> ApiResponse<T> error(int status, String message) {
-        return new ApiResponse<>(status, message, null);
+        return new ApiResponse<>(status, message, null, null);
     }
 }
@@ -0,0 +1,25 @@
+package com.social.backend.model.dto.response;
+
+import com.social.backend.model.entity.CommentEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A top-level comment with its first replies, oldest first. {@code comment.replyCount} is the full
+ * thread size, or {@code null} for a comment stored before replies were counted whose thread is
+ * longer than the preview; page the rest with GET /comments/{id}/replies, starting at
+ * {@code repliesNextCursor} when any replies were included.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommentThread {
+    private CommentEntity comment;
+    private List<CommentEntity> replies;
+    private String repliesNextCursor; // null when no further replies follow the included ones
+}
@@ -0,0 +1,21 @@
+package com.social.backend.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List view of a group, read with a Firestore field mask. The full GroupEntity is served by GET /groups/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupSummary {
+    private String id;
+    private String name;
+    private String avatarUrl;
+    private String privacy;
+    private long memberCount;
+}
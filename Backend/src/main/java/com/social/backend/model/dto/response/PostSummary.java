@@ -0,0 +1,37 @@
+package com.social.backend.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.cloud.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Feed-card view of a post, read with a Firestore field mask. The full PostEntity is served by GET /posts/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSummary {
+    private String id;
+    private String authorId;
+    private String authorName;
+    private String authorAvatarUrl;
+    private String text;
+    private List<String> mediaUrls;
+    private int likeCount;
+    private int commentCount;
+    private Timestamp createdAt;
+    private String groupId;
+    // In the field mask so listings can drop hidden and unapproved posts, but never sent to clients
+    @JsonIgnore
+    private boolean hidden;
+    @JsonIgnore
+    private String approvalStatus;
+    // Per reader, not stored; ProjectionFields leaves it out of the field mask
+    private boolean likedByMe;
+}
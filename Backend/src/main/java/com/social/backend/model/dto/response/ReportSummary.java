@@ -0,0 +1,23 @@
+package com.social.backend.model.dto.response;
+
+import com.google.cloud.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Moderation-queue view of a report, read with a Firestore field mask.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportSummary {
+    private String id;
+    private String targetId;
+    private String targetType;
+    private String reason;
+    private String status;
+    private Timestamp createdAt;
+}
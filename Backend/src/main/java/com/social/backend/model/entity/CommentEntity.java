@@ -19,5 +19,7 @@ public class CommentEntity {
     private String text;
     private Timestamp createdAt;
     private String replyToId;
+    // Maintained by the server as replies are added; ignored on input. Null on comments stored before the server kept it
+    private Long replyCount;
     private boolean isHidden;
 }
@@ -0,0 +1,24 @@
+package com.social.backend.model.entity;
+
+import com.google.cloud.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user or group whose audience is too large to push posts to, stored in {@code feed_sources}
+ * under its source key ({@code user:<uid>} or {@code group:<groupId>}). Readers pull its posts
+ * from its outbox instead.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedSourceEntity {
+    private String sourceKey;
+    private String type; // USER, GROUP
+    private String sourceId;
+    private long audienceSize;
+    private Timestamp classifiedAt;
+}
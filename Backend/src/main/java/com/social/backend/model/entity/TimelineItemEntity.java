@@ -0,0 +1,22 @@
+package com.social.backend.model.entity;
+
+import com.google.cloud.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry in a user's home timeline ({@code timelines/{uid}/items/{postId}}), written when the post
+ * is created. Holds only what is needed to order and filter the feed; the post is read separately.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineItemEntity {
+    private String postId;
+    private String authorId;
+    private String groupId;
+    private Timestamp createdAt;
+}
@@ -0,0 +1,5 @@
+package com.social.backend.ranking;
+
+/** A post's engagement and its reader-independent score. */
+record RankedPost(String postId, String sourceKey, long likes, long comments, long createdAtSeconds, double score) {
+}
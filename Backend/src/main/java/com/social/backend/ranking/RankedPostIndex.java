@@ -0,0 +1,288 @@
+package com.social.backend.ranking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFuture;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.exception.BadRequestException;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.repository.mapping.EntityMapper;
+import com.social.backend.repository.mapping.EntityMappers;
+import com.social.backend.service.FeedSourceKeys;
+import com.social.backend.storage.DocumentStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory ranking of recent posts for the {@code top} feed. A post scores
+ * {@code log10(1 + likes * likeWeight + comments * commentWeight) + createdAt / decay}: the
+ * recency term grows with time instead of decaying older posts, so a score only changes when the
+ * post's engagement does and nothing is periodically rescored. Each author or group keeps its
+ * best {@code posts-per-source} posts in a {@link SourceTopK}; likes and comments reposition one
+ * post there. A reader's affinity is a constant boost per source, so a ranked page is a lazy
+ * k-way merge of the sources the reader follows, touching {@code O(sources + page)} entries.
+ *
+ * <p>Post changes made by other backend nodes arrive through the {@link ChangeFeed} and are re-read
+ * from the store. The Android app's direct writes do not; posts it hides or deletes are dropped when
+ * a ranked page reads them back, see {@link #offer} and {@link #remove}.
+ */
+@Component
+@EnableConfigurationProperties(RankingProperties.class)
+public class RankedPostIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RankedPostIndex.class);
+    private static final String POSTS = "posts";
+    private static final long RESUBSCRIBE_DELAY_MS = 5_000;
+
+    private final RankingProperties properties;
+    private final double decaySeconds;
+    private final DocumentStore store;
+    private final PostRepository postRepository;
+    private final PostCounters postCounters;
+    private final ObjectProvider<ChangeFeed> changeFeed;
+    private final EntityMapper<PostEntity> postMapper = EntityMappers.forClass(PostEntity.class);
+    private final Cache<String, SourceTopK> sources;
+    private final Cache<String, String> postSources;
+    private final ScheduledExecutorService background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ranked-post-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RankedPostIndex(RankingProperties properties, DocumentStore store, PostRepository postRepository,
+                           PostCounters postCounters, ObjectProvider<ChangeFeed> changeFeed) {
+        this.properties = properties;
+        this.decaySeconds = properties.getDecay().toSeconds();
+        this.store = store;
+        this.postRepository = postRepository;
+        this.postCounters = postCounters;
+        this.changeFeed = changeFeed;
+        this.sources = Caffeine.newBuilder().maximumSize(properties.getMaxSources()).build();
+        this.postSources = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSources() * properties.getPostsPerSource())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        background.execute(this::warmUp);
+        ChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed != null) {
+            subscribe(feed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        background.shutdownNow();
+    }
+
+    /**
+     * Adds or re-scores a post from its stored state; hidden and unapproved posts are removed. Its
+     * like and comment counts must already include the counter totals, as {@link PostCounters#withCounts} adds.
+     */
+    public void offer(PostEntity post) {
+        String sourceKey = FeedSourceKeys.of(post);
+        if (post.isHidden() || !"APPROVED".equals(post.getApprovalStatus()) || post.getCreatedAt() == null) {
+            remove(post.getId());
+            return;
+        }
+        RankedPost ranked = ranked(post.getId(), sourceKey, post.getLikeCount(), post.getCommentCount(),
+                post.getCreatedAt().getSeconds());
+        SourceTopK topK = sources.get(sourceKey, key -> new SourceTopK(properties.getPostsPerSource()));
+        RankedPost dropped = topK.offer(ranked);
+        if (dropped != ranked) {
+            postSources.put(post.getId(), sourceKey);
+        }
+        if (dropped != null) {
+            postSources.invalidate(dropped.postId());
+        }
+    }
+
+    /** Applies a like or comment as it happens; posts that are not in their source's top-K are ignored. */
+    public void recordEngagement(String postId, long likeDelta, long commentDelta) {
+        String sourceKey = postSources.getIfPresent(postId);
+        SourceTopK topK = sourceKey == null ? null : sources.getIfPresent(sourceKey);
+        if (topK == null) {
+            return;
+        }
+        topK.update(postId, post -> ranked(postId, sourceKey, Math.max(0, post.likes() + likeDelta),
+                Math.max(0, post.comments() + commentDelta), post.createdAtSeconds()));
+    }
+
+    public void remove(String postId) {
+        String sourceKey = postSources.getIfPresent(postId);
+        if (sourceKey == null) {
+            return;
+        }
+        SourceTopK topK = sources.getIfPresent(sourceKey);
+        if (topK != null) {
+            topK.remove(postId);
+        }
+        postSources.invalidate(postId);
+    }
+
+    /** Group ids that currently have ranked posts. */
+    public List<String> indexedGroups() {
+        List<String> groupIds = new ArrayList<>();
+        for (String sourceKey : sources.asMap().keySet()) {
+            if (sourceKey.startsWith(FeedSourceKeys.GROUP_PREFIX)) {
+                groupIds.add(sourceKey.substring(FeedSourceKeys.GROUP_PREFIX.length()));
+            }
+        }
+        return groupIds;
+    }
+
+    /**
+     * Post ids of the best {@code limit} posts across {@code boosts}' sources, each source's scores
+     * raised by its boost, resuming after {@code cursor}.
+     */
+    public CursorPage<String> top(Map<String, Double> boosts, String cursor, int limit) {
+        double cursorScore = 0;
+        String cursorPostId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+                cursorScore = in.readDouble();
+                cursorPostId = in.readUTF();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        record Head(RankedPost post, double score, SourceTopK source, double boost) {
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, boosts.size()), (a, b) -> {
+            int byScore = Double.compare(b.score(), a.score());
+            return byScore != 0 ? byScore : a.post().postId().compareTo(b.post().postId());
+        });
+        for (Map.Entry<String, Double> entry : boosts.entrySet()) {
+            SourceTopK source = sources.getIfPresent(entry.getKey());
+            if (source == null) {
+                continue;
+            }
+            double boost = entry.getValue();
+            for (RankedPost post : source.after(boost, cursorScore, cursorPostId, 1)) {
+                heads.add(new Head(post, post.score() + boost, source, boost));
+            }
+        }
+
+        List<String> postIds = new ArrayList<>(limit);
+        Head last = null;
+        while (!heads.isEmpty() && postIds.size() < limit) {
+            last = heads.poll();
+            postIds.add(last.post().postId());
+            for (RankedPost next : last.source().after(last.boost(), last.score(), last.post().postId(), 1)) {
+                heads.add(new Head(next, next.score() + last.boost(), last.source(), last.boost()));
+            }
+        }
+        String nextCursor = heads.isEmpty() || last == null ? null : encodeCursor(last.score(), last.post().postId());
+        return new CursorPage<>(postIds, nextCursor);
+    }
+
+    private RankedPost ranked(String postId, String sourceKey, long likes, long comments, long createdAtSeconds) {
+        double engagement = likes * properties.getLikeWeight() + comments * properties.getCommentWeight();
+        double score = Math.log10(1 + engagement) + createdAtSeconds / decaySeconds;
+        return new RankedPost(postId, sourceKey, likes, comments, createdAtSeconds, score);
+    }
+
+    private static String encodeCursor(double score, String postId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeDouble(score);
+            out.writeUTF(postId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private void warmUp() {
+        int pages = Math.max(0, properties.getWarmupPosts()) / PostRepository.MAX_PAGE_SIZE;
+        String cursor = null;
+        int loaded = 0;
+        try {
+            for (int i = 0; i < pages; i++) {
+                var page = postRepository.findPage("createdAt", cursor, PostRepository.MAX_PAGE_SIZE).get();
+                postCounters.withCounts(page.getItems()).get().forEach(this::offer);
+                loaded += page.getItems().size();
+                cursor = page.getNextCursor();
+                if (cursor == null) {
+                    break;
+                }
+            }
+            log.info("Ranked feed index loaded {} recent posts", loaded);
+        } catch (Exception e) {
+            log.warn("Loading recent posts into the ranked feed index failed after {}: {}", loaded, e.getMessage());
+        }
+    }
+
+    private void subscribe(ChangeFeed feed) {
+        feed.subscribe(POSTS, new ChangeFeed.ChangeListener() {
+            @Override
+            public void onSynced() {
+            }
+
+            @Override
+            public void onChange(String postId) {
+                if (postSources.getIfPresent(postId) != null) {
+                    reload(postId);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                log.warn("Post change feed for the ranked feed index failed, resubscribing: {}", error.getMessage());
+                background.schedule(() -> subscribe(feed), RESUBSCRIBE_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    // Read from the store rather than PostRepository, whose cache may not have seen this change yet
+    private void reload(String postId) {
+        ApiFuture<Map<String, Object>> document = store.get(POSTS, postId);
+        document.addListener(() -> {
+            PostEntity post;
+            try {
+                post = postMapper.fromDocument(document.get());
+            } catch (Exception e) {
+                log.debug("Re-reading post {} for the ranked feed index failed: {}", postId, e.getMessage());
+                return;
+            }
+            if (post == null) {
+                remove(postId);
+                return;
+            }
+            postCounters.withCounts(post).whenComplete((counted, e) -> {
+                if (e != null) {
+                    log.debug("Reading the counters of post {} for the ranked feed index failed: {}", postId, e.getMessage());
+                } else {
+                    offer(counted);
+                }
+            });
+        }, background);
+    }
+}
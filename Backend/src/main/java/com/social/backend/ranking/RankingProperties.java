@@ -0,0 +1,31 @@
+package com.social.backend.ranking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.feed.ranking")
+public class RankingProperties {
+
+    /** How much newer a post must be to outrank one with ten times its engagement. */
+    private Duration decay = Duration.ofHours(12);
+
+    private double likeWeight = 1;
+    private double commentWeight = 3;
+
+    /** Score boosts, in the same units (one unit = 10x engagement), for the reader's own and friends' posts and for their groups. */
+    private double friendBoost = 0.5;
+    private double groupBoost = 0.3;
+
+    /** Highest-scoring posts kept per author or group. */
+    private int postsPerSource = 50;
+    private long maxSources = 100_000;
+
+    /** Recent posts loaded into the index at startup. */
+    private int warmupPosts = 5_000;
+
+    /** How long a reader's friend and group list is reused between ranked reads. */
+    private Duration audienceTtl = Duration.ofMinutes(1);
+}
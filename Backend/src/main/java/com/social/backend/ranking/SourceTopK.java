@@ -0,0 +1,92 @@
+package com.social.backend.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * The {@code capacity} highest-scoring posts of one author or group, best first. Updating a
+ * post's score repositions only that post, in O(log capacity).
+ */
+final class SourceTopK {
+
+    static final Comparator<RankedPost> BEST_FIRST = Comparator
+            .comparingDouble(RankedPost::score).reversed()
+            .thenComparing(RankedPost::postId);
+
+    private static final double BOUNDARY_MARGIN = 1e-6;
+
+    private final int capacity;
+    private final TreeSet<RankedPost> ranked = new TreeSet<>(BEST_FIRST);
+    private final Map<String, RankedPost> byPostId = new HashMap<>();
+
+    SourceTopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /** Inserts or replaces the post; returns the post dropped to stay within capacity, if any. */
+    synchronized RankedPost offer(RankedPost post) {
+        RankedPost previous = byPostId.remove(post.postId());
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        if (ranked.size() >= capacity && BEST_FIRST.compare(post, ranked.last()) > 0) {
+            return post;
+        }
+        ranked.add(post);
+        byPostId.put(post.postId(), post);
+        if (ranked.size() > capacity) {
+            RankedPost dropped = ranked.pollLast();
+            byPostId.remove(dropped.postId());
+            return dropped;
+        }
+        return null;
+    }
+
+    /** Applies {@code change} to the post if it is held here; the read and the re-insert are one atomic step. */
+    synchronized boolean update(String postId, UnaryOperator<RankedPost> change) {
+        RankedPost current = byPostId.get(postId);
+        if (current == null) {
+            return false;
+        }
+        offer(change.apply(current));
+        return true;
+    }
+
+    synchronized void remove(String postId) {
+        RankedPost post = byPostId.remove(postId);
+        if (post != null) {
+            ranked.remove(post);
+        }
+    }
+
+    /**
+     * Up to {@code limit} posts that rank after the cursor {@code (cursorScore, cursorPostId)} once
+     * {@code boost} is added to their score, best first; from the top when {@code cursorPostId} is null.
+     */
+    synchronized List<RankedPost> after(double boost, double cursorScore, String cursorPostId, int limit) {
+        Iterable<RankedPost> tail = ranked;
+        if (cursorPostId != null) {
+            // Start slightly early and compare exactly below, so float rounding of the boost cannot skip a post
+            tail = ranked.tailSet(new RankedPost("", null, 0, 0, 0, cursorScore - boost + BOUNDARY_MARGIN), true);
+        }
+        List<RankedPost> posts = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (RankedPost post : tail) {
+            if (posts.size() == limit) {
+                break;
+            }
+            if (cursorPostId != null) {
+                double score = post.score() + boost;
+                if (score > cursorScore || score == cursorScore && post.postId().compareTo(cursorPostId) <= 0) {
+                    continue;
+                }
+            }
+            posts.add(post);
+        }
+        return posts;
+    }
+}
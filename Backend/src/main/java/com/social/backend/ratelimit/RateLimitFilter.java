@@ -0,0 +1,52 @@
+package com.social.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social.backend.model.dto.response.ApiResponse;
+import com.social.backend.security.SecurityUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over their rule's rate with HTTP 429 and a {@code Retry-After} header. Runs
+ * after FirebaseFilter so buckets are keyed by uid; unauthenticated requests fall back to the
+ * client address.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uid = SecurityUtils.getCurrentUserId();
+        String key = uid != null ? uid : request.getRemoteAddr();
+        long waitNanos = rateLimiter.acquire(request.getMethod(), request.getRequestURI(), key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests"));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
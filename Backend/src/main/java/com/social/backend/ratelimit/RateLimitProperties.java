@@ -0,0 +1,32 @@
+package com.social.backend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on live buckets per rule; idle buckets are evicted earlier, once fully refilled. */
+    private long maxBucketsPerRule = 100_000;
+
+    /** Checked in order; a request is limited by the first rule matching its method and path. */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String method = "POST";
+        /** Spring path pattern, e.g. {@code /api/v1/friends/request/*}. */
+        private String path;
+        /** Sustained requests per second allowed per user. */
+        private double permitsPerSecond = 1;
+        /** Requests a user may send at once after being idle. */
+        private int burst = 10;
+    }
+}
@@ -0,0 +1,90 @@
+package com.social.backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-user token buckets for each configured route rule. Each rule keeps its buckets in its own
+ * size-bounded Caffeine map (internally striped, so users do not contend with each other), and a
+ * bucket is evicted once it has been idle long enough to refill, which loses no state. Rejections
+ * are counted as {@code rate_limit.rejected} by rule.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final List<CompiledRule> rules;
+
+    private record CompiledRule(String name, String method, PathPattern path, long intervalNanos, int burst,
+                                Cache<String, TokenBucket> buckets, Counter rejected) {
+    }
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.rules = properties.getRules().stream()
+                .map(rule -> {
+                    if (rule.getPermitsPerSecond() <= 0 || rule.getBurst() < 1) {
+                        throw new IllegalArgumentException("Rate limit rule " + rule.getName()
+                                + " needs permits-per-second > 0 and burst >= 1");
+                    }
+                    long intervalNanos = (long) (1_000_000_000L / rule.getPermitsPerSecond());
+                    Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                            .maximumSize(properties.getMaxBucketsPerRule())
+                            .expireAfterAccess(Duration.ofNanos(intervalNanos * rule.getBurst()))
+                            .build();
+                    Counter rejected = Counter.builder("rate_limit.rejected")
+                            .tag("rule", rule.getName())
+                            .register(meterRegistry);
+                    return new CompiledRule(rule.getName(), rule.getMethod(),
+                            PathPatternParser.defaultInstance.parse(rule.getPath()),
+                            intervalNanos, rule.getBurst(), buckets, rejected);
+                })
+                .toList();
+    }
+
+    /**
+     * Charges one request by {@code key} to the first rule matching the method and path.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until it would be allowed
+     */
+    public long acquire(String method, String path, String key) {
+        if (!enabled) {
+            return 0;
+        }
+        PathContainer pathContainer = null;
+        for (CompiledRule rule : rules) {
+            if (!rule.method().equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (!rule.path().matches(pathContainer)) {
+                continue;
+            }
+            long now = System.nanoTime();
+            // getIfPresent first: the common hit path then allocates no capturing lambda
+            TokenBucket bucket = rule.buckets().getIfPresent(key);
+            if (bucket == null) {
+                bucket = rule.buckets().get(key, k -> new TokenBucket(rule.intervalNanos(), rule.burst(), now));
+            }
+            long wait = bucket.tryAcquire(now);
+            if (wait > 0) {
+                rule.rejected().increment();
+            }
+            return wait;
+        }
+        return 0;
+    }
+}
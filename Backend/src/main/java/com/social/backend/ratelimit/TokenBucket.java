@@ -0,0 +1,38 @@
+package com.social.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implemented as the generic cell rate algorithm: instead of a token count and a
+ * refill timestamp, the whole state is one "theoretical arrival time" updated with a CAS, so
+ * acquiring is lock-free and allocation-free. A bucket that has been idle for
+ * {@code burst * interval} is indistinguishable from a new one.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long intervalNanos, int burst, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.capacityNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /** Takes one token; returns 0 if granted, otherwise how many nanoseconds until one is available. */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            // Compared by difference: nanoTime values may be negative or wrap
+            long next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
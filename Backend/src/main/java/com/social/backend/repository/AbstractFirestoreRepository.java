@@ -2,46 +2,345 @@ package com.social.backend.repository;
 
 import com.google.api.core.ApiFuture;
 import com.google.api.core.ApiFutures;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.WriteResult;
+import com.google.cloud.Timestamp;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.repository.cache.EntityCache;
+import com.social.backend.repository.mapping.EntityMapper;
+import com.social.backend.repository.mapping.EntityMappers;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
+/**
+ * Entity repository over one collection of a {@link DocumentStore}. Which engine backs it
+ * (Firestore or the embedded local store) is chosen by {@code app.storage.engine}.
+ *
+ * <p>Repositories built with a cache are change-tracked: every write stamps
+ * {@value ChangeFeed#UPDATED_AT} and every delete leaves a tombstone in
+ * {@value ChangeFeed#DELETIONS}, which is what the {@link ChangeFeed} listens to.
+ */
 public abstract class AbstractFirestoreRepository<T> {
 
-    protected final Firestore firestore;
+    public static final int MAX_PAGE_SIZE = 100;
+    // Bounds the reads behind one filtered page when the filter rejects almost everything
+    private static final int MAX_FILTERED_SCANS = 10;
+    // Long enough for every change feed to have seen the tombstone; pruned by a Firestore TTL policy on expireAt
+    private static final Duration TOMBSTONE_TTL = Duration.ofDays(1);
+
+    protected final DocumentStore store;
+    protected final Executor callbackExecutor;
     private final String collectionName;
     private final Class<T> clazz;
+    private final EntityMapper<T> mapper;
+    private final EntityCache<T> cache;
+    private final boolean changeTracked;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    protected AbstractFirestoreRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor,
+                                          String collectionName, Class<T> clazz) {
+        this(store, callbackExecutor, collectionName, clazz, EntityCache.none(), false);
+    }
+
+    protected AbstractFirestoreRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor,
+                                          String collectionName, Class<T> clazz, EntityCache<T> cache) {
+        this(store, callbackExecutor, collectionName, clazz, cache, true);
+    }
 
-    protected AbstractFirestoreRepository(Firestore firestore, String collectionName, Class<T> clazz) {
-        this.firestore = firestore;
+    private AbstractFirestoreRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor,
+                                        String collectionName, Class<T> clazz, EntityCache<T> cache,
+                                        boolean changeTracked) {
+        this.store = store;
+        this.callbackExecutor = callbackExecutor.getExecutor();
         this.collectionName = collectionName;
         this.clazz = clazz;
+        this.mapper = EntityMappers.forClass(clazz);
+        this.cache = cache;
+        this.changeTracked = changeTracked;
+    }
+
+    String getCollectionName() {
+        return collectionName;
+    }
+
+    Map<String, Object> toDocument(T entity) {
+        return mapper.toDocument(entity);
     }
 
-    public ApiFuture<WriteResult> save(String id, T entity) {
-        return firestore.collection(collectionName).document(id).set(entity);
+    void evict(String id) {
+        cache.invalidate(id);
+    }
+
+    public ApiFuture<Void> save(String id, T entity) {
+        Map<String, Object> document = mapper.toDocument(entity);
+        if (changeTracked) {
+            document.put(ChangeFeed.UPDATED_AT, Timestamp.now());
+        }
+        return invalidating(id, store.set(collectionName, id, document));
+    }
+
+    /**
+     * Writes only the given fields, without reading the document first. Keys may be dotted field paths.
+     * Fails with {@link ResourceNotFoundException} if the document does not exist.
+     */
+    public ApiFuture<Void> update(String id, Map<String, Object> fields) {
+        if (changeTracked) {
+            fields = new LinkedHashMap<>(fields);
+            fields.put(ChangeFeed.UPDATED_AT, Timestamp.now());
+        }
+        return invalidating(id, store.update(collectionName, id, fields));
+    }
+
+    public ApiFuture<Void> update(String id, String field, Object value, Object... moreFieldsAndValues) {
+        if (moreFieldsAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Field paths and values must come in pairs");
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(field, value);
+        for (int i = 0; i < moreFieldsAndValues.length; i += 2) {
+            fields.put((String) moreFieldsAndValues[i], moreFieldsAndValues[i + 1]);
+        }
+        return update(id, fields);
+    }
+
+    /**
+     * Invalidates before the write is sent and again once it completes. Each invalidation advances the
+     * id's cache generation, so a read that was in flight across either point is neither cached nor
+     * joined by callers that arrive after the write.
+     */
+    private <R> ApiFuture<R> invalidating(String id, ApiFuture<R> write) {
+        cache.invalidate(id);
+        write.addListener(() -> cache.invalidate(id), MoreExecutors.directExecutor());
+        return write;
     }
 
     public ApiFuture<T> findById(String id) {
+        T cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return ApiFutures.immediateFuture(cached);
+        }
+        long generation = cache.generation(id);
+        return singleFlight.load("id|" + id + "|" + generation, () -> ApiFutures.transform(
+                store.get(collectionName, id),
+                document -> {
+                    T entity = mapper.fromDocument(document);
+                    if (entity != null) {
+                        cache.put(id, entity, generation);
+                    }
+                    return entity;
+                },
+                callbackExecutor
+        ));
+    }
+
+    /**
+     * Fetches many documents in one store round trip (chunked by the engine if it must be).
+     * The result lines up with {@code ids}; missing documents are {@code null}, as with {@link #findById}.
+     */
+    public ApiFuture<List<T>> findAllById(Collection<String> ids) {
+        Map<String, T> cached = new HashMap<>();
+        List<String> missingIds = new ArrayList<>();
+        List<Long> generations = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            T entity = cache.getIfPresent(id);
+            if (entity != null) {
+                cached.put(id, entity);
+            } else {
+                missingIds.add(id);
+                generations.add(cache.generation(id));
+            }
+        }
+        ApiFuture<List<Map<String, Object>>> fetched = missingIds.isEmpty()
+                ? ApiFutures.immediateFuture(List.of())
+                : store.getAll(collectionName, missingIds);
         return ApiFutures.transform(
-                firestore.collection(collectionName).document(id).get(),
-                snapshot -> snapshot.toObject(clazz),
-                MoreExecutors.directExecutor()
+                fetched,
+                documents -> {
+                    Map<String, T> byId = new HashMap<>(cached);
+                    for (int i = 0; i < documents.size(); i++) {
+                        T entity = mapper.fromDocument(documents.get(i));
+                        if (entity != null) {
+                            cache.put(missingIds.get(i), entity, generations.get(i));
+                            byId.put(missingIds.get(i), entity);
+                        }
+                    }
+                    List<T> entities = new ArrayList<>(ids.size());
+                    for (String id : ids) {
+                        entities.add(byId.get(id));
+                    }
+                    return entities;
+                },
+                callbackExecutor
         );
     }
 
-    public ApiFuture<WriteResult> delete(String id) {
-        return firestore.collection(collectionName).document(id).delete();
+    public ApiFuture<Void> delete(String id) {
+        if (!changeTracked) {
+            return invalidating(id, store.delete(collectionName, id));
+        }
+        Timestamp now = Timestamp.now();
+        Map<String, Object> tombstone = Map.of(
+                "collection", collectionName,
+                "documentId", id,
+                ChangeFeed.UPDATED_AT, now,
+                "expireAt", Timestamp.ofTimeSecondsAndNanos(now.getSeconds() + TOMBSTONE_TTL.toSeconds(), now.getNanos()));
+        return invalidating(id, store.commit(List.of(
+                WriteOperation.delete(collectionName, id),
+                WriteOperation.set(ChangeFeed.DELETIONS, collectionName + ":" + id, tombstone))));
     }
 
     public ApiFuture<List<T>> findAll(int limit) {
+        ScanRequest request = ScanRequest.builder()
+                .collection(collectionName)
+                .descending(false)
+                .limit(limit)
+                .build();
         return ApiFutures.transform(
-                firestore.collection(collectionName).limit(limit).get(),
-                snapshot -> snapshot.toObjects(clazz),
-                MoreExecutors.directExecutor()
+                store.scan(request),
+                documents -> {
+                    List<T> entities = new ArrayList<>(documents.size());
+                    for (StoredDocument document : documents) {
+                        entities.add(mapper.fromDocument(document.getData()));
+                    }
+                    return entities;
+                },
+                callbackExecutor
+        );
+    }
+
+    /**
+     * Newest-first page ordered by {@code orderBy}, resuming after the document encoded in {@code cursor}.
+     */
+    public ApiFuture<CursorPage<T>> findPage(String orderBy, String cursor, int limit) {
+        return findPage(Map.of(), clazz, orderBy, cursor, limit);
+    }
+
+    /**
+     * Same paging as {@link #findPage(String, String, int)}, but reads only the fields declared on
+     * {@code projection} (plus {@code orderBy}) using a field mask.
+     */
+    public <P> ApiFuture<CursorPage<P>> findPage(Class<P> projection, String orderBy, String cursor, int limit) {
+        return findPage(Map.of(), projection, orderBy, cursor, limit);
+    }
+
+    /**
+     * Same paging as {@link #findPage(Class, String, String, int)}, keeping only items accepted by
+     * {@code filter}. Rejected documents are skipped by scanning further, so a page is full unless
+     * the collection is exhausted (or {@value #MAX_FILTERED_SCANS} scans did not find enough).
+     */
+    public <P> ApiFuture<CursorPage<P>> findFilteredPage(Class<P> projection, String orderBy, String cursor, int limit,
+                                                         Predicate<? super P> filter) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ScanRequest.ScanRequestBuilder request = ScanRequest.builder()
+                .collection(collectionName)
+                .orderBy(orderBy);
+        if (!projection.equals(clazz)) {
+            request.select(Arrays.asList(ProjectionFields.of(projection, orderBy)));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor position = PageCursor.decode(cursor);
+            request.startAfterValue(position.getValue()).startAfterId(position.getDocumentId());
+        }
+        return scanFiltered(request, EntityMappers.forClass(projection), orderBy, pageSize, filter,
+                new ArrayList<>(pageSize), 1);
+    }
+
+    public ApiFuture<CursorPage<T>> findPageWhereEqualTo(String field, Object value, String orderBy,
+                                                         String cursor, int limit) {
+        return findPage(Map.of(field, value), clazz, orderBy, cursor, limit);
+    }
+
+    /**
+     * Identical requests (same filters, projection, order, cursor and limit) share one in-flight scan.
+     */
+    protected <P> ApiFuture<CursorPage<P>> findPage(Map<String, Object> equalTo, Class<P> type,
+                                                    String orderBy, String cursor, int limit) {
+        return findPage(equalTo, type, orderBy, true, cursor, limit);
+    }
+
+    protected <P> ApiFuture<CursorPage<P>> findPage(Map<String, Object> equalTo, Class<P> type, String orderBy,
+                                                    boolean descending, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ScanRequest.ScanRequestBuilder request = ScanRequest.builder()
+                .collection(collectionName)
+                .equalTo(equalTo)
+                .orderBy(orderBy)
+                .descending(descending)
+                .limit(pageSize);
+        if (!type.equals(clazz)) {
+            request.select(Arrays.asList(ProjectionFields.of(type, orderBy)));
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor position = PageCursor.decode(cursor);
+            request.startAfterValue(position.getValue()).startAfterId(position.getDocumentId());
+        }
+        String key = "page|" + type.getName() + "|" + equalTo + "|" + orderBy + "|" + descending + "|" + cursor + "|" + pageSize;
+        return singleFlight.load(key, () -> ApiFutures.transform(
+                store.scan(request.build()),
+                documents -> toPage(documents, type, orderBy, pageSize),
+                callbackExecutor
+        ));
+    }
+
+    // The first scan asks for exactly the page; refills read full batches
+    private <P> ApiFuture<CursorPage<P>> scanFiltered(ScanRequest.ScanRequestBuilder request, EntityMapper<P> pageMapper,
+                                                      String orderBy, int pageSize, Predicate<? super P> filter,
+                                                      List<P> items, int scans) {
+        int batchSize = scans == 1 ? pageSize : MAX_PAGE_SIZE;
+        return ApiFutures.transformAsync(
+                store.scan(request.limit(batchSize).build()),
+                documents -> {
+                    for (StoredDocument document : documents) {
+                        P item = pageMapper.fromDocument(document.getData());
+                        if (filter.test(item)) {
+                            items.add(item);
+                            if (items.size() == pageSize) {
+                                return ApiFutures.immediateFuture(new CursorPage<>(items,
+                                        PageCursor.encode(document.getData().get(orderBy), document.getId())));
+                            }
+                        }
+                    }
+                    if (documents.size() < batchSize) {
+                        return ApiFutures.immediateFuture(new CursorPage<>(items, null));
+                    }
+                    StoredDocument last = documents.get(documents.size() - 1);
+                    Object lastValue = last.getData().get(orderBy);
+                    if (scans == MAX_FILTERED_SCANS) {
+                        return ApiFutures.immediateFuture(new CursorPage<>(items, PageCursor.encode(lastValue, last.getId())));
+                    }
+                    request.startAfterValue(lastValue).startAfterId(last.getId());
+                    return scanFiltered(request, pageMapper, orderBy, pageSize, filter, items, scans + 1);
+                },
+                callbackExecutor
         );
     }
+
+    private <P> CursorPage<P> toPage(List<StoredDocument> documents, Class<P> type, String orderBy, int pageSize) {
+        EntityMapper<P> pageMapper = EntityMappers.forClass(type);
+        List<P> items = new ArrayList<>(documents.size());
+        for (StoredDocument document : documents) {
+            items.add(pageMapper.fromDocument(document.getData()));
+        }
+        String nextCursor = null;
+        if (documents.size() == pageSize) {
+            StoredDocument last = documents.get(documents.size() - 1);
+            nextCursor = PageCursor.encode(last.getData().get(orderBy), last.getId());
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
 }
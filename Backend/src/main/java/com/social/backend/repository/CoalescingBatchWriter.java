@@ -0,0 +1,160 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.exception.WriteQueueFullException;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.WriteOperation;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer that coalesces {@code set} calls from concurrent requests into batched
+ * {@link DocumentStore#commit} calls. A batch is committed once it reaches {@code max-batch-size} writes or
+ * once {@code window-ms} has passed since its first write, whichever comes first. Each caller gets
+ * its own future, completed when the batch holding its write commits.
+ */
+@Component
+public class CoalescingBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingBatchWriter.class);
+
+    // Firestore rejects commits with more than 500 writes
+    private static final int FIRESTORE_MAX_BATCH_SIZE = 500;
+
+    private final DocumentStore store;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Semaphore inFlightBatches;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public CoalescingBatchWriter(DocumentStore store,
+                                 @Value("${app.batch-writer.max-batch-size:200}") int maxBatchSize,
+                                 @Value("${app.batch-writer.window-ms:10}") long windowMillis,
+                                 @Value("${app.batch-writer.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.batch-writer.max-in-flight-batches:8}") int maxInFlightBatches) {
+        this.store = store;
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, FIRESTORE_MAX_BATCH_SIZE));
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.flusher = new Thread(this::runFlusher, "firestore-batch-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues a full-document write. Fails immediately with {@link WriteQueueFullException} when the
+     * queue is at capacity, so callers shed load instead of piling up behind a slow backend.
+     */
+    public <T> CompletableFuture<Void> set(AbstractFirestoreRepository<T> repository, String id, T entity) {
+        repository.evict(id);
+        PendingWrite write = new PendingWrite(repository, id, repository.toDocument(entity));
+        if (!running || !queue.offer(write)) {
+            return CompletableFuture.failedFuture(new WriteQueueFullException("Write queue is full, try again later"));
+        }
+        return write.future;
+    }
+
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                // Bounds concurrent commits; while we wait here the queue fills up and set() starts rejecting
+                inFlightBatches.acquire();
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        // Several writes to one document within a window collapse into the last one
+        Map<String, PendingWrite> latest = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            latest.put(write.repository.getCollectionName() + "/" + write.id, write);
+        }
+        List<WriteOperation> writes = new ArrayList<>(latest.size());
+        for (PendingWrite write : latest.values()) {
+            writes.add(WriteOperation.set(write.repository.getCollectionName(), write.id, write.data));
+        }
+
+        ApiFuture<Void> commit;
+        try {
+            commit = store.commit(writes);
+        } catch (RuntimeException e) {
+            inFlightBatches.release();
+            batch.forEach(write -> write.future.completeExceptionally(e));
+            return;
+        }
+        ApiFutures.addCallback(commit, new ApiFutureCallback<Void>() {
+            @Override
+            public void onFailure(Throwable t) {
+                inFlightBatches.release();
+                log.warn("Batch commit of {} writes failed: {}", batch.size(), t.getMessage());
+                batch.forEach(write -> write.future.completeExceptionally(t));
+            }
+
+            @Override
+            public void onSuccess(Void result) {
+                inFlightBatches.release();
+                batch.forEach(write -> {
+                    write.repository.evict(write.id);
+                    write.future.complete(null);
+                });
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static final class PendingWrite {
+        private final AbstractFirestoreRepository<?> repository;
+        private final String id;
+        private final Map<String, Object> data;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(AbstractFirestoreRepository<?> repository, String id, Map<String, Object> data) {
+            this.repository = repository;
+            this.id = id;
+            this.data = data;
+        }
+    }
+}
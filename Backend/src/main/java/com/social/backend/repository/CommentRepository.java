@@ -1,12 +1,49 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
+import com.google.api.core.ApiFuture;
+import com.social.backend.model.dto.response.CursorPage;
 import com.social.backend.model.entity.CommentEntity;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.WriteOperation;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code comments} collection. Top-level comments have a {@code null} {@code replyToId} (stored
+ * explicitly, so it can be filtered on); each one carries a {@code replyCount} that is incremented
+ * in the same commit as every reply to it. Comments stored before the count existed have none, and
+ * their count is unknown rather than zero.
+ */
 @Repository
 public class CommentRepository extends AbstractFirestoreRepository<CommentEntity> {
-    public CommentRepository(Firestore firestore) {
-        super(firestore, "comments", CommentEntity.class);
+
+    public static final String REPLY_COUNT = "replyCount";
+
+    public CommentRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "comments", CommentEntity.class);
+    }
+
+    /** Newest-first page of the comments on {@code postId} that are not replies. */
+    public ApiFuture<CursorPage<CommentEntity>> findTopLevel(String postId, String cursor, int limit) {
+        Map<String, Object> equalTo = new HashMap<>();
+        equalTo.put("postId", postId);
+        equalTo.put("replyToId", null);
+        return findPage(equalTo, CommentEntity.class, "createdAt", true, cursor, limit);
+    }
+
+    /** Oldest-first page of the replies to {@code commentId}, so a thread reads top to bottom. */
+    public ApiFuture<CursorPage<CommentEntity>> findReplies(String commentId, String cursor, int limit) {
+        return findPage(Map.of("replyToId", commentId), CommentEntity.class, "createdAt", false, cursor, limit);
+    }
+
+    /** Stores a reply and bumps its parent's reply count atomically. */
+    public ApiFuture<Void> saveReply(CommentEntity reply) {
+        evict(reply.getReplyToId());
+        return store.commit(List.of(
+                WriteOperation.set(getCollectionName(), reply.getId(), toDocument(reply)),
+                WriteOperation.increment(getCollectionName(), reply.getReplyToId(), Map.of(REPLY_COUNT, 1L))));
     }
 }
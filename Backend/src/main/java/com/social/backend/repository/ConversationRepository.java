@@ -1,12 +1,12 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.ConversationEntity;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class ConversationRepository extends AbstractFirestoreRepository<ConversationEntity> {
-    public ConversationRepository(Firestore firestore) {
-        super(firestore, "conversations", ConversationEntity.class);
+    public ConversationRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "conversations", ConversationEntity.class);
     }
 }
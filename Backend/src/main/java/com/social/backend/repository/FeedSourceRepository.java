@@ -0,0 +1,12 @@
+package com.social.backend.repository;
+
+import com.social.backend.model.entity.FeedSourceEntity;
+import com.social.backend.storage.DocumentStore;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class FeedSourceRepository extends AbstractFirestoreRepository<FeedSourceEntity> {
+    public FeedSourceRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "feed_sources", FeedSourceEntity.class);
+    }
+}
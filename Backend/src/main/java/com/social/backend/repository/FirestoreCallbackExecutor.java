@@ -0,0 +1,21 @@
+package com.social.backend.repository;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor for ApiFuture transform callbacks in the repositories.
+ * Kept as its own type rather than an {@link Executor} bean so that Spring Boot's
+ * auto-configured application task executor does not back off.
+ */
+public class FirestoreCallbackExecutor {
+
+    private final Executor executor;
+
+    public FirestoreCallbackExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+}
@@ -1,12 +1,13 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.GroupEntity;
+import com.social.backend.repository.cache.EntityCacheManager;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class GroupRepository extends AbstractFirestoreRepository<GroupEntity> {
-    public GroupRepository(Firestore firestore) {
-        super(firestore, "groups", GroupEntity.class);
+    public GroupRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor, EntityCacheManager cacheManager) {
+        super(store, callbackExecutor, "groups", GroupEntity.class, cacheManager.getCache("groups"));
     }
 }
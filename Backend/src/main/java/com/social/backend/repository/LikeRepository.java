@@ -0,0 +1,140 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * The {@code likes} collection, also written by the app: one document {@code {uid}_{postId}} per
+ * like, with {@code userId}, {@code postId} and {@code createdAt} fields.
+ */
+@Repository
+public class LikeRepository {
+
+    public static final String COLLECTION = "likes";
+    private static final String FLUSHES = "like_flushes";
+    // Longer than a node stays down with an unapplied flush plan on disk
+    private static final Duration FLUSH_MARKER_TTL = Duration.ofDays(30);
+    private static final int ID_PAGE_SIZE = 1000;
+
+    private final DocumentStore store;
+    private final Executor callbackExecutor;
+
+    public LikeRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        this.store = store;
+        this.callbackExecutor = callbackExecutor.getExecutor();
+    }
+
+    public static String likeId(String uid, String postId) {
+        return uid + "_" + postId;
+    }
+
+    /** The write that records a like, in the same shape the app writes. */
+    public static WriteOperation like(String uid, String postId) {
+        return WriteOperation.set(COLLECTION, likeId(uid, postId),
+                Map.of("userId", uid, "postId", postId, "createdAt", Timestamp.now()));
+    }
+
+    public static WriteOperation unlike(String uid, String postId) {
+        return WriteOperation.delete(COLLECTION, likeId(uid, postId));
+    }
+
+    /**
+     * Marker committed with each buffered-like flush commit, so a replay can tell the commit applied.
+     * Markers expire after {@code FLUSH_MARKER_TTL} through a TTL policy on {@code expireAt}.
+     */
+    public static WriteOperation flushMarker(String commitId) {
+        Timestamp now = Timestamp.now();
+        return WriteOperation.set(FLUSHES, commitId, Map.of("createdAt", now,
+                "expireAt", Timestamp.ofTimeSecondsAndNanos(now.getSeconds() + FLUSH_MARKER_TTL.toSeconds(), 0)));
+    }
+
+    /** The subset of {@code commitIds} whose flush marker exists, in one batched read. */
+    public ApiFuture<Set<String>> findFlushMarkers(List<String> commitIds) {
+        if (commitIds.isEmpty()) {
+            return ApiFutures.immediateFuture(Set.of());
+        }
+        return ApiFutures.transform(
+                store.getAll(FLUSHES, commitIds),
+                documents -> {
+                    Set<String> applied = new HashSet<>();
+                    for (int i = 0; i < documents.size(); i++) {
+                        if (documents.get(i) != null) {
+                            applied.add(commitIds.get(i));
+                        }
+                    }
+                    return applied;
+                },
+                callbackExecutor
+        );
+    }
+
+    /** Up to {@code max} ids of posts {@code uid} has liked, in id order; ask for one extra to learn whether there are more. */
+    public ApiFuture<List<String>> findLikedPostIds(String uid, int max) {
+        return collectPostIds(uid, null, max, new ArrayList<>());
+    }
+
+    /** The subset of {@code postIds} that {@code uid} has liked, in one batched read. */
+    public ApiFuture<Set<String>> filterLiked(String uid, List<String> postIds) {
+        if (postIds.isEmpty()) {
+            return ApiFutures.immediateFuture(Set.of());
+        }
+        List<String> likeIds = new ArrayList<>(postIds.size());
+        postIds.forEach(postId -> likeIds.add(likeId(uid, postId)));
+        return ApiFutures.transform(
+                store.getAll(COLLECTION, likeIds),
+                documents -> {
+                    Set<String> liked = new HashSet<>();
+                    for (int i = 0; i < documents.size(); i++) {
+                        if (documents.get(i) != null) {
+                            liked.add(postIds.get(i));
+                        }
+                    }
+                    return liked;
+                },
+                callbackExecutor
+        );
+    }
+
+    // Like ids start with the uid, so the post id is the rest of the id; only ids are read
+    private ApiFuture<List<String>> collectPostIds(String uid, String startAfterId, int max, List<String> postIds) {
+        int pageSize = Math.min(ID_PAGE_SIZE, max - postIds.size());
+        String prefix = likeId(uid, "");
+        ScanRequest request = ScanRequest.builder()
+                .collection(COLLECTION)
+                .equalTo(Map.of("userId", uid))
+                .descending(false)
+                .startAfterId(startAfterId)
+                .limit(pageSize)
+                .select(List.of())
+                .build();
+        return ApiFutures.transformAsync(
+                store.scan(request),
+                documents -> {
+                    for (StoredDocument document : documents) {
+                        if (document.getId().startsWith(prefix)) {
+                            postIds.add(document.getId().substring(prefix.length()));
+                        }
+                    }
+                    if (documents.size() < pageSize || postIds.size() >= max) {
+                        return ApiFutures.immediateFuture(postIds);
+                    }
+                    return collectPostIds(uid, documents.get(documents.size() - 1).getId(), max, postIds);
+                },
+                callbackExecutor
+        );
+    }
+}
@@ -1,12 +1,12 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.MessageEntity;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class MessageRepository extends AbstractFirestoreRepository<MessageEntity> {
-    public MessageRepository(Firestore firestore) {
-        super(firestore, "messages", MessageEntity.class);
+    public MessageRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "messages", MessageEntity.class);
     }
 }
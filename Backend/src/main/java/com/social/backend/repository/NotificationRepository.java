@@ -1,12 +1,12 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.NotificationEntity;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class NotificationRepository extends AbstractFirestoreRepository<NotificationEntity> {
-    public NotificationRepository(Firestore firestore) {
-        super(firestore, "notifications", NotificationEntity.class);
+    public NotificationRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "notifications", NotificationEntity.class);
     }
 }
@@ -0,0 +1,101 @@
+package com.social.backend.repository;
+
+import com.google.cloud.Timestamp;
+import com.social.backend.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the order-by value and document id of the last document of a page,
+ * so the next query can resume with {@code startAfter} instead of re-reading earlier documents.
+ * A {@code null} order-by value (a document written without the field set) is encoded as a typed
+ * null, which both engines order before every other value, as Firestore does.
+ */
+final class PageCursor {
+
+    private static final Logger log = LoggerFactory.getLogger(PageCursor.class);
+
+    private static final byte TIMESTAMP = 't';
+    private static final byte LONG = 'l';
+    private static final byte DOUBLE = 'd';
+    private static final byte STRING = 's';
+    private static final byte BOOLEAN = 'b';
+    private static final byte NULL = 'n';
+
+    private final Object value;
+    private final String documentId;
+
+    private PageCursor(Object value, String documentId) {
+        this.value = value;
+        this.documentId = documentId;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    String getDocumentId() {
+        return documentId;
+    }
+
+    /**
+     * Returns {@code null} (no next page) if the order-by value is of a type that cannot be used as a
+     * cursor, such as a list or map, rather than failing the listing that produced it.
+     */
+    static String encode(Object value, String documentId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Timestamp timestamp) {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(timestamp.getSeconds());
+                out.writeInt(timestamp.getNanos());
+            } else if (value instanceof Long || value instanceof Integer) {
+                out.writeByte(LONG);
+                out.writeLong(((Number) value).longValue());
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof String string) {
+                out.writeByte(STRING);
+                out.writeUTF(string);
+            } else if (value instanceof Boolean bool) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(bool);
+            } else {
+                log.warn("Cannot page past {}: unsupported order-by value type {}", documentId, value.getClass().getName());
+                return null;
+            }
+            out.writeUTF(documentId);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error encoding cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static PageCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            byte type = in.readByte();
+            Object value = switch (type) {
+                case TIMESTAMP -> Timestamp.ofTimeSecondsAndNanos(in.readLong(), in.readInt());
+                case LONG -> in.readLong();
+                case DOUBLE -> in.readDouble();
+                case STRING -> in.readUTF();
+                case BOOLEAN -> in.readBoolean();
+                case NULL -> null;
+                default -> throw new BadRequestException("Invalid cursor");
+            };
+            return new PageCursor(value, in.readUTF());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.social.backend.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.utils.FutureUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Like and comment counters of a post. A post counts on one document {@code post_counters/{postId}}
+ * until it gets hot: more than {@code hot-increments-per-second} increments from this node within
+ * a second. From then on its increments spread over {@code app.counters.shards} documents
+ * {@code post_counters/{postId}/shards/{0..n-1}} instead of contending on one, and the counter
+ * document carries a {@value #HOT} mark so readers know to add the shards. A total is the counter
+ * document plus, for marked posts only, the sum of the shards.
+ */
+@Repository
+public class PostCounterRepository {
+
+    public static final String LIKES = "likeCount";
+    public static final String COMMENTS = "commentCount";
+
+    private static final Logger log = LoggerFactory.getLogger(PostCounterRepository.class);
+    private static final String COLLECTION = "post_counters";
+    private static final String HOT = "hot";
+
+    private final DocumentStore store;
+    private final Executor callbackExecutor;
+    private final List<String> shardIds;
+    private final int hotIncrementsPerSecond;
+    // Increments per post in the current one-second window; entries expire a second after they are created
+    private final Cache<String, AtomicInteger> recentIncrements;
+    private final Cache<String, Boolean> hotPosts;
+
+    public PostCounterRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor,
+                                 @Value("${app.counters.shards:10}") int shards,
+                                 @Value("${app.counters.hot-increments-per-second:2}") int hotIncrementsPerSecond) {
+        this.store = store;
+        this.callbackExecutor = callbackExecutor.getExecutor();
+        List<String> ids = new ArrayList<>(shards);
+        for (int i = 0; i < Math.max(1, shards); i++) {
+            ids.add(Integer.toString(i));
+        }
+        this.shardIds = List.copyOf(ids);
+        this.hotIncrementsPerSecond = hotIncrementsPerSecond;
+        this.recentIncrements = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(1))
+                .build();
+        this.hotPosts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * An increment of the post's counter document, or of one randomly chosen shard once the post is
+     * hot, for the caller to commit with its other writes.
+     */
+    public WriteOperation increment(String postId, String counter, long delta) {
+        if (hotPosts.getIfPresent(postId) != null) {
+            String shardId = shardIds.get(ThreadLocalRandom.current().nextInt(shardIds.size()));
+            return WriteOperation.increment(shards(postId), shardId, Map.of(counter, delta));
+        }
+        if (recentIncrements.get(postId, id -> new AtomicInteger()).incrementAndGet() == hotIncrementsPerSecond + 1) {
+            markHot(postId);
+        }
+        return WriteOperation.increment(COLLECTION, postId, Map.of(counter, delta));
+    }
+
+    /**
+     * Totals of every counter per post: one batched read of the counter documents, plus one read of
+     * the shards per hot post. Counters never incremented are absent.
+     */
+    public ApiFuture<Map<String, Map<String, Long>>> totals(List<String> postIds) {
+        if (postIds.isEmpty()) {
+            return ApiFutures.immediateFuture(Map.of());
+        }
+        return ApiFutures.transformAsync(
+                store.getAll(COLLECTION, postIds),
+                documents -> {
+                    Map<String, Map<String, Long>> totals = new HashMap<>(postIds.size() * 2);
+                    List<String> hot = new ArrayList<>();
+                    List<ApiFuture<List<Map<String, Object>>>> shardReads = new ArrayList<>();
+                    for (int i = 0; i < postIds.size(); i++) {
+                        Map<String, Object> document = documents.get(i);
+                        Map<String, Long> postTotals = new HashMap<>(4);
+                        add(postTotals, document);
+                        totals.put(postIds.get(i), postTotals);
+                        if (document != null && document.get(HOT) instanceof Number mark && mark.longValue() > 0) {
+                            hot.add(postIds.get(i));
+                            shardReads.add(store.getAll(shards(postIds.get(i)), shardIds));
+                        }
+                    }
+                    if (hot.isEmpty()) {
+                        return ApiFutures.immediateFuture(totals);
+                    }
+                    return ApiFutures.transform(
+                            ApiFutures.allAsList(shardReads),
+                            shardDocuments -> {
+                                for (int i = 0; i < hot.size(); i++) {
+                                    Map<String, Long> postTotals = totals.get(hot.get(i));
+                                    shardDocuments.get(i).forEach(shard -> add(postTotals, shard));
+                                }
+                                return totals;
+                            },
+                            callbackExecutor
+                    );
+                },
+                callbackExecutor
+        );
+    }
+
+    public ApiFuture<Void> commit(List<WriteOperation> writes) {
+        return store.commit(writes);
+    }
+
+    // Shard increments only start once the mark is stored, so a reader never misses a shard
+    private void markHot(String postId) {
+        ApiFuture<Void> marked = store.commit(List.of(WriteOperation.increment(COLLECTION, postId, Map.of(HOT, 1L))));
+        marked.addListener(() -> {
+            try {
+                marked.get();
+                hotPosts.put(postId, Boolean.TRUE);
+                log.debug("Post {} is hot; spreading its counter increments over {} shards", postId, shardIds.size());
+            } catch (Exception e) {
+                log.debug("Marking post {} hot failed: {}", postId, FutureUtils.unwrap(e).getMessage());
+            }
+        }, callbackExecutor);
+    }
+
+    private static void add(Map<String, Long> totals, Map<String, Object> document) {
+        if (document == null) {
+            return;
+        }
+        document.forEach((counter, value) -> {
+            if (!HOT.equals(counter) && value instanceof Number number) {
+                totals.merge(counter, number.longValue(), Long::sum);
+            }
+        });
+    }
+
+    private static String shards(String postId) {
+        return COLLECTION + "/" + postId + "/shards";
+    }
+}
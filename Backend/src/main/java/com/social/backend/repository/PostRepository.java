@@ -1,12 +1,13 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.cache.EntityCacheManager;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class PostRepository extends AbstractFirestoreRepository<PostEntity> {
-    public PostRepository(Firestore firestore) {
-        super(firestore, "posts", PostEntity.class);
+    public PostRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor, EntityCacheManager cacheManager) {
+        super(store, callbackExecutor, "posts", PostEntity.class, cacheManager.getCache("posts"));
     }
 }
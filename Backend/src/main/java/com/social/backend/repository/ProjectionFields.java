@@ -0,0 +1,45 @@
+package com.social.backend.repository;
+
+import com.social.backend.model.dto.response.PostSummary;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field mask for a projection class: its instance field names, which match the stored field names,
+ * less the per-reader fields listed in {@link #NOT_STORED}.
+ */
+final class ProjectionFields {
+
+    private static final Map<Class<?>, List<String>> FIELDS = new ConcurrentHashMap<>();
+    // Set per reader after the read; a mask naming them would only read missing fields
+    private static final Map<Class<?>, Set<String>> NOT_STORED = Map.of(PostSummary.class, Set.of("likedByMe"));
+
+    private ProjectionFields() {
+    }
+
+    /** The mask always includes {@code orderBy}, which the next-page cursor is built from. */
+    static String[] of(Class<?> projection, String orderBy) {
+        List<String> fields = new ArrayList<>(FIELDS.computeIfAbsent(projection, ProjectionFields::declaredFields));
+        if (!fields.contains(orderBy)) {
+            fields.add(orderBy);
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    private static List<String> declaredFields(Class<?> projection) {
+        List<String> names = new ArrayList<>();
+        Set<String> notStored = NOT_STORED.getOrDefault(projection, Set.of());
+        for (Field field : projection.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !notStored.contains(field.getName())) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+}
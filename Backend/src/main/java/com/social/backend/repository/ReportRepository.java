@@ -1,12 +1,12 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.ReportEntity;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class ReportRepository extends AbstractFirestoreRepository<ReportEntity> {
-    public ReportRepository(Firestore firestore) {
-        super(firestore, "reports", ReportEntity.class);
+    public ReportRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        super(store, callbackExecutor, "reports", ReportEntity.class);
     }
 }
@@ -0,0 +1,55 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a load for a key is in flight, later callers get
+ * the same future instead of issuing another backend read. The key is released as soon as the
+ * load completes, so nothing is cached beyond the lifetime of the request.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<String, SettableApiFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <R> ApiFuture<R> load(String key, Supplier<ApiFuture<R>> loader) {
+        SettableApiFuture<R> existing = (SettableApiFuture<R>) inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        SettableApiFuture<R> promise = SettableApiFuture.create();
+        SettableApiFuture<R> raced = (SettableApiFuture<R>) inFlight.putIfAbsent(key, promise);
+        if (raced != null) {
+            return raced;
+        }
+        promise.addListener(() -> inFlight.remove(key, promise), MoreExecutors.directExecutor());
+
+        ApiFuture<R> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            promise.setException(e);
+            return promise;
+        }
+        ApiFutures.addCallback(load, new ApiFutureCallback<R>() {
+            @Override
+            public void onFailure(Throwable t) {
+                promise.setException(t);
+            }
+
+            @Override
+            public void onSuccess(R result) {
+                promise.set(result);
+            }
+        }, MoreExecutors.directExecutor());
+        return promise;
+    }
+}
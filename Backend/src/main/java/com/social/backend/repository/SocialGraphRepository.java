@@ -0,0 +1,252 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads the membership subcollections maintained by the app: {@code users/{uid}/friends/{friendId}}
+ * and {@code groups/{groupId}/members/{uid}}, and which groups are private. Only document ids are read,
+ * except for the {@code groupId} of the reader's own member documents.
+ */
+@Repository
+public class SocialGraphRepository {
+
+    private static final int ID_PAGE_SIZE = 1000;
+    private static final String GROUPS = "groups";
+    private static final String PRIVATE = "PRIVATE";
+    private static final String MEMBERS = "members";
+    private static final String GROUP_ID = "groupId";
+    private static final String MEMBER_COUNT = "memberCount";
+    private static final String JOINED_AT = "joinedAt";
+    private static final int MAX_MEMBERSHIPS = 5_000;
+
+    /** A member document's id and join time: the position of a join in join order. */
+    public record GroupJoin(String memberId, Object joinedAt) {
+    }
+
+    private final DocumentStore store;
+    private final Executor callbackExecutor;
+
+    public SocialGraphRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        this.store = store;
+        this.callbackExecutor = callbackExecutor.getExecutor();
+    }
+
+    /** Up to {@code max} friend ids; callers that only need to know whether there are more ask for one extra. */
+    public ApiFuture<List<String>> findFriendIds(String uid, int max) {
+        return collectIds(friends(uid), Map.of(), null, max, new ArrayList<>());
+    }
+
+    public ApiFuture<List<String>> findGroupMemberIds(String groupId, int max) {
+        return collectIds(members(groupId), Map.of(), null, max, new ArrayList<>());
+    }
+
+    public ApiFuture<List<String>> findPrivateGroupIds(int max) {
+        return collectIds(GROUPS, Map.of("privacy", PRIVATE), null, max, new ArrayList<>());
+    }
+
+    /** Whether the group exists and is private. */
+    public ApiFuture<Boolean> isPrivateGroup(String groupId) {
+        return ApiFutures.transform(
+                store.get(GROUPS, groupId),
+                group -> group != null && PRIVATE.equals(group.get("privacy")),
+                callbackExecutor
+        );
+    }
+
+    /** Member count the app keeps on a private group, or {@code null} if the group is missing or not private. */
+    public ApiFuture<Long> findPrivateGroupMemberCount(String groupId) {
+        return ApiFutures.transform(
+                store.get(GROUPS, groupId),
+                group -> {
+                    if (group == null || !PRIVATE.equals(group.get("privacy"))) {
+                        return null;
+                    }
+                    return group.get(MEMBER_COUNT) instanceof Number count ? count.longValue() : 0L;
+                },
+                callbackExecutor
+        );
+    }
+
+    /** The subset of {@code groupIds} that exist and are private, in one batched read. */
+    public ApiFuture<List<String>> filterPrivateGroups(List<String> groupIds) {
+        if (groupIds.isEmpty()) {
+            return ApiFutures.immediateFuture(List.of());
+        }
+        return ApiFutures.transform(
+                store.getAll(GROUPS, groupIds),
+                documents -> {
+                    List<String> privateIds = new ArrayList<>();
+                    for (int i = 0; i < documents.size(); i++) {
+                        if (documents.get(i) != null && PRIVATE.equals(documents.get(i).get("privacy"))) {
+                            privateIds.add(groupIds.get(i));
+                        }
+                    }
+                    return privateIds;
+                },
+                callbackExecutor
+        );
+    }
+
+    /** The most recent join to the group, or {@code null} if no member has a join time. */
+    public ApiFuture<GroupJoin> findLatestJoin(String groupId) {
+        ScanRequest request = ScanRequest.builder()
+                .collection(members(groupId))
+                .orderBy(JOINED_AT)
+                .descending(true)
+                .limit(1)
+                .select(List.of(JOINED_AT))
+                .build();
+        return ApiFutures.transform(
+                store.scan(request),
+                documents -> documents.isEmpty() ? null : join(documents.get(0)),
+                callbackExecutor
+        );
+    }
+
+    /** Up to {@code max} joins after {@code after} (all joins if {@code null}), oldest first. */
+    public ApiFuture<List<GroupJoin>> findJoinsAfter(String groupId, GroupJoin after, int max) {
+        ScanRequest request = ScanRequest.builder()
+                .collection(members(groupId))
+                .orderBy(JOINED_AT)
+                .descending(false)
+                .startAfterValue(after == null ? null : after.joinedAt())
+                .startAfterId(after == null ? null : after.memberId())
+                .limit(max)
+                .select(List.of(JOINED_AT))
+                .build();
+        return ApiFutures.transform(
+                store.scan(request),
+                documents -> {
+                    List<GroupJoin> joins = new ArrayList<>(documents.size());
+                    for (StoredDocument document : documents) {
+                        joins.add(join(document));
+                    }
+                    return joins;
+                },
+                callbackExecutor
+        );
+    }
+
+    /** The subset of {@code candidateIds} that are friends of {@code uid}, in one batched read. */
+    public ApiFuture<List<String>> filterFriends(String uid, List<String> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return ApiFutures.immediateFuture(List.of());
+        }
+        return ApiFutures.transform(
+                store.getAll(friends(uid), candidateIds),
+                documents -> {
+                    List<String> friendIds = new ArrayList<>();
+                    for (int i = 0; i < documents.size(); i++) {
+                        if (documents.get(i) != null) {
+                            friendIds.add(candidateIds.get(i));
+                        }
+                    }
+                    return friendIds;
+                },
+                callbackExecutor
+        );
+    }
+
+    /**
+     * Ids of up to {@code max} groups {@code uid} belongs to, in one collection-group query over the
+     * {@code userId} field every member document carries.
+     */
+    public ApiFuture<List<String>> findGroupIds(String uid, int max) {
+        ScanRequest request = ScanRequest.builder()
+                .collection(MEMBERS)
+                .collectionGroup(true)
+                .equalTo(Map.of("userId", uid))
+                .limit(max)
+                .select(List.of(GROUP_ID))
+                .build();
+        return ApiFutures.transform(
+                store.scan(request),
+                documents -> {
+                    List<String> groupIds = new ArrayList<>(documents.size());
+                    for (StoredDocument document : documents) {
+                        Object groupId = document.getData().get(GROUP_ID);
+                        if (groupId instanceof String id) {
+                            groupIds.add(id);
+                        }
+                    }
+                    return groupIds;
+                },
+                callbackExecutor
+        );
+    }
+
+    /**
+     * The subset of {@code groupIds} that {@code uid} is a member of. Reads the reader's own memberships
+     * once and intersects, so the cost does not grow with the number of candidate groups.
+     */
+    public ApiFuture<List<String>> filterGroupMemberships(String uid, List<String> groupIds) {
+        if (groupIds.isEmpty()) {
+            return ApiFutures.immediateFuture(List.of());
+        }
+        return ApiFutures.transform(
+                findGroupIds(uid, MAX_MEMBERSHIPS),
+                memberOf -> {
+                    Set<String> member = new HashSet<>(memberOf);
+                    List<String> matching = new ArrayList<>();
+                    for (String groupId : groupIds) {
+                        if (member.contains(groupId)) {
+                            matching.add(groupId);
+                        }
+                    }
+                    return matching;
+                },
+                callbackExecutor
+        );
+    }
+
+    private static GroupJoin join(StoredDocument document) {
+        return new GroupJoin(document.getId(), document.getData().get(JOINED_AT));
+    }
+
+    private static String friends(String uid) {
+        return "users/" + uid + "/friends";
+    }
+
+    private static String members(String groupId) {
+        return GROUPS + "/" + groupId + "/" + MEMBERS;
+    }
+
+    // Pages through the collection in id order with an empty field mask
+    private ApiFuture<List<String>> collectIds(String collection, Map<String, Object> equalTo, String startAfterId,
+                                               int max, List<String> ids) {
+        int pageSize = Math.min(ID_PAGE_SIZE, max - ids.size());
+        ScanRequest request = ScanRequest.builder()
+                .collection(collection)
+                .equalTo(equalTo)
+                .descending(false)
+                .startAfterId(startAfterId)
+                .limit(pageSize)
+                .select(List.of())
+                .build();
+        return ApiFutures.transformAsync(
+                store.scan(request),
+                documents -> {
+                    for (StoredDocument document : documents) {
+                        ids.add(document.getId());
+                    }
+                    if (documents.size() < pageSize || ids.size() >= max) {
+                        return ApiFutures.immediateFuture(ids);
+                    }
+                    return collectIds(collection, equalTo, ids.get(ids.size() - 1), max, ids);
+                },
+                callbackExecutor
+        );
+    }
+}
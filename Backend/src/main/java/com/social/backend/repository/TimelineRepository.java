@@ -0,0 +1,116 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.entity.TimelineItemEntity;
+import com.social.backend.repository.mapping.EntityMapper;
+import com.social.backend.repository.mapping.EntityMappers;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Per-user home timelines, one subcollection per user: {@code timelines/{uid}/items/{postId}}, and
+ * per-source outboxes holding every post of a user or group: {@code outboxes/{sourceKey}/items/{postId}}.
+ * Items are keyed by post id, so delivering the same post twice is harmless, and both are ordered
+ * by {@code (createdAt, postId)}, so one cursor position can resume any of them.
+ */
+@Repository
+public class TimelineRepository {
+
+    private static final String ORDER_BY = "createdAt";
+    // Firestore rejects commits with more than 500 writes
+    private static final int MAX_BATCH_WRITES = 500;
+
+    private final DocumentStore store;
+    private final Executor callbackExecutor;
+    private final EntityMapper<TimelineItemEntity> mapper = EntityMappers.forClass(TimelineItemEntity.class);
+
+    public TimelineRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor) {
+        this.store = store;
+        this.callbackExecutor = callbackExecutor.getExecutor();
+    }
+
+    static String collection(String uid) {
+        return "timelines/" + uid + "/items";
+    }
+
+    static String outbox(String sourceKey) {
+        return "outboxes/" + sourceKey + "/items";
+    }
+
+    /** Cursor that resumes any timeline or outbox right after {@code item}. */
+    public static String cursorAfter(TimelineItemEntity item) {
+        return PageCursor.encode(item.getCreatedAt(), item.getPostId());
+    }
+
+    /** Adds {@code item} to the timeline of every user in {@code uids}, in batches of at most 500 writes. */
+    public ApiFuture<Void> append(Collection<String> uids, TimelineItemEntity item) {
+        Map<String, Object> document = mapper.toDocument(item);
+        List<ApiFuture<Void>> commits = new ArrayList<>();
+        List<WriteOperation> batch = new ArrayList<>(Math.min(uids.size(), MAX_BATCH_WRITES));
+        for (String uid : uids) {
+            batch.add(WriteOperation.set(collection(uid), item.getPostId(), document));
+            if (batch.size() == MAX_BATCH_WRITES) {
+                commits.add(store.commit(batch));
+                batch = new ArrayList<>(MAX_BATCH_WRITES);
+            }
+        }
+        if (!batch.isEmpty()) {
+            commits.add(store.commit(batch));
+        }
+        return ApiFutures.transform(ApiFutures.allAsList(commits), results -> null, MoreExecutors.directExecutor());
+    }
+
+    public ApiFuture<Void> appendToOutbox(String sourceKey, TimelineItemEntity item) {
+        return store.set(outbox(sourceKey), item.getPostId(), mapper.toDocument(item));
+    }
+
+    /** Newest-first page of {@code uid}'s timeline, resuming after {@code cursor}. */
+    public ApiFuture<CursorPage<TimelineItemEntity>> findPage(String uid, String cursor, int limit) {
+        return findPageIn(collection(uid), cursor, limit);
+    }
+
+    /** Newest-first page of a source's outbox, resuming after {@code cursor}. */
+    public ApiFuture<CursorPage<TimelineItemEntity>> findOutboxPage(String sourceKey, String cursor, int limit) {
+        return findPageIn(outbox(sourceKey), cursor, limit);
+    }
+
+    private ApiFuture<CursorPage<TimelineItemEntity>> findPageIn(String collection, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, AbstractFirestoreRepository.MAX_PAGE_SIZE));
+        ScanRequest.ScanRequestBuilder request = ScanRequest.builder()
+                .collection(collection)
+                .orderBy(ORDER_BY)
+                .limit(pageSize);
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor position = PageCursor.decode(cursor);
+            request.startAfterValue(position.getValue()).startAfterId(position.getDocumentId());
+        }
+        return ApiFutures.transform(
+                store.scan(request.build()),
+                documents -> {
+                    List<TimelineItemEntity> items = new ArrayList<>(documents.size());
+                    for (StoredDocument document : documents) {
+                        items.add(mapper.fromDocument(document.getData()));
+                    }
+                    String nextCursor = null;
+                    if (documents.size() == pageSize) {
+                        StoredDocument last = documents.get(documents.size() - 1);
+                        nextCursor = PageCursor.encode(last.getData().get(ORDER_BY), last.getId());
+                    }
+                    return new CursorPage<>(items, nextCursor);
+                },
+                callbackExecutor
+        );
+    }
+}
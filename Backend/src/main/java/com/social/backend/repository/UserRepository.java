@@ -1,12 +1,13 @@
 package com.social.backend.repository;
 
-import com.google.cloud.firestore.Firestore;
 import com.social.backend.model.entity.UserEntity;
+import com.social.backend.repository.cache.EntityCacheManager;
+import com.social.backend.storage.DocumentStore;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class UserRepository extends AbstractFirestoreRepository<UserEntity> {
-    public UserRepository(Firestore firestore) {
-        super(firestore, "users", UserEntity.class);
+    public UserRepository(DocumentStore store, FirestoreCallbackExecutor callbackExecutor, EntityCacheManager cacheManager) {
+        super(store, callbackExecutor, "users", UserEntity.class, cacheManager.getCache("users"));
     }
 }
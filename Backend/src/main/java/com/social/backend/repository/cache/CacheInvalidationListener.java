@@ -0,0 +1,89 @@
+package com.social.backend.repository.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every entity cache in step with its collection through a {@link ChangeFeed}.
+ * A cache only serves hits while its feed is synced; if the feed breaks, the cache is cleared
+ * and bypassed until the re-created subscription has caught up again. Writes of other backend
+ * nodes are therefore seen within listener latency; writes the feed cannot see (clients writing
+ * to Firestore directly) are bounded by the collection's TTL.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final EntityCacheManager cacheManager;
+    private final ObjectProvider<ChangeFeed> changeFeed;
+    private final long resubscribeDelayMillis;
+    private final Map<String, ChangeFeed.Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CacheInvalidationListener(EntityCacheManager cacheManager, ObjectProvider<ChangeFeed> changeFeed,
+                                     @Value("${app.cache.invalidation.resubscribe-delay-ms:5000}") long resubscribeDelayMillis) {
+        this.cacheManager = cacheManager;
+        this.changeFeed = changeFeed;
+        this.resubscribeDelayMillis = resubscribeDelayMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed == null) {
+            log.info("No change feed configured, entity caches rely on TTL expiry only");
+            return;
+        }
+        cacheManager.getCaches().forEach((collection, cache) -> subscribe(feed, collection, cache));
+    }
+
+    private void subscribe(ChangeFeed feed, String collection, CaffeineEntityCache<?> cache) {
+        cache.setActive(false);
+        subscriptions.put(collection, feed.subscribe(collection, new ChangeFeed.ChangeListener() {
+            @Override
+            public void onSynced() {
+                cache.setActive(true);
+            }
+
+            @Override
+            public void onChange(String documentId) {
+                cache.invalidate(documentId);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                log.warn("Change feed for {} failed, bypassing its cache until resubscribed: {}",
+                        collection, error.getMessage());
+                cache.setActive(false);
+                cache.invalidateAll();
+                subscriptions.remove(collection);
+                scheduler.schedule(() -> subscribe(feed, collection, cache),
+                        resubscribeDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        subscriptions.values().forEach(ChangeFeed.Subscription::close);
+        subscriptions.clear();
+    }
+}
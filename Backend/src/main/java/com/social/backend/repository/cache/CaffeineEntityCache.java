@@ -0,0 +1,53 @@
+package com.social.backend.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Puts and invalidations of one id run under Caffeine's per-key compute lock, so an invalidation
+ * either lands after a put (and removes it) or before it (and the put sees the new generation).
+ */
+public class CaffeineEntityCache<T> implements EntityCache<T> {
+
+    private final Cache<String, T> cache;
+    private final InvalidationGenerations generations = new InvalidationGenerations();
+    private volatile boolean active = true;
+
+    public CaffeineEntityCache(Cache<String, T> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public T getIfPresent(String id) {
+        return active ? cache.getIfPresent(id) : null;
+    }
+
+    @Override
+    public long generation(String id) {
+        return generations.get(id);
+    }
+
+    @Override
+    public void put(String id, T entity, long generation) {
+        if (active) {
+            cache.asMap().compute(id, (key, current) -> generations.get(key) == generation ? entity : current);
+        }
+    }
+
+    @Override
+    public void invalidate(String id) {
+        cache.asMap().compute(id, (key, current) -> {
+            generations.advance(key);
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        generations.advanceAll();
+        cache.invalidateAll();
+    }
+
+    /** An inactive cache misses every lookup and ignores puts. */
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
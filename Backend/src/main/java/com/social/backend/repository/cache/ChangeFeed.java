@@ -0,0 +1,43 @@
+package com.social.backend.repository.cache;
+
+import java.util.Map;
+
+/**
+ * Stream of document changes for a collection, used to evict cache entries that were changed by
+ * another backend node. Only changes that stamp {@value #UPDATED_AT} (or leave a tombstone in
+ * {@value #DELETIONS}) are seen, as the change-tracked repositories do. The Android app writes
+ * users, groups and posts directly without either, so {@link #subscribe} never sees those writes;
+ * caches of such collections rely on a short TTL for them.
+ */
+public interface ChangeFeed {
+
+    /** Write time stamped on every document of a change-tracked collection. */
+    String UPDATED_AT = "updatedAt";
+
+    /** Tombstones ({@code collection}, {@code documentId}, {@value #UPDATED_AT}) of deleted documents. */
+    String DELETIONS = "deletions";
+
+    Subscription subscribe(String collectionName, ChangeListener listener);
+
+    /**
+     * Every document of the collection whose fields equal {@code equalTo}, however old, including
+     * documents written without {@value #UPDATED_AT}. A document leaving the filter is a change too.
+     * Syncing reads the whole filtered set, so this is only for small sets.
+     */
+    Subscription subscribeAll(String collectionName, Map<String, Object> equalTo, ChangeListener listener);
+
+    interface ChangeListener {
+
+        /** The feed has caught up with the current state; every later change is delivered. */
+        void onSynced();
+
+        void onChange(String documentId);
+
+        /** The subscription is dead after this call and has to be re-created. */
+        void onError(Throwable error);
+    }
+
+    interface Subscription {
+        void close();
+    }
+}
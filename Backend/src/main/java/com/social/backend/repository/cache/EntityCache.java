@@ -0,0 +1,25 @@
+package com.social.backend.repository.cache;
+
+/**
+ * Per-collection cache consulted by {@code AbstractFirestoreRepository.findById}.
+ * Cached entities are shared between requests and must not be mutated by callers.
+ */
+public interface EntityCache<T> {
+
+    T getIfPresent(String id);
+
+    /**
+     * Changes whenever {@code id} is invalidated. Read it before loading an entity from the store and
+     * pass it to {@link #put}, so a load that overlapped a write is never cached.
+     */
+    long generation(String id);
+
+    /** Caches {@code entity} only if {@code id} has not been invalidated since {@code generation} was read. */
+    void put(String id, T entity, long generation);
+
+    void invalidate(String id);
+
+    static <T> EntityCache<T> none() {
+        return new NoOpEntityCache<>();
+    }
+}
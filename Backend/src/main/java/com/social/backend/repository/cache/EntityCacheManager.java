@@ -0,0 +1,52 @@
+package com.social.backend.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the per-collection entity caches. Caffeine's W-TinyLFU policy evicts by estimated
+ * size in bytes, and hit/miss/eviction counts are published as {@code cache.*} metrics
+ * tagged with the collection name.
+ */
+@Component
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheManager {
+
+    private final EntityCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CaffeineEntityCache<?>> caches = new ConcurrentHashMap<>();
+
+    public EntityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> EntityCache<T> getCache(String collectionName) {
+        EntityCacheProperties.CollectionSettings settings = properties.getCollections().get(collectionName);
+        if (!properties.isEnabled() || settings == null) {
+            return EntityCache.none();
+        }
+        Cache<String, T> cache = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaxWeightBytes())
+                .weigher((String id, T entity) -> EntitySizeEstimator.estimate(id) + EntitySizeEstimator.estimate(entity))
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, collectionName);
+        CaffeineEntityCache<T> entityCache = new CaffeineEntityCache<>(cache);
+        caches.put(collectionName, entityCache);
+        return entityCache;
+    }
+
+    public Map<String, CaffeineEntityCache<?>> getCaches() {
+        return Collections.unmodifiableMap(caches);
+    }
+}
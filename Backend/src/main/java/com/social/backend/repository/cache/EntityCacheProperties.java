@@ -0,0 +1,25 @@
+package com.social.backend.repository.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class EntityCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Keyed by Firestore collection name; collections without an entry are not cached. */
+    private Map<String, CollectionSettings> collections = new HashMap<>();
+
+    @Data
+    public static class CollectionSettings {
+        /** Also bounds staleness after writes the change feed cannot see, such as the Android app's. */
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxWeightBytes = 16L * 1024 * 1024;
+    }
+}
@@ -0,0 +1,90 @@
+package com.social.backend.repository.cache;
+
+import com.google.cloud.Timestamp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rough retained-size estimate for cache weighing. It only needs to be proportionate, not exact:
+ * 64-bit JVM with compressed oops, 16-byte headers, Latin-1 strings.
+ */
+final class EntitySizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private EntitySizeEstimator() {
+    }
+
+    static int estimate(Object value) {
+        long size = sizeOf(value, 0);
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long sizeOf(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return OBJECT_HEADER + 8 + OBJECT_HEADER + string.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Timestamp) {
+            return OBJECT_HEADER + 16;
+        }
+        if (depth > 4) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_HEADER + 16 + (long) collection.size() * REFERENCE;
+            for (Object element : collection) {
+                size += sizeOf(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_HEADER + 32 + (long) map.size() * 32;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        long size = OBJECT_HEADER;
+        for (Field field : fieldsOf(value.getClass())) {
+            if (field.getType().isPrimitive()) {
+                size += 8;
+                continue;
+            }
+            size += REFERENCE;
+            try {
+                size += sizeOf(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                // Not fatal for an estimate
+            }
+        }
+        return size;
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, clazz -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields;
+        });
+    }
+}
@@ -0,0 +1,257 @@
+package com.social.backend.repository.cache;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Listens to the documents of a collection written since the subscription started
+ * ({@value ChangeFeed#UPDATED_AT} after the start time, less {@code clockSkew} to allow for node
+ * clocks), plus its tombstones in {@value ChangeFeed#DELETIONS}. The first snapshot therefore
+ * holds only recent writes instead of the whole collection, and only marks the feed as synced.
+ *
+ * <p>Everything written since the start stays in the listener's result set, so every
+ * {@code window} the subscription re-creates its listeners with a later start time and drops the
+ * old ones once the new ones are synced. Changes seen by both during the overlap are delivered twice.
+ * The tombstone query needs a composite index on {@code collection} and {@value ChangeFeed#UPDATED_AT}.
+ *
+ * <p>{@link #subscribeAll} is one plain listener on the filtered query, kept for the subscription's lifetime.
+ */
+public class FirestoreChangeFeed implements ChangeFeed {
+
+    private final Firestore firestore;
+    private final Duration clockSkew;
+    private final Duration window;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-window");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FirestoreChangeFeed(Firestore firestore, Duration clockSkew, Duration window) {
+        this.firestore = firestore;
+        this.clockSkew = clockSkew;
+        this.window = window;
+    }
+
+    @Override
+    public Subscription subscribe(String collectionName, ChangeListener listener) {
+        RollingSubscription subscription = new RollingSubscription(collectionName, listener);
+        subscription.open();
+        return subscription;
+    }
+
+    @Override
+    public Subscription subscribeAll(String collectionName, Map<String, Object> equalTo, ChangeListener listener) {
+        Query query = firestore.collection(collectionName);
+        for (Map.Entry<String, Object> filter : equalTo.entrySet()) {
+            query = query.whereEqualTo(filter.getKey(), filter.getValue());
+        }
+        // The first snapshot is the current state and only syncs; callbacks never overlap
+        boolean[] synced = new boolean[1];
+        AtomicBoolean failed = new AtomicBoolean();
+        ListenerRegistration registration = query.addSnapshotListener(MoreExecutors.directExecutor(), (snapshot, error) -> {
+            if (error != null) {
+                if (failed.compareAndSet(false, true)) {
+                    listener.onError(error);
+                }
+            } else if (snapshot != null && !failed.get()) {
+                if (!synced[0]) {
+                    synced[0] = true;
+                    listener.onSynced();
+                    return;
+                }
+                for (DocumentChange change : snapshot.getDocumentChanges()) {
+                    listener.onChange(change.getDocument().getId());
+                }
+            }
+        });
+        return () -> {
+            failed.set(true);
+            registration.remove();
+        };
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private final class RollingSubscription implements Subscription {
+
+        private final String collectionName;
+        private final ChangeListener listener;
+        // Guarded by this
+        private Listeners current;
+        private Listeners next;
+        private ScheduledFuture<?> roll;
+        private boolean closed;
+
+        private RollingSubscription(String collectionName, ChangeListener listener) {
+            this.collectionName = collectionName;
+            this.listener = listener;
+        }
+
+        private synchronized void open() {
+            if (closed) {
+                return;
+            }
+            Listeners listeners = new Listeners(this);
+            if (current == null) {
+                current = listeners;
+            } else {
+                next = listeners;
+            }
+            listeners.register();
+        }
+
+        private void synced(Listeners listeners) {
+            boolean first;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                first = listeners == current;
+                if (!first) {
+                    if (listeners != next) {
+                        return;
+                    }
+                    current.remove();
+                    current = next;
+                    next = null;
+                }
+                roll = scheduler.schedule(this::open, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            if (first) {
+                listener.onSynced();
+            }
+        }
+
+        private void changed(Listeners listeners, String documentId) {
+            synchronized (this) {
+                if (closed || (listeners != current && listeners != next)) {
+                    return;
+                }
+            }
+            listener.onChange(documentId);
+        }
+
+        private void failed(Throwable error) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                close();
+            }
+            listener.onError(error);
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            if (roll != null) {
+                roll.cancel(false);
+            }
+            if (current != null) {
+                current.remove();
+            }
+            if (next != null) {
+                next.remove();
+            }
+        }
+    }
+
+    /** The pair of listeners (documents, tombstones) of one window. */
+    private final class Listeners {
+
+        private final RollingSubscription subscription;
+        private final Timestamp since;
+        private ListenerRegistration documents;
+        private ListenerRegistration tombstones;
+        // Each flag is only touched by its own listener's callbacks, which never overlap
+        private boolean documentsSeen;
+        private boolean tombstonesSeen;
+        private int syncedQueries;
+
+        private Listeners(RollingSubscription subscription) {
+            this.subscription = subscription;
+            Timestamp now = Timestamp.now();
+            this.since = Timestamp.ofTimeSecondsAndNanos(now.getSeconds() - clockSkew.toSeconds(), now.getNanos());
+        }
+
+        private void register() {
+            Query changed = firestore.collection(subscription.collectionName)
+                    .whereGreaterThan(UPDATED_AT, since);
+            Query deleted = firestore.collection(DELETIONS)
+                    .whereEqualTo("collection", subscription.collectionName)
+                    .whereGreaterThan(UPDATED_AT, since);
+            documents = changed.addSnapshotListener(MoreExecutors.directExecutor(), (snapshot, error) -> {
+                if (error != null) {
+                    subscription.failed(error);
+                } else if (snapshot != null) {
+                    onDocuments(snapshot);
+                }
+            });
+            tombstones = deleted.addSnapshotListener(MoreExecutors.directExecutor(), (snapshot, error) -> {
+                if (error != null) {
+                    subscription.failed(error);
+                } else if (snapshot != null) {
+                    onTombstones(snapshot);
+                }
+            });
+        }
+
+        private void onDocuments(QuerySnapshot snapshot) {
+            if (!documentsSeen) {
+                documentsSeen = true;
+                if (markSynced()) {
+                    subscription.synced(this);
+                }
+                return;
+            }
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                subscription.changed(this, change.getDocument().getId());
+            }
+        }
+
+        private void onTombstones(QuerySnapshot snapshot) {
+            if (!tombstonesSeen) {
+                tombstonesSeen = true;
+                if (markSynced()) {
+                    subscription.synced(this);
+                }
+                return;
+            }
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                // Tombstones leaving the result set are TTL expiry, not changes
+                if (change.getType() == DocumentChange.Type.ADDED) {
+                    subscription.changed(this, change.getDocument().getString("documentId"));
+                }
+            }
+        }
+
+        private synchronized boolean markSynced() {
+            return ++syncedQueries == 2;
+        }
+
+        private void remove() {
+            if (documents != null) {
+                documents.remove();
+            }
+            if (tombstones != null) {
+                tombstones.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.social.backend.repository.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Change feed driven by explicit {@link #publish} calls, for running without Firestore.
+ * Subscribers are synced immediately.
+ */
+public class InMemoryChangeFeed implements ChangeFeed {
+
+    private final Map<String, List<ChangeListener>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public Subscription subscribe(String collectionName, ChangeListener listener) {
+        List<ChangeListener> collectionListeners =
+                listeners.computeIfAbsent(collectionName, key -> new CopyOnWriteArrayList<>());
+        collectionListeners.add(listener);
+        listener.onSynced();
+        return () -> collectionListeners.remove(listener);
+    }
+
+    /** Publishers only publish documents matching the filter, so this is a plain subscription. */
+    @Override
+    public Subscription subscribeAll(String collectionName, Map<String, Object> equalTo, ChangeListener listener) {
+        return subscribe(collectionName, listener);
+    }
+
+    public void publish(String collectionName, String documentId) {
+        for (ChangeListener listener : listeners.getOrDefault(collectionName, List.of())) {
+            listener.onChange(documentId);
+        }
+    }
+
+    /** Breaks every subscription on the collection, as a dropped Firestore listener would. */
+    public void fail(String collectionName, Throwable error) {
+        List<ChangeListener> broken = listeners.remove(collectionName);
+        if (broken != null) {
+            broken.forEach(listener -> listener.onError(error));
+        }
+    }
+}
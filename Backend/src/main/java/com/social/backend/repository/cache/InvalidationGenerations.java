@@ -0,0 +1,33 @@
+package com.social.backend.repository.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Invalidation counters for cache keys, striped by hash so memory stays fixed however many ids pass
+ * through. Keys sharing a stripe also share invalidations, which only costs the occasional extra miss.
+ */
+final class InvalidationGenerations {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    long get(String id) {
+        return generations.get(stripe(id));
+    }
+
+    void advance(String id) {
+        generations.incrementAndGet(stripe(id));
+    }
+
+    void advanceAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,29 @@
+package com.social.backend.repository.cache;
+
+/**
+ * Caches nothing, but still tracks invalidations so a repository without a cache can tell reads
+ * that started before a write from reads that started after it.
+ */
+final class NoOpEntityCache<T> implements EntityCache<T> {
+
+    private final InvalidationGenerations generations = new InvalidationGenerations();
+
+    @Override
+    public T getIfPresent(String id) {
+        return null;
+    }
+
+    @Override
+    public long generation(String id) {
+        return generations.get(id);
+    }
+
+    @Override
+    public void put(String id, T entity, long generation) {
+    }
+
+    @Override
+    public void invalidate(String id) {
+        generations.advance(id);
+    }
+}
@@ -0,0 +1,49 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.CommentEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.boxedLong;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class CommentEntityMapper implements EntityMapper<CommentEntity> {
+
+    @Override
+    public CommentEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        CommentEntity comment = new CommentEntity();
+        comment.setId(string(document, "id", null));
+        comment.setPostId(string(document, "postId", null));
+        comment.setAuthorId(string(document, "authorId", null));
+        comment.setAuthorName(string(document, "authorName", null));
+        comment.setAuthorAvatarUrl(string(document, "authorAvatarUrl", null));
+        comment.setText(string(document, "text", null));
+        comment.setCreatedAt(timestamp(document, "createdAt"));
+        comment.setReplyToId(string(document, "replyToId", null));
+        comment.setReplyCount(boxedLong(document, "replyCount"));
+        comment.setHidden(bool(document, "hidden", false));
+        return comment;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(CommentEntity comment) {
+        Map<String, Object> document = new LinkedHashMap<>(16);
+        document.put("id", comment.getId());
+        document.put("postId", comment.getPostId());
+        document.put("authorId", comment.getAuthorId());
+        document.put("authorName", comment.getAuthorName());
+        document.put("authorAvatarUrl", comment.getAuthorAvatarUrl());
+        document.put("text", comment.getText());
+        document.put("createdAt", comment.getCreatedAt());
+        document.put("replyToId", comment.getReplyToId());
+        document.put("replyCount", comment.getReplyCount());
+        document.put("hidden", comment.isHidden());
+        return document;
+    }
+}
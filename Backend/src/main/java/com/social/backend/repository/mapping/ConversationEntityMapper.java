@@ -0,0 +1,89 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.ConversationEntity;
+import com.social.backend.model.entity.LastMessageEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.intValue;
+import static com.social.backend.repository.mapping.DocumentFields.list;
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.map;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class ConversationEntityMapper implements EntityMapper<ConversationEntity> {
+
+    @Override
+    public ConversationEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        ConversationEntity conversation = new ConversationEntity();
+        conversation.setId(string(document, "id", null));
+        conversation.setType(string(document, "type", conversation.getType()));
+        conversation.setName(string(document, "name", null));
+        conversation.setAvatarUrl(string(document, "avatarUrl", null));
+        conversation.setParticipantIds(list(document, "participantIds", conversation.getParticipantIds()));
+        conversation.setAdminIds(list(document, "adminIds", conversation.getAdminIds()));
+        conversation.setLastMessage(lastMessageFromDocument(map(document, "lastMessage", null)));
+        conversation.setUnreadCount(intValue(document, "unreadCount", 0));
+        conversation.setPinned(bool(document, "pinned", false));
+        conversation.setMuted(bool(document, "muted", false));
+        conversation.setPinnedMessageIds(list(document, "pinnedMessageIds", conversation.getPinnedMessageIds()));
+        conversation.setCreatorId(string(document, "creatorId", null));
+        conversation.setCreatedAt(timestamp(document, "createdAt"));
+        conversation.setUpdatedAt(timestamp(document, "updatedAt"));
+        return conversation;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(ConversationEntity conversation) {
+        Map<String, Object> document = new LinkedHashMap<>(24);
+        document.put("id", conversation.getId());
+        document.put("type", conversation.getType());
+        document.put("name", conversation.getName());
+        document.put("avatarUrl", conversation.getAvatarUrl());
+        document.put("participantIds", conversation.getParticipantIds());
+        document.put("adminIds", conversation.getAdminIds());
+        document.put("lastMessage", lastMessageToDocument(conversation.getLastMessage()));
+        document.put("unreadCount", conversation.getUnreadCount());
+        document.put("pinned", conversation.isPinned());
+        document.put("muted", conversation.isMuted());
+        document.put("pinnedMessageIds", conversation.getPinnedMessageIds());
+        document.put("creatorId", conversation.getCreatorId());
+        document.put("createdAt", conversation.getCreatedAt());
+        document.put("updatedAt", conversation.getUpdatedAt());
+        return document;
+    }
+
+    private static LastMessageEntity lastMessageFromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        LastMessageEntity lastMessage = new LastMessageEntity();
+        lastMessage.setText(string(document, "text", null));
+        lastMessage.setType(string(document, "type", lastMessage.getType()));
+        lastMessage.setSenderId(string(document, "senderId", null));
+        lastMessage.setSenderName(string(document, "senderName", null));
+        lastMessage.setSequenceId(longValue(document, "sequenceId", 0));
+        lastMessage.setTimestamp(timestamp(document, "timestamp"));
+        return lastMessage;
+    }
+
+    private static Map<String, Object> lastMessageToDocument(LastMessageEntity lastMessage) {
+        if (lastMessage == null) {
+            return null;
+        }
+        Map<String, Object> document = new LinkedHashMap<>(8);
+        document.put("text", lastMessage.getText());
+        document.put("type", lastMessage.getType());
+        document.put("senderId", lastMessage.getSenderId());
+        document.put("senderName", lastMessage.getSenderName());
+        document.put("sequenceId", lastMessage.getSequenceId());
+        document.put("timestamp", lastMessage.getTimestamp());
+        return document;
+    }
+}
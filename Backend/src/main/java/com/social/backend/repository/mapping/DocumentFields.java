@@ -0,0 +1,63 @@
+package com.social.backend.repository.mapping;
+
+import com.google.cloud.Timestamp;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed field reads for the explicit mappers. A missing or {@code null} field yields
+ * {@code fallback}, so builder defaults survive documents written before a field existed.
+ * Lists and maps are handed over as-is rather than copied.
+ */
+final class DocumentFields {
+
+    private DocumentFields() {
+    }
+
+    static String string(Map<String, Object> document, String field, String fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : (String) value;
+    }
+
+    static long longValue(Map<String, Object> document, String field, long fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : ((Number) value).longValue();
+    }
+
+    static int intValue(Map<String, Object> document, String field, int fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : ((Number) value).intValue();
+    }
+
+    static Long boxedLong(Map<String, Object> document, String field) {
+        Object value = document.get(field);
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    static Integer boxedInt(Map<String, Object> document, String field) {
+        Object value = document.get(field);
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    static boolean bool(Map<String, Object> document, String field, boolean fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : (Boolean) value;
+    }
+
+    static Timestamp timestamp(Map<String, Object> document, String field) {
+        return (Timestamp) document.get(field);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> List<E> list(Map<String, Object> document, String field, List<E> fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : (List<E>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> Map<String, V> map(Map<String, Object> document, String field, Map<String, V> fallback) {
+        Object value = document.get(field);
+        return value == null ? fallback : (Map<String, V>) value;
+    }
+}
@@ -0,0 +1,15 @@
+package com.social.backend.repository.mapping;
+
+import java.util.Map;
+
+/**
+ * Converts between an entity class and the document map handed to the storage engine. Field names
+ * follow the Firestore client's bean conventions (a Lombok {@code boolean isRead} is stored as
+ * {@code "read"}), so documents written through either path read back the same.
+ */
+public interface EntityMapper<T> {
+
+    T fromDocument(Map<String, Object> document);
+
+    Map<String, Object> toDocument(T entity);
+}
@@ -0,0 +1,69 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.dto.response.GroupSummary;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.dto.response.ReportSummary;
+import com.social.backend.model.entity.CommentEntity;
+import com.social.backend.model.entity.ConversationEntity;
+import com.social.backend.model.entity.FeedSourceEntity;
+import com.social.backend.model.entity.GroupEntity;
+import com.social.backend.model.entity.MessageEntity;
+import com.social.backend.model.entity.NotificationEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.model.entity.ReportEntity;
+import com.social.backend.model.entity.TimelineItemEntity;
+import com.social.backend.model.entity.UserEntity;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mapper lookup. Stored entities and list projections have explicit field-by-field mappers;
+ * anything else falls back to {@link JacksonEntityMapper}.
+ */
+public final class EntityMappers {
+
+    private static final Map<Class<?>, EntityMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+
+    static {
+        MAPPERS.put(PostEntity.class, new PostEntityMapper());
+        MAPPERS.put(UserEntity.class, new UserEntityMapper());
+        MAPPERS.put(GroupEntity.class, new GroupEntityMapper());
+        MAPPERS.put(CommentEntity.class, new CommentEntityMapper());
+        MAPPERS.put(MessageEntity.class, new MessageEntityMapper());
+        MAPPERS.put(ConversationEntity.class, new ConversationEntityMapper());
+        MAPPERS.put(NotificationEntity.class, new NotificationEntityMapper());
+        MAPPERS.put(ReportEntity.class, new ReportEntityMapper());
+        MAPPERS.put(TimelineItemEntity.class, new TimelineItemEntityMapper());
+        MAPPERS.put(FeedSourceEntity.class, new FeedSourceEntityMapper());
+        MAPPERS.put(PostSummary.class, new PostSummaryMapper());
+        MAPPERS.put(GroupSummary.class, new GroupSummaryMapper());
+        MAPPERS.put(ReportSummary.class, new ReportSummaryMapper());
+    }
+
+    private EntityMappers() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMapper<T> forClass(Class<T> clazz) {
+        return (EntityMapper<T>) MAPPERS.computeIfAbsent(clazz, JacksonEntityMapper::new);
+    }
+
+    /** Classes with an explicit mapper, which has to stay in step with the class's fields. */
+    static Set<Class<?>> explicitlyMapped() {
+        Set<Class<?>> classes = new HashSet<>();
+        MAPPERS.forEach((clazz, mapper) -> {
+            if (!(mapper instanceof JacksonEntityMapper)) {
+                classes.add(clazz);
+            }
+        });
+        return classes;
+    }
+
+    /** The bean-convention mapper, regardless of any explicit one; kept for comparison benchmarks and tests. */
+    public static <T> EntityMapper<T> reflective(Class<T> clazz) {
+        return new JacksonEntityMapper<>(clazz);
+    }
+}
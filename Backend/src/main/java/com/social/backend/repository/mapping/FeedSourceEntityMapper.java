@@ -0,0 +1,38 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.FeedSourceEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class FeedSourceEntityMapper implements EntityMapper<FeedSourceEntity> {
+
+    @Override
+    public FeedSourceEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        return new FeedSourceEntity(
+                string(document, "sourceKey", null),
+                string(document, "type", null),
+                string(document, "sourceId", null),
+                longValue(document, "audienceSize", 0),
+                timestamp(document, "classifiedAt")
+        );
+    }
+
+    @Override
+    public Map<String, Object> toDocument(FeedSourceEntity source) {
+        Map<String, Object> document = new LinkedHashMap<>(8);
+        document.put("sourceKey", source.getSourceKey());
+        document.put("type", source.getType());
+        document.put("sourceId", source.getSourceId());
+        document.put("audienceSize", source.getAudienceSize());
+        document.put("classifiedAt", source.getClassifiedAt());
+        return document;
+    }
+}
@@ -0,0 +1,53 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.GroupEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class GroupEntityMapper implements EntityMapper<GroupEntity> {
+
+    @Override
+    public GroupEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        GroupEntity group = new GroupEntity();
+        group.setId(string(document, "id", null));
+        group.setName(string(document, "name", null));
+        group.setDescription(string(document, "description", null));
+        group.setAvatarUrl(string(document, "avatarUrl", null));
+        group.setCoverUrl(string(document, "coverUrl", null));
+        group.setOwnerId(string(document, "ownerId", null));
+        group.setPrivacy(string(document, "privacy", group.getPrivacy()));
+        group.setPostingPermission(string(document, "postingPermission", group.getPostingPermission()));
+        group.setRequirePostApproval(bool(document, "requirePostApproval", false));
+        group.setMemberCount(longValue(document, "memberCount", 0));
+        group.setCreatedAt(timestamp(document, "createdAt"));
+        group.setStatus(string(document, "status", group.getStatus()));
+        return group;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(GroupEntity group) {
+        Map<String, Object> document = new LinkedHashMap<>(24);
+        document.put("id", group.getId());
+        document.put("name", group.getName());
+        document.put("description", group.getDescription());
+        document.put("avatarUrl", group.getAvatarUrl());
+        document.put("coverUrl", group.getCoverUrl());
+        document.put("ownerId", group.getOwnerId());
+        document.put("privacy", group.getPrivacy());
+        document.put("postingPermission", group.getPostingPermission());
+        document.put("requirePostApproval", group.isRequirePostApproval());
+        document.put("memberCount", group.getMemberCount());
+        document.put("createdAt", group.getCreatedAt());
+        document.put("status", group.getStatus());
+        return document;
+    }
+}
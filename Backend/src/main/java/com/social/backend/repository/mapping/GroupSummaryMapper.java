@@ -0,0 +1,37 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.dto.response.GroupSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+
+final class GroupSummaryMapper implements EntityMapper<GroupSummary> {
+
+    @Override
+    public GroupSummary fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        return new GroupSummary(
+                string(document, "id", null),
+                string(document, "name", null),
+                string(document, "avatarUrl", null),
+                string(document, "privacy", null),
+                longValue(document, "memberCount", 0)
+        );
+    }
+
+    @Override
+    public Map<String, Object> toDocument(GroupSummary group) {
+        Map<String, Object> document = new LinkedHashMap<>(8);
+        document.put("id", group.getId());
+        document.put("name", group.getName());
+        document.put("avatarUrl", group.getAvatarUrl());
+        document.put("privacy", group.getPrivacy());
+        document.put("memberCount", group.getMemberCount());
+        return document;
+    }
+}
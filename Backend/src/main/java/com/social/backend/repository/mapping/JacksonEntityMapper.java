@@ -0,0 +1,66 @@
+package com.social.backend.repository.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.cloud.Timestamp;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bean-convention mapper for classes without an explicit {@link EntityMapper}. Timestamps pass
+ * through as embedded objects so the document keeps the {@link Timestamp} value.
+ */
+class JacksonEntityMapper<T> implements EntityMapper<T> {
+
+    private static final TypeReference<Map<String, Object>> DOCUMENT = new TypeReference<>() {
+    };
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .registerModule(new SimpleModule()
+                    .addSerializer(Timestamp.class, new TimestampSerializer())
+                    .addDeserializer(Timestamp.class, new TimestampDeserializer()));
+
+    private final Class<T> clazz;
+
+    JacksonEntityMapper(Class<T> clazz) {
+        this.clazz = clazz;
+    }
+
+    @Override
+    public T fromDocument(Map<String, Object> document) {
+        return document == null ? null : MAPPER.convertValue(document, clazz);
+    }
+
+    @Override
+    public Map<String, Object> toDocument(T entity) {
+        return MAPPER.convertValue(entity, DOCUMENT);
+    }
+
+    private static final class TimestampSerializer extends JsonSerializer<Timestamp> {
+        @Override
+        public void serialize(Timestamp value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeEmbeddedObject(value);
+        }
+    }
+
+    private static final class TimestampDeserializer extends JsonDeserializer<Timestamp> {
+        @Override
+        public Timestamp deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT && p.getEmbeddedObject() instanceof Timestamp timestamp) {
+                return timestamp;
+            }
+            return (Timestamp) ctxt.handleUnexpectedToken(Timestamp.class, p);
+        }
+    }
+}
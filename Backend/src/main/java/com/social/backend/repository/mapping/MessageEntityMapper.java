@@ -0,0 +1,71 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.MessageEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.boxedInt;
+import static com.social.backend.repository.mapping.DocumentFields.boxedLong;
+import static com.social.backend.repository.mapping.DocumentFields.list;
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.map;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class MessageEntityMapper implements EntityMapper<MessageEntity> {
+
+    @Override
+    public MessageEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        MessageEntity message = new MessageEntity();
+        message.setId(string(document, "id", null));
+        message.setConversationId(string(document, "conversationId", null));
+        message.setSequenceId(longValue(document, "sequenceId", 0));
+        message.setSenderId(string(document, "senderId", null));
+        message.setSenderName(string(document, "senderName", null));
+        message.setSenderAvatarUrl(string(document, "senderAvatarUrl", null));
+        message.setType(string(document, "type", message.getType()));
+        message.setContent(string(document, "content", null));
+        message.setMediaUrls(list(document, "mediaUrls", message.getMediaUrls()));
+        message.setFileName(string(document, "fileName", null));
+        message.setFileSize(boxedLong(document, "fileSize"));
+        message.setDuration(boxedInt(document, "duration"));
+        message.setReplyToMessageId(string(document, "replyToMessageId", null));
+        message.setReactions(map(document, "reactions", message.getReactions()));
+        message.setStatus(string(document, "status", message.getStatus()));
+        message.setDeliveredTo(list(document, "deliveredTo", message.getDeliveredTo()));
+        message.setSeenBy(list(document, "seenBy", message.getSeenBy()));
+        message.setRevoked(bool(document, "revoked", false));
+        message.setTimestamp(timestamp(document, "timestamp"));
+        return message;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(MessageEntity message) {
+        Map<String, Object> document = new LinkedHashMap<>(32);
+        document.put("id", message.getId());
+        document.put("conversationId", message.getConversationId());
+        document.put("sequenceId", message.getSequenceId());
+        document.put("senderId", message.getSenderId());
+        document.put("senderName", message.getSenderName());
+        document.put("senderAvatarUrl", message.getSenderAvatarUrl());
+        document.put("type", message.getType());
+        document.put("content", message.getContent());
+        document.put("mediaUrls", message.getMediaUrls());
+        document.put("fileName", message.getFileName());
+        document.put("fileSize", message.getFileSize());
+        document.put("duration", message.getDuration());
+        document.put("replyToMessageId", message.getReplyToMessageId());
+        document.put("reactions", message.getReactions());
+        document.put("status", message.getStatus());
+        document.put("deliveredTo", message.getDeliveredTo());
+        document.put("seenBy", message.getSeenBy());
+        document.put("revoked", message.isRevoked());
+        document.put("timestamp", message.getTimestamp());
+        return document;
+    }
+}
@@ -0,0 +1,45 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.NotificationEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.longValue;
+import static com.social.backend.repository.mapping.DocumentFields.map;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+
+final class NotificationEntityMapper implements EntityMapper<NotificationEntity> {
+
+    @Override
+    public NotificationEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        NotificationEntity notification = new NotificationEntity();
+        notification.setId(string(document, "id", null));
+        notification.setUserId(string(document, "userId", null));
+        notification.setType(string(document, "type", notification.getType()));
+        notification.setTitle(string(document, "title", null));
+        notification.setMessage(string(document, "message", null));
+        notification.setData(map(document, "data", notification.getData()));
+        notification.setRead(bool(document, "read", false));
+        notification.setCreatedAt(longValue(document, "createdAt", 0));
+        return notification;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(NotificationEntity notification) {
+        Map<String, Object> document = new LinkedHashMap<>(16);
+        document.put("id", notification.getId());
+        document.put("userId", notification.getUserId());
+        document.put("type", notification.getType());
+        document.put("title", notification.getTitle());
+        document.put("message", notification.getMessage());
+        document.put("data", notification.getData());
+        document.put("read", notification.isRead());
+        document.put("createdAt", notification.getCreatedAt());
+        return document;
+    }
+}
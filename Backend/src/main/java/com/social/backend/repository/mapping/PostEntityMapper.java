@@ -0,0 +1,56 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.PostEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.intValue;
+import static com.social.backend.repository.mapping.DocumentFields.list;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class PostEntityMapper implements EntityMapper<PostEntity> {
+
+    @Override
+    public PostEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        PostEntity post = new PostEntity();
+        post.setId(string(document, "id", null));
+        post.setAuthorId(string(document, "authorId", null));
+        post.setAuthorName(string(document, "authorName", null));
+        post.setAuthorAvatarUrl(string(document, "authorAvatarUrl", null));
+        post.setText(string(document, "text", null));
+        post.setMediaUrls(list(document, "mediaUrls", post.getMediaUrls()));
+        post.setLikeCount(intValue(document, "likeCount", 0));
+        post.setCommentCount(intValue(document, "commentCount", 0));
+        post.setCreatedAt(timestamp(document, "createdAt"));
+        post.setGroupId(string(document, "groupId", null));
+        post.setApprovalStatus(string(document, "approvalStatus", post.getApprovalStatus()));
+        post.setPinned(bool(document, "pinned", false));
+        post.setHidden(bool(document, "hidden", false));
+        return post;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(PostEntity post) {
+        Map<String, Object> document = new LinkedHashMap<>(24);
+        document.put("id", post.getId());
+        document.put("authorId", post.getAuthorId());
+        document.put("authorName", post.getAuthorName());
+        document.put("authorAvatarUrl", post.getAuthorAvatarUrl());
+        document.put("text", post.getText());
+        document.put("mediaUrls", post.getMediaUrls());
+        document.put("likeCount", post.getLikeCount());
+        document.put("commentCount", post.getCommentCount());
+        document.put("createdAt", post.getCreatedAt());
+        document.put("groupId", post.getGroupId());
+        document.put("approvalStatus", post.getApprovalStatus());
+        document.put("pinned", post.isPinned());
+        document.put("hidden", post.isHidden());
+        return document;
+    }
+}
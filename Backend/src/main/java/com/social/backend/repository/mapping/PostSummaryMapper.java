@@ -0,0 +1,53 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.dto.response.PostSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.intValue;
+import static com.social.backend.repository.mapping.DocumentFields.list;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class PostSummaryMapper implements EntityMapper<PostSummary> {
+
+    @Override
+    public PostSummary fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        return new PostSummary(
+                string(document, "id", null),
+                string(document, "authorId", null),
+                string(document, "authorName", null),
+                string(document, "authorAvatarUrl", null),
+                string(document, "text", null),
+                list(document, "mediaUrls", null),
+                intValue(document, "likeCount", 0),
+                intValue(document, "commentCount", 0),
+                timestamp(document, "createdAt"),
+                string(document, "groupId", null),
+                bool(document, "hidden", false),
+                string(document, "approvalStatus", null),
+                false
+        );
+    }
+
+    @Override
+    public Map<String, Object> toDocument(PostSummary post) {
+        Map<String, Object> document = new LinkedHashMap<>(16);
+        document.put("id", post.getId());
+        document.put("authorId", post.getAuthorId());
+        document.put("authorName", post.getAuthorName());
+        document.put("authorAvatarUrl", post.getAuthorAvatarUrl());
+        document.put("text", post.getText());
+        document.put("mediaUrls", post.getMediaUrls());
+        document.put("likeCount", post.getLikeCount());
+        document.put("commentCount", post.getCommentCount());
+        document.put("createdAt", post.getCreatedAt());
+        document.put("groupId", post.getGroupId());
+        return document;
+    }
+}
@@ -0,0 +1,49 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.ReportEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class ReportEntityMapper implements EntityMapper<ReportEntity> {
+
+    @Override
+    public ReportEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        ReportEntity report = new ReportEntity();
+        report.setId(string(document, "id", null));
+        report.setTargetId(string(document, "targetId", null));
+        report.setTargetType(string(document, "targetType", report.getTargetType()));
+        report.setReporterId(string(document, "reporterId", null));
+        report.setReporterName(string(document, "reporterName", null));
+        report.setAuthorId(string(document, "authorId", null));
+        report.setGroupId(string(document, "groupId", null));
+        report.setReason(string(document, "reason", null));
+        report.setDescription(string(document, "description", null));
+        report.setStatus(string(document, "status", report.getStatus()));
+        report.setCreatedAt(timestamp(document, "createdAt"));
+        return report;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(ReportEntity report) {
+        Map<String, Object> document = new LinkedHashMap<>(16);
+        document.put("id", report.getId());
+        document.put("targetId", report.getTargetId());
+        document.put("targetType", report.getTargetType());
+        document.put("reporterId", report.getReporterId());
+        document.put("reporterName", report.getReporterName());
+        document.put("authorId", report.getAuthorId());
+        document.put("groupId", report.getGroupId());
+        document.put("reason", report.getReason());
+        document.put("description", report.getDescription());
+        document.put("status", report.getStatus());
+        document.put("createdAt", report.getCreatedAt());
+        return document;
+    }
+}
@@ -0,0 +1,39 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.dto.response.ReportSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class ReportSummaryMapper implements EntityMapper<ReportSummary> {
+
+    @Override
+    public ReportSummary fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        return new ReportSummary(
+                string(document, "id", null),
+                string(document, "targetId", null),
+                string(document, "targetType", null),
+                string(document, "reason", null),
+                string(document, "status", null),
+                timestamp(document, "createdAt")
+        );
+    }
+
+    @Override
+    public Map<String, Object> toDocument(ReportSummary report) {
+        Map<String, Object> document = new LinkedHashMap<>(8);
+        document.put("id", report.getId());
+        document.put("targetId", report.getTargetId());
+        document.put("targetType", report.getTargetType());
+        document.put("reason", report.getReason());
+        document.put("status", report.getStatus());
+        document.put("createdAt", report.getCreatedAt());
+        return document;
+    }
+}
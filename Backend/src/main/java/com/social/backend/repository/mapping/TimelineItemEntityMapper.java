@@ -0,0 +1,35 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.TimelineItemEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class TimelineItemEntityMapper implements EntityMapper<TimelineItemEntity> {
+
+    @Override
+    public TimelineItemEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        return new TimelineItemEntity(
+                string(document, "postId", null),
+                string(document, "authorId", null),
+                string(document, "groupId", null),
+                timestamp(document, "createdAt")
+        );
+    }
+
+    @Override
+    public Map<String, Object> toDocument(TimelineItemEntity item) {
+        Map<String, Object> document = new LinkedHashMap<>(8);
+        document.put("postId", item.getPostId());
+        document.put("authorId", item.getAuthorId());
+        document.put("groupId", item.getGroupId());
+        document.put("createdAt", item.getCreatedAt());
+        return document;
+    }
+}
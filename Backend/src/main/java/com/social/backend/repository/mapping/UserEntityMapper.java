@@ -0,0 +1,50 @@
+package com.social.backend.repository.mapping;
+
+import com.social.backend.model.entity.UserEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.social.backend.repository.mapping.DocumentFields.bool;
+import static com.social.backend.repository.mapping.DocumentFields.string;
+import static com.social.backend.repository.mapping.DocumentFields.timestamp;
+
+final class UserEntityMapper implements EntityMapper<UserEntity> {
+
+    @Override
+    public UserEntity fromDocument(Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        UserEntity user = new UserEntity();
+        user.setUid(string(document, "uid", null));
+        user.setName(string(document, "name", null));
+        user.setEmail(string(document, "email", null));
+        user.setAvatarUrl(string(document, "avatarUrl", null));
+        user.setBio(string(document, "bio", null));
+        user.setFcmToken(string(document, "fcmToken", null));
+        user.setOnline(bool(document, "online", false));
+        user.setLastActive(timestamp(document, "lastActive"));
+        user.setCreatedAt(timestamp(document, "createdAt"));
+        user.setRole(string(document, "role", user.getRole()));
+        user.setStatus(string(document, "status", user.getStatus()));
+        return user;
+    }
+
+    @Override
+    public Map<String, Object> toDocument(UserEntity user) {
+        Map<String, Object> document = new LinkedHashMap<>(16);
+        document.put("uid", user.getUid());
+        document.put("name", user.getName());
+        document.put("email", user.getEmail());
+        document.put("avatarUrl", user.getAvatarUrl());
+        document.put("bio", user.getBio());
+        document.put("fcmToken", user.getFcmToken());
+        document.put("online", user.isOnline());
+        document.put("lastActive", user.getLastActive());
+        document.put("createdAt", user.getCreatedAt());
+        document.put("role", user.getRole());
+        document.put("status", user.getStatus());
+        return document;
+    }
+}
@@ -0,0 +1,35 @@
+package com.social.backend.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth")
+public class AuthProperties {
+
+    /** {@code firebase} (Admin SDK), {@code local} (in-process signature checks) or {@code fake} (loadtest profile only). */
+    private String verifier = "firebase";
+
+    /** Firebase project id, required by the local verifier to check {@code aud} and {@code iss}. */
+    private String projectId;
+
+    private Cache cache = new Cache();
+
+    private Keys keys = new Keys();
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSize = 100_000;
+        private Duration maxTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Keys {
+        private URI url = SigningKeyCache.FIREBASE_CERTIFICATES;
+        private Duration minRefreshInterval = Duration.ofMinutes(1);
+    }
+}
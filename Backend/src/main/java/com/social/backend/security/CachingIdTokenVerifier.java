@@ -0,0 +1,67 @@
+package com.social.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers successfully verified tokens so a client repeating the same token skips signature
+ * verification. Entries are keyed by the token's SHA-256 digest, so raw bearer credentials are
+ * not kept on the heap, and expire at the token's {@code exp} or after {@code maxTtl}, whichever
+ * comes first. Rejected tokens are never cached; concurrent misses on one token verify it once.
+ */
+public class CachingIdTokenVerifier implements IdTokenVerifier {
+
+    private final IdTokenVerifier delegate;
+    private final Cache<String, VerifiedIdToken> cache;
+
+    public CachingIdTokenVerifier(IdTokenVerifier delegate, long maxSize, Duration maxTtl) {
+        this.delegate = delegate;
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedIdToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedIdToken token, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(token.expiresAt().toEpochMilli() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(maxTtlNanos, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedIdToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedIdToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public VerifiedIdToken verify(String idToken) {
+        return cache.get(digest(idToken), key -> delegate.verify(idToken));
+    }
+
+    public Cache<String, VerifiedIdToken> getCache() {
+        return cache;
+    }
+
+    private static String digest(String idToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.social.backend.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,21 +16,21 @@ import java.util.Collections;
 @Component
 public class FirebaseFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    public FirebaseFilter(FirebaseAuth firebaseAuth) {
-        this.firebaseAuth = firebaseAuth;
+    private final IdTokenVerifier idTokenVerifier;
+
+    public FirebaseFilter(IdTokenVerifier idTokenVerifier) {
+        this.idTokenVerifier = idTokenVerifier;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
+        String token = bearerToken(request.getHeader("Authorization"));
+        if (token != null) {
             try {
-                FirebaseToken decodedToken = firebaseAuth.verifyIdToken(token);
-                String uid = decodedToken.getUid();
+                String uid = idTokenVerifier.verify(token).uid();
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         uid, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
                 );
@@ -43,4 +41,13 @@ public class FirebaseFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /** The token of an {@code Authorization: Bearer <token>} header, or {@code null} if there is none. */
+    public static String bearerToken(String header) {
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
 }
@@ -0,0 +1,29 @@
+package com.social.backend.security;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import com.social.backend.exception.InvalidTokenException;
+
+import java.time.Instant;
+
+public class FirebaseIdTokenVerifier implements IdTokenVerifier {
+
+    private final FirebaseAuth firebaseAuth;
+
+    public FirebaseIdTokenVerifier(FirebaseAuth firebaseAuth) {
+        this.firebaseAuth = firebaseAuth;
+    }
+
+    @Override
+    public VerifiedIdToken verify(String idToken) {
+        try {
+            FirebaseToken token = firebaseAuth.verifyIdToken(idToken);
+            Object exp = token.getClaims().get("exp");
+            Instant expiresAt = exp instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : Instant.now();
+            return new VerifiedIdToken(token.getUid(), expiresAt);
+        } catch (FirebaseAuthException | IllegalArgumentException e) {
+            throw new InvalidTokenException(e.getMessage(), e);
+        }
+    }
+}
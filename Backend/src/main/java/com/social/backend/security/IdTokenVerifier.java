@@ -0,0 +1,12 @@
+package com.social.backend.security;
+
+import com.social.backend.exception.InvalidTokenException;
+
+/**
+ * Verifies the ID token of an incoming request and resolves the caller's uid.
+ */
+public interface IdTokenVerifier {
+
+    /** @throws InvalidTokenException if the token is malformed, expired or not signed by the issuer */
+    VerifiedIdToken verify(String idToken);
+}
@@ -0,0 +1,102 @@
+package com.social.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.social.backend.exception.InvalidTokenException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Verifies Firebase ID tokens in-process, applying the same checks as the Admin SDK: an RS256
+ * signature by one of the issuer's current keys, {@code aud} and {@code iss} naming the project,
+ * and {@code exp}/{@code iat}/{@code auth_time} consistent with the current time. Revocation is
+ * not checked, matching {@code FirebaseAuth.verifyIdToken(token)}.
+ */
+public class LocalIdTokenVerifier implements IdTokenVerifier {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+    private static final long CLOCK_SKEW_SECONDS = 60;
+    private static final int MAX_UID_LENGTH = 128;
+
+    private final String projectId;
+    private final String issuer;
+    private final Function<String, PublicKey> signingKeys;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** @param signingKeys resolves a {@code kid} header to the issuer's public key, or {@code null} */
+    public LocalIdTokenVerifier(String projectId, Function<String, PublicKey> signingKeys) {
+        this.projectId = projectId;
+        this.issuer = ISSUER_PREFIX + projectId;
+        this.signingKeys = signingKeys;
+    }
+
+    @Override
+    public VerifiedIdToken verify(String idToken) {
+        int firstDot = idToken.indexOf('.');
+        int secondDot = idToken.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || idToken.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException("ID token is not a JWT");
+        }
+        JsonNode header = decode(idToken.substring(0, firstDot));
+        JsonNode claims = decode(idToken.substring(firstDot + 1, secondDot));
+
+        if (!"RS256".equals(header.path("alg").asText())) {
+            throw new InvalidTokenException("ID token has incorrect algorithm");
+        }
+        String keyId = header.path("kid").asText("");
+        if (keyId.isEmpty()) {
+            throw new InvalidTokenException("ID token has no key id");
+        }
+        if (!projectId.equals(claims.path("aud").asText())) {
+            throw new InvalidTokenException("ID token has incorrect audience");
+        }
+        if (!issuer.equals(claims.path("iss").asText())) {
+            throw new InvalidTokenException("ID token has incorrect issuer");
+        }
+        String uid = claims.path("sub").asText("");
+        if (uid.isEmpty() || uid.length() > MAX_UID_LENGTH) {
+            throw new InvalidTokenException("ID token has invalid subject");
+        }
+        long now = Instant.now().getEpochSecond();
+        long expiresAt = claims.path("exp").asLong(0);
+        if (expiresAt <= now - CLOCK_SKEW_SECONDS) {
+            throw new InvalidTokenException("ID token has expired");
+        }
+        if (claims.path("iat").asLong(Long.MAX_VALUE) > now + CLOCK_SKEW_SECONDS
+                || claims.path("auth_time").asLong(Long.MAX_VALUE) > now + CLOCK_SKEW_SECONDS) {
+            throw new InvalidTokenException("ID token is issued in the future");
+        }
+
+        // Claims are checked first so expired or foreign tokens never cost a signature check
+        PublicKey key = signingKeys.apply(keyId);
+        if (key == null) {
+            throw new InvalidTokenException("ID token is signed by an unknown key");
+        }
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update(idToken.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(Base64.getUrlDecoder().decode(idToken.substring(secondDot + 1)))) {
+                throw new InvalidTokenException("ID token has invalid signature");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new InvalidTokenException("ID token has invalid signature", e);
+        }
+        return new VerifiedIdToken(uid, Instant.ofEpochSecond(expiresAt));
+    }
+
+    private JsonNode decode(String segment) {
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(segment));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("ID token is not a JWT", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.social.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Public keys for Firebase ID token signatures, fetched from Google's X.509 certificate endpoint
+ * and kept for the {@code max-age} the endpoint advertises. A background thread refreshes them
+ * shortly before they expire, so request threads only fetch on a cold start or when a token names
+ * a key id we have not seen (key rotation); the latter at most once per {@code minRefreshInterval}.
+ * A failed refresh keeps serving the previous keys and is retried.
+ */
+public class SigningKeyCache implements Closeable {
+
+    public static final URI FIREBASE_CERTIFICATES =
+            URI.create("https://www.googleapis.com/robot/v1/metadata/x509/securetoken@system.gserviceaccount.com");
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyCache.class);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final URI uri;
+    private final Duration minRefreshInterval;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "signing-key-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Keys keys;
+    private final AtomicReference<CompletableFuture<Keys>> inFlight = new AtomicReference<>();
+
+    private record Keys(Map<String, PublicKey> byKeyId, Instant fetchedAt, Instant expiresAt) {
+    }
+
+    public SigningKeyCache(URI uri, Duration minRefreshInterval) {
+        this.uri = uri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        refresher.execute(this::backgroundRefresh);
+    }
+
+    /** The key for {@code keyId}, or {@code null} if the issuer does not currently publish it. */
+    public PublicKey get(String keyId) {
+        Keys current = keys;
+        Instant now = Instant.now();
+        if (current == null || !now.isBefore(current.expiresAt())) {
+            current = refresh(current);
+        }
+        PublicKey key = current.byKeyId().get(keyId);
+        if (key == null && now.isAfter(current.fetchedAt().plus(minRefreshInterval))) {
+            current = refresh(current);
+            key = current.byKeyId().get(keyId);
+        }
+        return key;
+    }
+
+    // Only one thread fetches; the others wait on its future, holding no monitor, and reuse its result
+    private Keys refresh(Keys seen) {
+        Keys current = keys;
+        if (current != seen) {
+            return current;
+        }
+        CompletableFuture<Keys> fetching = new CompletableFuture<>();
+        CompletableFuture<Keys> running = inFlight.compareAndExchange(null, fetching);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            if (keys == seen) {
+                keys = fetch();
+            }
+            fetching.complete(keys);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (keys == null) {
+                fetching.completeExceptionally(
+                        new IllegalStateException("Unable to fetch token signing keys from " + uri, e));
+            } else {
+                log.warn("Refreshing token signing keys failed, keeping the previous set: {}", e.getMessage());
+                fetching.complete(keys);
+            }
+        } catch (RuntimeException e) {
+            fetching.completeExceptionally(e);
+        } finally {
+            inFlight.set(null);
+        }
+        return await(fetching);
+    }
+
+    private static Keys await(CompletableFuture<Keys> fetching) {
+        try {
+            return fetching.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void backgroundRefresh() {
+        Duration delay = RETRY_DELAY;
+        try {
+            Keys before = keys;
+            Keys current = refresh(before);
+            if (current != before) {
+                // Refresh at 90% of max-age so request threads never see expired keys
+                Duration maxAge = Duration.between(current.fetchedAt(), current.expiresAt());
+                Duration beforeExpiry = maxAge.minus(maxAge.dividedBy(10));
+                delay = beforeExpiry.compareTo(RETRY_DELAY) > 0 ? beforeExpiry : RETRY_DELAY;
+            }
+        } catch (IllegalStateException e) {
+            log.warn(e.getMessage());
+        }
+        if (!refresher.isShutdown()) {
+            refresher.schedule(this::backgroundRefresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Keys fetch() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        Map<String, PublicKey> byKeyId = new HashMap<>();
+        try {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            JsonNode certificates = objectMapper.readTree(response.body());
+            for (Iterator<Map.Entry<String, JsonNode>> it = certificates.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                byte[] pem = entry.getValue().asText().getBytes(StandardCharsets.US_ASCII);
+                X509Certificate certificate = (X509Certificate) factory.generateCertificate(new ByteArrayInputStream(pem));
+                byKeyId.put(entry.getKey(), certificate.getPublicKey());
+            }
+        } catch (CertificateException e) {
+            throw new IOException("Invalid signing certificate", e);
+        }
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> Duration.ofSeconds(Long.parseLong(matcher.group(1))))
+                .orElse(DEFAULT_MAX_AGE);
+        Instant now = Instant.now();
+        log.debug("Fetched {} token signing keys, valid for {}", byKeyId.size(), maxAge);
+        return new Keys(Map.copyOf(byKeyId), now, now.plus(maxAge));
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
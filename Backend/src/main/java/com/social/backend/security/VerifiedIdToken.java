@@ -0,0 +1,7 @@
+package com.social.backend.security;
+
+import java.time.Instant;
+
+/** The caller identified by a verified ID token, and when that token stops being valid. */
+public record VerifiedIdToken(String uid, Instant expiresAt) {
+}
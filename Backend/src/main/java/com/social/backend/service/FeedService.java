@@ -0,0 +1,14 @@
+package com.social.backend.service;
+
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface FeedService {
+    CompletableFuture<Void> fanOut(PostEntity post);
+    CompletableFuture<CursorPage<PostSummary>> getFeed(String uid, String cursor, int limit);
+    CompletableFuture<CursorPage<PostSummary>> getRankedFeed(String uid, String cursor, int limit);
+    void onEngagement(String postId, long likeDelta, long commentDelta);
+}
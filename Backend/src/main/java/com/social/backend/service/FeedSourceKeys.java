@@ -0,0 +1,32 @@
+package com.social.backend.service;
+
+import com.social.backend.model.entity.PostEntity;
+
+/**
+ * Keys naming where a post comes from in the feed: {@code user:<uid>} for an author's own posts,
+ * {@code group:<groupId>} for group posts.
+ */
+public final class FeedSourceKeys {
+
+    public static final String USER_PREFIX = "user:";
+    public static final String GROUP_PREFIX = "group:";
+
+    private FeedSourceKeys() {
+    }
+
+    public static String user(String uid) {
+        return USER_PREFIX + uid;
+    }
+
+    public static String group(String groupId) {
+        return GROUP_PREFIX + groupId;
+    }
+
+    public static boolean isGroupPost(PostEntity post) {
+        return post.getGroupId() != null && !post.getGroupId().isEmpty();
+    }
+
+    public static String of(PostEntity post) {
+        return isGroupPost(post) ? group(post.getGroupId()) : user(post.getAuthorId());
+    }
+}
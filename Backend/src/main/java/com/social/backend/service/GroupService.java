@@ -1,12 +1,14 @@
 package com.social.backend.service;
 
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.GroupSummary;
 import com.social.backend.model.entity.GroupEntity;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface GroupService {
-    String createGroup(GroupEntity group);
-    GroupEntity getGroupById(String id);
-    List<GroupEntity> getAllGroups(int limit);
-    void deleteGroup(String id);
+    CompletableFuture<String> createGroup(GroupEntity group);
+    CompletableFuture<GroupEntity> getGroupById(String id);
+    CompletableFuture<CursorPage<GroupSummary>> getAllGroups(String cursor, int limit);
+    CompletableFuture<Void> deleteGroup(String id);
 }
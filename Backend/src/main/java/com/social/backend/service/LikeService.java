@@ -0,0 +1,8 @@
+package com.social.backend.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LikeService {
+    /** Likes or unlikes; a repeated like or unlike changes nothing. Completes with whether anything changed. */
+    CompletableFuture<Boolean> setLiked(String uid, String postId, boolean liked);
+}
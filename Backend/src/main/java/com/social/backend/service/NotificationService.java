@@ -1,11 +1,12 @@
 package com.social.backend.service;
 
+import com.social.backend.model.dto.response.CursorPage;
 import com.social.backend.model.entity.NotificationEntity;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface NotificationService {
-    String createNotification(NotificationEntity notification);
-    List<NotificationEntity> getNotificationsForUser(String userId, int limit);
-    void markAsRead(String notificationId);
+    CompletableFuture<String> createNotification(NotificationEntity notification);
+    CompletableFuture<CursorPage<NotificationEntity>> getNotificationsForUser(String userId, String cursor, int limit);
+    CompletableFuture<Void> markAsRead(String notificationId);
 }
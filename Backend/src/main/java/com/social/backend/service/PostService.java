@@ -1,13 +1,18 @@
 package com.social.backend.service;
 
+import com.social.backend.model.dto.response.CommentThread;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
 import com.social.backend.model.entity.CommentEntity;
 import com.social.backend.model.entity.PostEntity;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PostService {
-    String createPost(PostEntity post);
-    PostEntity getPostById(String id);
-    List<PostEntity> getPosts(int limit);
-    String addComment(CommentEntity comment);
+    CompletableFuture<String> createPost(PostEntity post);
+    CompletableFuture<PostEntity> getPostById(String id);
+    CompletableFuture<CursorPage<PostSummary>> getPosts(String uid, String cursor, int limit);
+    CompletableFuture<String> addComment(CommentEntity comment);
+    CompletableFuture<CursorPage<CommentThread>> getComments(String postId, String cursor, int limit, int replies);
+    CompletableFuture<CursorPage<CommentEntity>> getReplies(String commentId, String cursor, int limit);
 }
@@ -1,11 +1,13 @@
 package com.social.backend.service;
 
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.ReportSummary;
 import com.social.backend.model.entity.ReportEntity;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ReportService {
-    String createReport(ReportEntity report);
-    List<ReportEntity> getReports(int limit);
-    void updateReportStatus(String reportId, String status);
+    CompletableFuture<String> createReport(ReportEntity report);
+    CompletableFuture<CursorPage<ReportSummary>> getReports(String cursor, int limit);
+    CompletableFuture<Void> updateReportStatus(String reportId, String status);
 }
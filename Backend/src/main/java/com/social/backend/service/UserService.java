@@ -2,9 +2,12 @@ package com.social.backend.service;
 
 import com.social.backend.model.entity.UserEntity;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
-    UserEntity getUserById(String id);
-    void updateProfile(String uid, Map<String, Object> updates);
+    CompletableFuture<UserEntity> getUserById(String id);
+    CompletableFuture<List<UserEntity>> getUsersByIds(List<String> ids);
+    CompletableFuture<Void> updateProfile(String uid, Map<String, Object> updates);
 }
@@ -0,0 +1,362 @@
+package com.social.backend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.FeedSourceEntity;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.model.entity.TimelineItemEntity;
+import com.social.backend.ranking.RankedPostIndex;
+import com.social.backend.ranking.RankingProperties;
+import com.social.backend.repository.AbstractFirestoreRepository;
+import com.social.backend.repository.FeedSourceRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.SocialGraphRepository;
+import com.social.backend.repository.TimelineRepository;
+import com.social.backend.service.FeedService;
+import com.social.backend.service.FeedSourceKeys;
+import com.social.backend.utils.FutureUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hybrid push/pull home feed. Every post goes to its source's outbox (the author's, or the
+ * group's for a group post). Sources with at most {@code fan-out-threshold} recipients also push
+ * it to each recipient's timeline. Larger sources are recorded in {@code feed_sources} and stay
+ * pull-only from then on: readers fetch their outboxes at read time and k-way merge them with
+ * their own timeline. A post therefore costs at most {@code threshold + 2} writes, and a feed page
+ * costs one timeline scan plus at most {@code max-pull-sources} outbox scans, issued in parallel.
+ * Deleted, hidden and unapproved posts are dropped at read time.
+ *
+ * <p>The ranked feed ({@link #getRankedFeed}) reads from {@link RankedPostIndex} instead, over the
+ * reader's own, friends' and groups' posts.
+ */
+@Service
+public class FeedServiceImpl implements FeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedServiceImpl.class);
+    private static final String USER = "USER";
+    private static final String GROUP = "GROUP";
+    private static final int MAX_REGISTERED_SOURCES = 10_000;
+    private static final int MAX_RANKED_FRIENDS = 5_000;
+
+    // Store order of timelines and outboxes: newest first, post id breaking ties
+    private static final Comparator<TimelineItemEntity> NEWEST_FIRST = Comparator
+            .comparing(TimelineItemEntity::getCreatedAt, Comparator.nullsFirst(Comparator.<Timestamp>naturalOrder()))
+            .thenComparing(TimelineItemEntity::getPostId)
+            .reversed();
+
+    private final TimelineRepository timelineRepository;
+    private final SocialGraphRepository socialGraphRepository;
+    private final PostRepository postRepository;
+    private final FeedSourceRepository feedSourceRepository;
+    private final RankedPostIndex rankedPostIndex;
+    private final RankingProperties rankingProperties;
+    private final LikedPostIndex likedPostIndex;
+    private final PostCounters postCounters;
+    private final int fanOutThreshold;
+    private final int maxPullSources;
+    private final Set<String> pulledSources = ConcurrentHashMap.newKeySet();
+    private final Cache<String, List<String>> followedPulledSources;
+    private final Cache<String, Map<String, Double>> rankingBoosts;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feed-source-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FeedServiceImpl(TimelineRepository timelineRepository, SocialGraphRepository socialGraphRepository,
+                           PostRepository postRepository, FeedSourceRepository feedSourceRepository,
+                           RankedPostIndex rankedPostIndex, RankingProperties rankingProperties,
+                           LikedPostIndex likedPostIndex, PostCounters postCounters,
+                           @Value("${app.feed.fan-out-threshold:1000}") int fanOutThreshold,
+                           @Value("${app.feed.max-pull-sources:50}") int maxPullSources,
+                           @Value("${app.feed.source-refresh-interval:30s}") Duration sourceRefreshInterval) {
+        this.timelineRepository = timelineRepository;
+        this.socialGraphRepository = socialGraphRepository;
+        this.postRepository = postRepository;
+        this.feedSourceRepository = feedSourceRepository;
+        this.rankedPostIndex = rankedPostIndex;
+        this.rankingProperties = rankingProperties;
+        this.likedPostIndex = likedPostIndex;
+        this.postCounters = postCounters;
+        this.fanOutThreshold = fanOutThreshold;
+        this.maxPullSources = maxPullSources;
+        // A reader may see a newly pulled source's posts up to one refresh interval late
+        this.followedPulledSources = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(sourceRefreshInterval)
+                .build();
+        this.rankingBoosts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(rankingProperties.getAudienceTtl())
+                .build();
+        refresher.scheduleWithFixedDelay(this::refreshPulledSources, 0,
+                sourceRefreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<Void> fanOut(PostEntity post) {
+        TimelineItemEntity item = TimelineItemEntity.builder()
+                .postId(post.getId())
+                .authorId(post.getAuthorId())
+                .groupId(post.getGroupId())
+                .createdAt(post.getCreatedAt())
+                .build();
+        boolean groupPost = FeedSourceKeys.isGroupPost(post);
+        String sourceKey = FeedSourceKeys.of(post);
+
+        rankedPostIndex.offer(post);
+        ApiFuture<Void> outbox = timelineRepository.appendToOutbox(sourceKey, item);
+        ApiFuture<Void> delivery;
+        if (pulledSources.contains(sourceKey)) {
+            delivery = timelineRepository.append(List.of(post.getAuthorId()), item);
+        } else {
+            // Reading one id past the threshold is enough to classify without reading a huge audience
+            ApiFuture<List<String>> audience = groupPost
+                    ? socialGraphRepository.findGroupMemberIds(post.getGroupId(), fanOutThreshold + 1)
+                    : socialGraphRepository.findFriendIds(post.getAuthorId(), fanOutThreshold + 1);
+            delivery = ApiFutures.transformAsync(audience, ids -> {
+                if (ids.size() > fanOutThreshold) {
+                    return ApiFutures.transformAsync(
+                            registerPulledSource(sourceKey, groupPost ? GROUP : USER,
+                                    groupPost ? post.getGroupId() : post.getAuthorId(), ids.size()),
+                            registered -> timelineRepository.append(List.of(post.getAuthorId()), item),
+                            MoreExecutors.directExecutor());
+                }
+                Set<String> recipients = new LinkedHashSet<>(ids.size() + 1);
+                recipients.add(post.getAuthorId());
+                recipients.addAll(ids);
+                return timelineRepository.append(recipients, item);
+            }, MoreExecutors.directExecutor());
+        }
+        return FutureUtils.toCompletableFuture(ApiFutures.allAsList(List.of(outbox, delivery)))
+                .<Void>thenApply(result -> null)
+                .exceptionally(FutureUtils.rethrow("Error delivering post to timelines"));
+    }
+
+    @Override
+    public CompletableFuture<CursorPage<PostSummary>> getFeed(String uid, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, AbstractFirestoreRepository.MAX_PAGE_SIZE));
+        return followedPulledSources(uid)
+                .thenCompose(sources -> {
+                    List<ApiFuture<CursorPage<TimelineItemEntity>>> streams = new ArrayList<>(sources.size() + 1);
+                    streams.add(timelineRepository.findPage(uid, cursor, pageSize));
+                    for (String sourceKey : sources) {
+                        streams.add(timelineRepository.findOutboxPage(sourceKey, cursor, pageSize));
+                    }
+                    return FutureUtils.toCompletableFuture(ApiFutures.allAsList(streams));
+                })
+                .thenCompose(pages -> {
+                    CursorPage<TimelineItemEntity> merged = merge(pages, pageSize);
+                    List<String> postIds = new ArrayList<>(merged.getItems().size());
+                    merged.getItems().forEach(item -> postIds.add(item.getPostId()));
+                    return FutureUtils.toCompletableFuture(postRepository.findAllById(postIds))
+                            .thenApply(posts -> new CursorPage<>(visibleSummaries(posts), merged.getNextCursor()));
+                })
+                .thenCompose(page -> postCounters.withCounts(page)
+                        .thenCombine(likedPostIndex.markLiked(uid, page), (counted, marked) -> page))
+                .exceptionally(FutureUtils.rethrow("Error fetching feed"));
+    }
+
+    @Override
+    public CompletableFuture<CursorPage<PostSummary>> getRankedFeed(String uid, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, AbstractFirestoreRepository.MAX_PAGE_SIZE));
+        return rankingBoosts(uid)
+                .thenCompose(boosts -> {
+                    CursorPage<String> ranked = rankedPostIndex.top(boosts, cursor, pageSize);
+                    return FutureUtils.toCompletableFuture(postRepository.findAllById(ranked.getItems()))
+                            .thenApply(posts -> {
+                                dropInvisible(ranked.getItems(), posts);
+                                return new CursorPage<>(visibleSummaries(posts), ranked.getNextCursor());
+                            });
+                })
+                .thenCompose(page -> postCounters.withCounts(page)
+                        .thenCombine(likedPostIndex.markLiked(uid, page), (counted, marked) -> page))
+                .exceptionally(FutureUtils.rethrow("Error fetching ranked feed"));
+    }
+
+    @Override
+    public void onEngagement(String postId, long likeDelta, long commentDelta) {
+        rankedPostIndex.recordEngagement(postId, likeDelta, commentDelta);
+    }
+
+    // Per-source score boosts for the reader: their own and friends' posts, and groups they belong to
+    private CompletableFuture<Map<String, Double>> rankingBoosts(String uid) {
+        Map<String, Double> cached = rankingBoosts.getIfPresent(uid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        ApiFuture<List<String>> friends = socialGraphRepository.findFriendIds(uid, MAX_RANKED_FRIENDS);
+        ApiFuture<List<String>> memberships =
+                socialGraphRepository.filterGroupMemberships(uid, rankedPostIndex.indexedGroups());
+        return FutureUtils.toCompletableFuture(ApiFutures.allAsList(List.of(friends, memberships)))
+                .thenApply(results -> {
+                    Map<String, Double> boosts = new HashMap<>();
+                    boosts.put(FeedSourceKeys.user(uid), rankingProperties.getFriendBoost());
+                    results.get(0).forEach(friendId ->
+                            boosts.put(FeedSourceKeys.user(friendId), rankingProperties.getFriendBoost()));
+                    results.get(1).forEach(groupId ->
+                            boosts.put(FeedSourceKeys.group(groupId), rankingProperties.getGroupBoost()));
+                    rankingBoosts.put(uid, boosts);
+                    return boosts;
+                });
+    }
+
+    /**
+     * K-way merge of newest-first pages into one page of at most {@code pageSize} items. A post
+     * pushed before its source became pull-only can appear in two streams; it is emitted once.
+     */
+    static CursorPage<TimelineItemEntity> merge(List<CursorPage<TimelineItemEntity>> pages, int pageSize) {
+        record Head(TimelineItemEntity item, int stream, int index) {
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, pages.size()),
+                (a, b) -> NEWEST_FIRST.compare(a.item(), b.item()));
+        boolean more = false;
+        for (int i = 0; i < pages.size(); i++) {
+            CursorPage<TimelineItemEntity> page = pages.get(i);
+            if (!page.getItems().isEmpty()) {
+                heads.add(new Head(page.getItems().get(0), i, 0));
+            }
+            more |= page.getNextCursor() != null;
+        }
+        List<TimelineItemEntity> items = new ArrayList<>(pageSize);
+        Set<String> seen = new HashSet<>();
+        while (!heads.isEmpty() && items.size() < pageSize) {
+            Head head = heads.poll();
+            if (seen.add(head.item().getPostId())) {
+                items.add(head.item());
+            }
+            List<TimelineItemEntity> stream = pages.get(head.stream()).getItems();
+            if (head.index() + 1 < stream.size()) {
+                heads.add(new Head(stream.get(head.index() + 1), head.stream(), head.index() + 1));
+            }
+        }
+        more |= !heads.isEmpty();
+        String nextCursor = more && !items.isEmpty() ? TimelineRepository.cursorAfter(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    // Pull-only sources the reader follows: friends among pulled users, and pulled groups they belong to
+    private CompletableFuture<List<String>> followedPulledSources(String uid) {
+        List<String> cached = followedPulledSources.getIfPresent(uid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        List<String> users = new ArrayList<>();
+        List<String> groups = new ArrayList<>();
+        for (String sourceKey : pulledSources) {
+            if (sourceKey.startsWith(FeedSourceKeys.USER_PREFIX)) {
+                users.add(sourceKey.substring(FeedSourceKeys.USER_PREFIX.length()));
+            } else if (sourceKey.startsWith(FeedSourceKeys.GROUP_PREFIX)) {
+                groups.add(sourceKey.substring(FeedSourceKeys.GROUP_PREFIX.length()));
+            }
+        }
+        if (users.isEmpty() && groups.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        ApiFuture<List<String>> friends = socialGraphRepository.filterFriends(uid, users);
+        ApiFuture<List<String>> memberships = socialGraphRepository.filterGroupMemberships(uid, groups);
+        return FutureUtils.toCompletableFuture(ApiFutures.allAsList(List.of(friends, memberships)))
+                .thenApply(results -> {
+                    List<String> sources = new ArrayList<>();
+                    results.get(0).forEach(friendId -> sources.add(FeedSourceKeys.user(friendId)));
+                    results.get(1).forEach(groupId -> sources.add(FeedSourceKeys.group(groupId)));
+                    List<String> bounded = sources.size() > maxPullSources
+                            ? List.copyOf(sources.subList(0, maxPullSources))
+                            : List.copyOf(sources);
+                    followedPulledSources.put(uid, bounded);
+                    return bounded;
+                });
+    }
+
+    private ApiFuture<Void> registerPulledSource(String sourceKey, String type, String sourceId, int audienceSize) {
+        if (!pulledSources.add(sourceKey)) {
+            return ApiFutures.immediateFuture(null);
+        }
+        log.info("Feed source {} has over {} recipients; switching it to pull", sourceKey, fanOutThreshold);
+        return feedSourceRepository.save(sourceKey, FeedSourceEntity.builder()
+                .sourceKey(sourceKey)
+                .type(type)
+                .sourceId(sourceId)
+                .audienceSize(audienceSize)
+                .classifiedAt(Timestamp.now())
+                .build());
+    }
+
+    /** Picks up sources classified by other instances; runs every {@code source-refresh-interval}. */
+    public void refreshPulledSources() {
+        try {
+            for (FeedSourceEntity source : feedSourceRepository.findAll(MAX_REGISTERED_SOURCES).get()) {
+                pulledSources.add(source.getSourceKey());
+            }
+        } catch (Exception e) {
+            log.warn("Refreshing pulled feed sources failed: {}", FutureUtils.unwrap(e).getMessage());
+        }
+    }
+
+    // The change feed misses clients' direct writes, so a ranked post found deleted or hidden on read leaves the index
+    private void dropInvisible(List<String> postIds, List<PostEntity> posts) {
+        for (int i = 0; i < postIds.size(); i++) {
+            PostEntity post = posts.get(i);
+            if (post == null) {
+                rankedPostIndex.remove(postIds.get(i));
+            } else if (post.isHidden() || !"APPROVED".equals(post.getApprovalStatus())) {
+                rankedPostIndex.offer(post);
+            }
+        }
+    }
+
+    private static List<PostSummary> visibleSummaries(List<PostEntity> posts) {
+        List<PostSummary> summaries = new ArrayList<>(posts.size());
+        for (PostEntity post : posts) {
+            if (post == null || post.isHidden() || !"APPROVED".equals(post.getApprovalStatus())) {
+                continue;
+            }
+            summaries.add(PostSummary.builder()
+                    .id(post.getId())
+                    .authorId(post.getAuthorId())
+                    .authorName(post.getAuthorName())
+                    .authorAvatarUrl(post.getAuthorAvatarUrl())
+                    .text(post.getText())
+                    .mediaUrls(post.getMediaUrls())
+                    .likeCount(post.getLikeCount())
+                    .commentCount(post.getCommentCount())
+                    .createdAt(post.getCreatedAt())
+                    .groupId(post.getGroupId())
+                    .build());
+        }
+        return summaries;
+    }
+}
@@ -1,13 +1,16 @@
 package com.social.backend.service.impl;
 
+import com.google.cloud.Timestamp;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.GroupSummary;
 import com.social.backend.model.entity.GroupEntity;
 import com.social.backend.repository.GroupRepository;
 import com.social.backend.service.GroupService;
+import com.social.backend.utils.FutureUtils;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class GroupServiceImpl implements GroupService {
@@ -19,41 +22,33 @@ public class GroupServiceImpl implements GroupService {
     }
 
     @Override
-    public String createGroup(GroupEntity group) {
+    public CompletableFuture<String> createGroup(GroupEntity group) {
         String id = UUID.randomUUID().toString();
         group.setId(id);
-        try {
-            groupRepository.save(id, group).get();
-            return id;
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error creating group", e);
+        if (group.getCreatedAt() == null) {
+            group.setCreatedAt(Timestamp.now());
         }
+        return FutureUtils.toCompletableFuture(groupRepository.save(id, group))
+                .thenApply(result -> id)
+                .exceptionally(FutureUtils.rethrow("Error creating group"));
     }
 
     @Override
-    public GroupEntity getGroupById(String id) {
-        try {
-            return groupRepository.findById(id).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching group", e);
-        }
+    public CompletableFuture<GroupEntity> getGroupById(String id) {
+        return FutureUtils.toCompletableFuture(groupRepository.findById(id))
+                .exceptionally(FutureUtils.rethrow("Error fetching group"));
     }
 
     @Override
-    public List<GroupEntity> getAllGroups(int limit) {
-        try {
-            return groupRepository.findAll(limit).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching groups", e);
-        }
+    public CompletableFuture<CursorPage<GroupSummary>> getAllGroups(String cursor, int limit) {
+        return FutureUtils.toCompletableFuture(groupRepository.findPage(GroupSummary.class, "createdAt", cursor, limit))
+                .exceptionally(FutureUtils.rethrow("Error fetching groups"));
     }
 
     @Override
-    public void deleteGroup(String id) {
-        try {
-            groupRepository.delete(id).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error deleting group", e);
-        }
+    public CompletableFuture<Void> deleteGroup(String id) {
+        return FutureUtils.toCompletableFuture(groupRepository.delete(id))
+                .<Void>thenApply(result -> null)
+                .exceptionally(FutureUtils.rethrow("Error deleting group"));
     }
 }
@@ -0,0 +1,386 @@
+package com.social.backend.service.impl;
+
+import com.social.backend.engagement.LikeJournal;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.service.FeedService;
+import com.social.backend.service.LikeService;
+import com.social.backend.storage.WriteOperation;
+import com.social.backend.utils.FutureUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Likes are acknowledged once journaled locally and applied to storage in batches. Each accepted
+ * like or unlike records the caller's latest state for the post and adds +1/-1 to the post's striped
+ * counter ({@link LongAdder}); every {@code flush-interval}, or sooner once {@code max-pending}
+ * likes are waiting, one flush writes each changed like document once and each post's net count
+ * change as one shard increment. Toggling on a hot post therefore costs a share of one commit
+ * instead of one write per toggle. Counts, {@code likedByMe} and feed ranking on this node reflect
+ * a like as soon as it is accepted.
+ *
+ * <p>Each flush writes its plan to the journal before committing, and every commit carries a flush
+ * marker; at startup only the commits without a marker are replayed, so a like is counted once even
+ * if the process dies between a commit and the journal cleanup. A commit that fails may still have
+ * applied (a timeout, say), so its count increments are retried under the same commit id, and only
+ * if its marker is still missing a minute later. A like is acknowledged once
+ * its journal record is written, which the journal does for all concurrent likes at once.
+ */
+@Service
+public class LikeServiceImpl implements LikeService {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeServiceImpl.class);
+    // Firestore rejects commits with more than 500 writes
+    private static final int MAX_BATCH_WRITES = 500;
+    // A failed commit can still apply until its deadline has passed; its marker is only trusted after that
+    private static final long COMMIT_SETTLE_MS = Duration.ofMinutes(1).toMillis();
+
+    private record PendingLike(String uid, String postId, boolean liked) {
+    }
+
+    /** Count increments of a failed commit, retried under its original id from {@code notBefore} on. */
+    private record Retry(LikeJournal.Commit commit, long notBefore) {
+    }
+
+    private final PostRepository postRepository;
+    private final LikeRepository likeRepository;
+    private final PostCounterRepository counterRepository;
+    private final LikedPostIndex likedPostIndex;
+    private final PostCounters postCounters;
+    private final FeedService feedService;
+    private final LikeJournal journal;
+    private final int maxPending;
+    private final Counter flushCommits;
+
+    // Intents hold the read lock while they touch the buffers; a flush takes the write lock to swap them out
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    private Map<String, PendingLike> pendingLikes = new ConcurrentHashMap<>();
+    private Map<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    // Only touched by flush, which is synchronized
+    private final List<Retry> retries = new ArrayList<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "like-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LikeServiceImpl(PostRepository postRepository, LikeRepository likeRepository,
+                           PostCounterRepository counterRepository,
+                           LikedPostIndex likedPostIndex, PostCounters postCounters, FeedService feedService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.likes.buffer.flush-interval:250ms}") Duration flushInterval,
+                           @Value("${app.likes.buffer.max-pending:2000}") int maxPending,
+                           @Value("${app.likes.journal.dir:./data/like-journal}") String journalDirectory,
+                           @Value("${app.likes.journal.fsync:false}") boolean fsync) throws IOException {
+        this.postRepository = postRepository;
+        this.likeRepository = likeRepository;
+        this.counterRepository = counterRepository;
+        this.likedPostIndex = likedPostIndex;
+        this.postCounters = postCounters;
+        this.feedService = feedService;
+        this.maxPending = maxPending;
+        this.journal = new LikeJournal(Path.of(journalDirectory), fsync);
+        recover(journal.recover());
+        this.flushCommits = Counter.builder("likes.flush.commits").register(meterRegistry);
+        Gauge.builder("likes.pending", this, service -> service.pendingLikes.size()).register(meterRegistry);
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        journal.close();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> setLiked(String uid, String postId, boolean liked) {
+        return FutureUtils.toCompletableFuture(postRepository.findById(postId))
+                .thenCompose(post -> {
+                    if (post == null) {
+                        throw new ResourceNotFoundException("Post not found");
+                    }
+                    return likedPostIndex.likedAmong(uid, List.of(postId));
+                })
+                .thenCompose(likedPosts -> accept(uid, postId, liked, likedPosts.contains(postId)))
+                .exceptionally(FutureUtils.rethrow("Error updating like"));
+    }
+
+    private CompletableFuture<Boolean> accept(String uid, String postId, boolean liked, boolean storedLiked) {
+        long delta = liked ? 1 : -1;
+        AtomicReference<CompletableFuture<Void>> journaled = new AtomicReference<>();
+        bufferLock.readLock().lock();
+        try {
+            pendingLikes.compute(LikeRepository.likeId(uid, postId), (likeId, pending) -> {
+                // Resolved here, after any flush swap: a like swapped out but not yet in the store is still recent in the index
+                Boolean recent = pending != null ? Boolean.valueOf(pending.liked()) : likedPostIndex.recentLike(uid, postId);
+                boolean current = recent != null ? recent : storedLiked;
+                if (current == liked) {
+                    return pending;
+                }
+                // Only queued here; the journal's appender thread does the I/O
+                journaled.set(journal.append(new LikeJournal.Intent(uid, postId, liked, delta)));
+                likedPostIndex.recordLike(uid, postId, liked);
+                return new PendingLike(uid, postId, liked);
+            });
+            if (journaled.get() != null) {
+                pendingCounts.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+        if (journaled.get() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        postCounters.applyLocally(postId, PostCounterRepository.LIKES, delta);
+        feedService.onEngagement(postId, delta, 0);
+        if (pendingLikes.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+        return journaled.get().thenApply(written -> true);
+    }
+
+    // Replays the commits of each plan that have no marker in storage, then what was journaled after the last plan
+    private void recover(LikeJournal.Recovery recovery) throws IOException {
+        // A retried commit is listed again by every later plan until it applies
+        Map<String, LikeJournal.Commit> commits = new LinkedHashMap<>();
+        for (LikeJournal.Plan plan : recovery.plans()) {
+            plan.commits().forEach(commit -> commits.putIfAbsent(commit.id(), commit));
+        }
+        Set<String> applied;
+        try {
+            applied = likeRepository.findFlushMarkers(new ArrayList<>(commits.keySet())).get();
+        } catch (Exception e) {
+            throw new IOException("Checking which buffered likes were already flushed failed", FutureUtils.unwrap(e));
+        }
+        commits.forEach((commitId, commit) -> {
+            if (!applied.contains(commitId)) {
+                commit.intents().forEach(this::buffer);
+            }
+        });
+        recovery.intents().forEach(this::buffer);
+    }
+
+    // Replay and re-queue: a record without a uid only carries a count change
+    private void buffer(LikeJournal.Intent intent) {
+        if (intent.uid() != null) {
+            pendingLikes.put(LikeRepository.likeId(intent.uid(), intent.postId()),
+                    new PendingLike(intent.uid(), intent.postId(), intent.liked()));
+            likedPostIndex.recordLike(intent.uid(), intent.postId(), intent.liked());
+        }
+        if (intent.delta() != 0) {
+            pendingCounts.computeIfAbsent(intent.postId(), id -> new LongAdder()).add(intent.delta());
+        }
+    }
+
+    /** Writes everything buffered so far; runs on the flusher thread, and once more at shutdown. */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        long now = System.currentTimeMillis();
+        boolean retryDue = retries.stream().anyMatch(retry -> retry.notBefore() <= now);
+        Map<String, PendingLike> likes;
+        Map<String, LongAdder> counts;
+        long closedSegment;
+        bufferLock.writeLock().lock();
+        try {
+            if (pendingLikes.isEmpty() && pendingCounts.isEmpty() && !retryDue) {
+                return;
+            }
+            closedSegment = journal.rotate();
+            likes = pendingLikes;
+            counts = pendingCounts;
+            pendingLikes = new ConcurrentHashMap<>();
+            pendingCounts = new ConcurrentHashMap<>();
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+
+        List<LikeJournal.Commit> commits = plan(closedSegment, likes, counts);
+        // Retries are planned again under their own ids, so the older plans listing them can go
+        List<LikeJournal.Commit> planned = new ArrayList<>(retries.size() + commits.size());
+        retries.forEach(retry -> planned.add(retry.commit()));
+        planned.addAll(commits);
+        try {
+            journal.writePlan(closedSegment, planned);
+        } catch (IOException e) {
+            log.warn("Writing the like flush plan failed, flush postponed: {}", e.getMessage());
+            commits.forEach(commit -> requeue(commit.intents()));
+            return;
+        }
+
+        retryDue(now);
+        List<LikeJournal.Intent> unwritten = new ArrayList<>();
+        boolean failed = false;
+        for (LikeJournal.Commit commit : commits) {
+            // After a failure the rest is not attempted and goes into the next flush
+            if (failed) {
+                unwritten.addAll(commit.intents());
+                continue;
+            }
+            try {
+                counterRepository.commit(writes(commit)).get();
+                flushCommits.increment();
+            } catch (Exception e) {
+                log.warn("Flushing {} like writes failed, retrying: {}", commit.intents().size(),
+                        FutureUtils.unwrap(e).getMessage());
+                failed = true;
+                // Rewriting a like document is harmless, but the counts may have applied
+                List<LikeJournal.Intent> counted = new ArrayList<>();
+                for (LikeJournal.Intent intent : commit.intents()) {
+                    (intent.uid() == null ? counted : unwritten).add(intent);
+                }
+                if (!counted.isEmpty()) {
+                    retries.add(new Retry(new LikeJournal.Commit(commit.id(), counted), now + COMMIT_SETTLE_MS));
+                }
+            }
+        }
+
+        // What failed stays covered by this plan until the next flush writes its own
+        requeue(unwritten);
+        if (unwritten.isEmpty() && retries.isEmpty()) {
+            try {
+                journal.planApplied(closedSegment);
+            } catch (IOException e) {
+                log.warn("Deleting an applied like flush plan failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Each commit leaves room for its flush marker; a post with more likes than one commit takes is split
+    private List<LikeJournal.Commit> plan(long closedSegment, Map<String, PendingLike> likes, Map<String, LongAdder> counts) {
+        // Group by post so each commit carries a post's like documents together with its count change
+        Map<String, List<PendingLike>> byPost = new LinkedHashMap<>();
+        likes.values().forEach(like -> byPost.computeIfAbsent(like.postId(), id -> new ArrayList<>()).add(like));
+        counts.keySet().forEach(postId -> byPost.computeIfAbsent(postId, id -> new ArrayList<>()));
+
+        int maxWrites = MAX_BATCH_WRITES - 1;
+        List<List<LikeJournal.Intent>> chunks = new ArrayList<>();
+        for (Map.Entry<String, List<PendingLike>> post : byPost.entrySet()) {
+            String postId = post.getKey();
+            LongAdder count = counts.get(postId);
+            long delta = count == null ? 0 : count.sum();
+            List<LikeJournal.Intent> intents = new ArrayList<>(post.getValue().size() + 1);
+            for (PendingLike like : post.getValue()) {
+                intents.add(new LikeJournal.Intent(like.uid(), postId, like.liked(), 0));
+            }
+            if (delta != 0) {
+                intents.add(new LikeJournal.Intent(null, postId, false, delta));
+            }
+            if (intents.isEmpty()) {
+                continue;
+            }
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() + intents.size() > maxWrites) {
+                chunks.add(new ArrayList<>());
+            }
+            for (LikeJournal.Intent intent : intents) {
+                if (chunks.get(chunks.size() - 1).size() == maxWrites) {
+                    chunks.add(new ArrayList<>());
+                }
+                chunks.get(chunks.size() - 1).add(intent);
+            }
+        }
+        List<LikeJournal.Commit> commits = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            commits.add(new LikeJournal.Commit(journal.commitId(closedSegment, i), chunks.get(i)));
+        }
+        return commits;
+    }
+
+    // One write per intent, plus the commit's marker
+    private List<WriteOperation> writes(LikeJournal.Commit commit) {
+        List<WriteOperation> writes = new ArrayList<>(commit.intents().size() + 1);
+        for (LikeJournal.Intent intent : commit.intents()) {
+            if (intent.uid() == null) {
+                writes.add(counterRepository.increment(intent.postId(), PostCounterRepository.LIKES, intent.delta()));
+            } else if (intent.liked()) {
+                writes.add(LikeRepository.like(intent.uid(), intent.postId()));
+            } else {
+                writes.add(LikeRepository.unlike(intent.uid(), intent.postId()));
+            }
+        }
+        writes.add(LikeRepository.flushMarker(commit.id()));
+        return writes;
+    }
+
+    // Retries whose commit turns out applied are dropped; the others are committed again under their own id
+    private void retryDue(long now) {
+        List<Retry> due = retries.stream().filter(retry -> retry.notBefore() <= now).toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        Set<String> applied;
+        try {
+            applied = likeRepository.findFlushMarkers(due.stream().map(retry -> retry.commit().id()).toList()).get();
+        } catch (Exception e) {
+            log.warn("Checking {} failed like flushes failed, checking again next flush: {}", due.size(),
+                    FutureUtils.unwrap(e).getMessage());
+            return;
+        }
+        for (Retry retry : due) {
+            retries.remove(retry);
+            if (applied.contains(retry.commit().id())) {
+                continue;
+            }
+            try {
+                counterRepository.commit(writes(retry.commit())).get();
+                flushCommits.increment();
+            } catch (Exception e) {
+                log.warn("Retrying like flush {} failed: {}", retry.commit().id(), FutureUtils.unwrap(e).getMessage());
+                retries.add(new Retry(retry.commit(), now + COMMIT_SETTLE_MS));
+            }
+        }
+    }
+
+    // Likes accepted during the flush are newer and win over the re-queued state of the same like
+    private void requeue(List<LikeJournal.Intent> unwritten) {
+        bufferLock.readLock().lock();
+        try {
+            for (LikeJournal.Intent intent : unwritten) {
+                if (intent.uid() != null) {
+                    pendingLikes.putIfAbsent(LikeRepository.likeId(intent.uid(), intent.postId()),
+                            new PendingLike(intent.uid(), intent.postId(), intent.liked()));
+                } else {
+                    pendingCounts.computeIfAbsent(intent.postId(), id -> new LongAdder()).add(intent.delta());
+                }
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+}
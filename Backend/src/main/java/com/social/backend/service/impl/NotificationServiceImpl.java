@@ -1,57 +1,52 @@
 package com.social.backend.service.impl;
 
+import com.social.backend.model.dto.response.CursorPage;
 import com.social.backend.model.entity.NotificationEntity;
+import com.social.backend.repository.CoalescingBatchWriter;
 import com.social.backend.repository.NotificationRepository;
 import com.social.backend.service.NotificationService;
+import com.social.backend.utils.FutureUtils;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final CoalescingBatchWriter batchWriter;
 
-    public NotificationServiceImpl(NotificationRepository notificationRepository) {
+    public NotificationServiceImpl(NotificationRepository notificationRepository, CoalescingBatchWriter batchWriter) {
         this.notificationRepository = notificationRepository;
+        this.batchWriter = batchWriter;
     }
 
     @Override
-    public String createNotification(NotificationEntity notification) {
+    public CompletableFuture<String> createNotification(NotificationEntity notification) {
         String id = UUID.randomUUID().toString();
         notification.setId(id);
-        try {
-            notificationRepository.save(id, notification).get();
-            return id;
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error creating notification", e);
+        // Epoch millis, as the app writes it
+        if (notification.getCreatedAt() == 0) {
+            notification.setCreatedAt(System.currentTimeMillis());
         }
+        return batchWriter.set(notificationRepository, id, notification)
+                .thenApply(result -> id)
+                .exceptionally(FutureUtils.rethrow("Error creating notification"));
     }
 
     @Override
-    public List<NotificationEntity> getNotificationsForUser(String userId, int limit) {
-        try {
-            // A more advanced query would filter by userId
-            return notificationRepository.findAll(limit).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching notifications", e);
-        }
+    public CompletableFuture<CursorPage<NotificationEntity>> getNotificationsForUser(String userId, String cursor, int limit) {
+        return FutureUtils.toCompletableFuture(
+                        notificationRepository.findPageWhereEqualTo("userId", userId, "createdAt", cursor, limit))
+                .exceptionally(FutureUtils.rethrow("Error fetching notifications"));
     }
 
     @Override
-    public void markAsRead(String notificationId) {
-        // Implementation would update the 'isRead' field
-        NotificationEntity notification;
-        try {
-            notification = notificationRepository.findById(notificationId).get();
-            if (notification != null) {
-                notification.setRead(true);
-                notificationRepository.save(notificationId, notification).get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error marking notification as read", e);
-        }
+    public CompletableFuture<Void> markAsRead(String notificationId) {
+        // Lombok's isRead() getter is stored by Firestore as "read"
+        return FutureUtils.toCompletableFuture(notificationRepository.update(notificationId, "read", true))
+                .<Void>thenApply(result -> null)
+                .exceptionally(FutureUtils.rethrow("Error marking notification as read"));
     }
 }
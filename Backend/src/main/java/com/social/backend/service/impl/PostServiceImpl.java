@@ -1,66 +1,191 @@
 package com.social.backend.service.impl;
 
+import com.google.cloud.Timestamp;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.exception.BadRequestException;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.model.dto.response.CommentThread;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
 import com.social.backend.model.entity.CommentEntity;
 import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.CoalescingBatchWriter;
 import com.social.backend.repository.CommentRepository;
+import com.social.backend.repository.PostCounterRepository;
 import com.social.backend.repository.PostRepository;
+import com.social.backend.service.FeedService;
 import com.social.backend.service.PostService;
+import com.social.backend.utils.FutureUtils;
+import com.social.backend.visibility.GroupVisibilityIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class PostServiceImpl implements PostService {
 
+    private static final Logger log = LoggerFactory.getLogger(PostServiceImpl.class);
+    private static final int MAX_REPLY_PREVIEW = 10;
+
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final CoalescingBatchWriter batchWriter;
+    private final FeedService feedService;
+    private final GroupVisibilityIndex groupVisibility;
+    private final LikedPostIndex likedPostIndex;
+    private final PostCounters postCounters;
 
-    public PostServiceImpl(PostRepository postRepository, CommentRepository commentRepository) {
+    public PostServiceImpl(PostRepository postRepository, CommentRepository commentRepository,
+                           CoalescingBatchWriter batchWriter, FeedService feedService,
+                           GroupVisibilityIndex groupVisibility, LikedPostIndex likedPostIndex,
+                           PostCounters postCounters) {
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
+        this.batchWriter = batchWriter;
+        this.feedService = feedService;
+        this.groupVisibility = groupVisibility;
+        this.likedPostIndex = likedPostIndex;
+        this.postCounters = postCounters;
     }
 
     @Override
-    public String createPost(PostEntity post) {
+    public CompletableFuture<String> createPost(PostEntity post) {
         String id = UUID.randomUUID().toString();
         post.setId(id);
-        try {
-            postRepository.save(id, post).get();
-            return id;
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error creating post", e);
+        if (post.getCreatedAt() == null) {
+            post.setCreatedAt(Timestamp.now());
         }
+        return FutureUtils.toCompletableFuture(postRepository.save(id, post))
+                .thenApply(result -> {
+                    // Timeline delivery runs in the background so large audiences don't slow down posting
+                    feedService.fanOut(post).whenComplete((delivered, e) -> {
+                        if (e != null) {
+                            log.warn("Fan-out of post {} failed: {}", id, FutureUtils.unwrap(e).getMessage());
+                        }
+                    });
+                    return id;
+                })
+                .exceptionally(FutureUtils.rethrow("Error creating post"));
     }
 
     @Override
-    public PostEntity getPostById(String id) {
-        try {
-            return postRepository.findById(id).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching post", e);
-        }
+    public CompletableFuture<PostEntity> getPostById(String id) {
+        return FutureUtils.toCompletableFuture(postRepository.findById(id))
+                .thenCompose(postCounters::withCounts)
+                .exceptionally(FutureUtils.rethrow("Error fetching post"));
     }
 
     @Override
-    public List<PostEntity> getPosts(int limit) {
-        try {
-            return postRepository.findAll(limit).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching posts", e);
+    public CompletableFuture<CursorPage<PostSummary>> getPosts(String uid, String cursor, int limit) {
+        CompletableFuture<CursorPage<PostSummary>> visible;
+        if (groupVisibility.isReady()) {
+            // Private-group posts the reader can't see are skipped while scanning, so pages stay full
+            visible = FutureUtils.toCompletableFuture(postRepository.findFilteredPage(
+                    PostSummary.class, "createdAt", cursor, limit,
+                    post -> isListed(post) && groupVisibility.canSee(uid, post.getGroupId())));
+        } else {
+            // Until the index is built, private-group posts are dropped after the read, so a page may come back short
+            visible = FutureUtils.toCompletableFuture(postRepository.findFilteredPage(
+                            PostSummary.class, "createdAt", cursor, limit, PostServiceImpl::isListed))
+                    .thenCompose(page -> groupVisibility.filterVisible(uid, page.getItems(), PostSummary::getGroupId)
+                            .thenApply(items -> new CursorPage<>(items, page.getNextCursor())));
         }
+        return visible
+                .thenCompose(page -> postCounters.withCounts(page)
+                        .thenCombine(likedPostIndex.markLiked(uid, page), (counted, marked) -> page))
+                .exceptionally(FutureUtils.rethrow("Error fetching posts"));
+    }
+
+    // Hidden and pending posts are left out of listings, as in the feeds; posts stored without a status are approved
+    private static boolean isListed(PostSummary post) {
+        return !post.isHidden() && (post.getApprovalStatus() == null || "APPROVED".equals(post.getApprovalStatus()));
     }
 
     @Override
-    public String addComment(CommentEntity comment) {
+    public CompletableFuture<String> addComment(CommentEntity comment) {
         String id = UUID.randomUUID().toString();
         comment.setId(id);
-        try {
-            commentRepository.save(id, comment).get();
-            return id;
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error adding comment", e);
+        comment.setReplyCount(0L);
+        if (comment.getCreatedAt() == null) {
+            comment.setCreatedAt(Timestamp.now());
         }
+        if (comment.getReplyToId() != null && comment.getReplyToId().isEmpty()) {
+            comment.setReplyToId(null);
+        }
+        CompletableFuture<Void> saved = comment.getReplyToId() == null
+                ? batchWriter.set(commentRepository, id, comment)
+                : saveReply(comment);
+        return saved
+                .thenApply(result -> {
+                    postCounters.increment(comment.getPostId(), PostCounterRepository.COMMENTS, 1, List.of())
+                            .whenComplete((counted, e) -> {
+                                if (e != null) {
+                                    log.warn("Counting comment {} failed: {}", id, FutureUtils.unwrap(e).getMessage());
+                                }
+                            });
+                    feedService.onEngagement(comment.getPostId(), 0, 1);
+                    return id;
+                })
+                .exceptionally(FutureUtils.rethrow("Error adding comment"));
+    }
+
+    // Threads are one level deep: a reply to a reply joins the top-level comment's thread
+    private CompletableFuture<Void> saveReply(CommentEntity reply) {
+        return FutureUtils.toCompletableFuture(commentRepository.findById(reply.getReplyToId()))
+                .thenCompose(parent -> {
+                    if (parent == null) {
+                        throw new ResourceNotFoundException("Comment not found: " + reply.getReplyToId());
+                    }
+                    if (!Objects.equals(parent.getPostId(), reply.getPostId())) {
+                        throw new BadRequestException("Reply must be on the same post as its comment");
+                    }
+                    if (parent.getReplyToId() != null) {
+                        reply.setReplyToId(parent.getReplyToId());
+                    }
+                    return FutureUtils.toCompletableFuture(commentRepository.saveReply(reply));
+                });
+    }
+
+    @Override
+    public CompletableFuture<CursorPage<CommentThread>> getComments(String postId, String cursor, int limit, int replies) {
+        int previewSize = Math.max(0, Math.min(replies, MAX_REPLY_PREVIEW));
+        return FutureUtils.toCompletableFuture(commentRepository.findTopLevel(postId, cursor, limit))
+                .thenCompose(page -> {
+                    // One bounded read per thread that has or may have replies, all in parallel, whatever the thread sizes
+                    List<CompletableFuture<CommentThread>> threads = new ArrayList<>(page.getItems().size());
+                    for (CommentEntity comment : page.getItems()) {
+                        Long replyCount = comment.getReplyCount();
+                        if (previewSize == 0 || (replyCount != null && replyCount == 0)) {
+                            threads.add(CompletableFuture.completedFuture(new CommentThread(comment, List.of(), null)));
+                        } else {
+                            threads.add(FutureUtils.toCompletableFuture(
+                                            commentRepository.findReplies(comment.getId(), null, previewSize))
+                                    .thenApply(first -> {
+                                        // A comment older than the count: the preview tells its size if it holds the whole thread
+                                        if (replyCount == null && first.getNextCursor() == null) {
+                                            comment.setReplyCount((long) first.getItems().size());
+                                        }
+                                        return new CommentThread(comment, first.getItems(), first.getNextCursor());
+                                    }));
+                        }
+                    }
+                    return CompletableFuture.allOf(threads.toArray(new CompletableFuture[0]))
+                            .thenApply(done -> new CursorPage<>(threads.stream().map(CompletableFuture::join).toList(),
+                                    page.getNextCursor()));
+                })
+                .exceptionally(FutureUtils.rethrow("Error fetching comments"));
+    }
+
+    @Override
+    public CompletableFuture<CursorPage<CommentEntity>> getReplies(String commentId, String cursor, int limit) {
+        return FutureUtils.toCompletableFuture(commentRepository.findReplies(commentId, cursor, limit))
+                .exceptionally(FutureUtils.rethrow("Error fetching replies"));
     }
 }
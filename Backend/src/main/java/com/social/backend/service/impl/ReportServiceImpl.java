@@ -1,54 +1,51 @@
 package com.social.backend.service.impl;
 
+import com.google.cloud.Timestamp;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.ReportSummary;
 import com.social.backend.model.entity.ReportEntity;
+import com.social.backend.repository.CoalescingBatchWriter;
 import com.social.backend.repository.ReportRepository;
 import com.social.backend.service.ReportService;
+import com.social.backend.utils.FutureUtils;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ReportServiceImpl implements ReportService {
 
     private final ReportRepository reportRepository;
+    private final CoalescingBatchWriter batchWriter;
 
-    public ReportServiceImpl(ReportRepository reportRepository) {
+    public ReportServiceImpl(ReportRepository reportRepository, CoalescingBatchWriter batchWriter) {
         this.reportRepository = reportRepository;
+        this.batchWriter = batchWriter;
     }
 
     @Override
-    public String createReport(ReportEntity report) {
+    public CompletableFuture<String> createReport(ReportEntity report) {
         String id = UUID.randomUUID().toString();
         report.setId(id);
-        try {
-            reportRepository.save(id, report).get();
-            return id;
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error creating report", e);
+        if (report.getCreatedAt() == null) {
+            report.setCreatedAt(Timestamp.now());
         }
+        return batchWriter.set(reportRepository, id, report)
+                .thenApply(result -> id)
+                .exceptionally(FutureUtils.rethrow("Error creating report"));
     }
 
     @Override
-    public List<ReportEntity> getReports(int limit) {
-        try {
-            return reportRepository.findAll(limit).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching reports", e);
-        }
+    public CompletableFuture<CursorPage<ReportSummary>> getReports(String cursor, int limit) {
+        return FutureUtils.toCompletableFuture(reportRepository.findPage(ReportSummary.class, "createdAt", cursor, limit))
+                .exceptionally(FutureUtils.rethrow("Error fetching reports"));
     }
 
     @Override
-    public void updateReportStatus(String reportId, String status) {
-        try {
-            ReportEntity report = reportRepository.findById(reportId).get();
-            if (report != null) {
-                report.setStatus(status);
-                reportRepository.save(reportId, report).get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error updating report", e);
-        }
+    public CompletableFuture<Void> updateReportStatus(String reportId, String status) {
+        return FutureUtils.toCompletableFuture(reportRepository.update(reportId, "status", status))
+                .<Void>thenApply(result -> null)
+                .exceptionally(FutureUtils.rethrow("Error updating report"));
     }
 }
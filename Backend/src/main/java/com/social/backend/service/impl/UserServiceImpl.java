@@ -1,16 +1,23 @@
 package com.social.backend.service.impl;
 
+import com.social.backend.exception.BadRequestException;
 import com.social.backend.model.entity.UserEntity;
 import com.social.backend.repository.UserRepository;
 import com.social.backend.service.UserService;
+import com.social.backend.utils.FutureUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    // Fields a user may change on their own profile; role, status and the like stay admin-only
+    private static final Set<String> EDITABLE_PROFILE_FIELDS = Set.of("name", "avatarUrl", "bio", "fcmToken");
+
     private final UserRepository userRepository;
 
     public UserServiceImpl(UserRepository userRepository) {
@@ -18,25 +25,29 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserEntity getUserById(String id) {
-        try {
-            return userRepository.findById(id).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error fetching user", e);
-        }
+    public CompletableFuture<UserEntity> getUserById(String id) {
+        return FutureUtils.toCompletableFuture(userRepository.findById(id))
+                .exceptionally(FutureUtils.rethrow("Error fetching user"));
+    }
+
+    @Override
+    public CompletableFuture<List<UserEntity>> getUsersByIds(List<String> ids) {
+        return FutureUtils.toCompletableFuture(userRepository.findAllById(ids))
+                .exceptionally(FutureUtils.rethrow("Error fetching users"));
     }
 
     @Override
-    public void updateProfile(String uid, Map<String, Object> updates) {
-        UserEntity user = getUserById(uid);
-        if (user == null) {
-            throw new RuntimeException("User not found");
+    public CompletableFuture<Void> updateProfile(String uid, Map<String, Object> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new BadRequestException("No fields to update");
         }
-        // Simplified update logic
-        try {
-            userRepository.save(uid, user).get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Error updating user", e);
+        for (String field : updates.keySet()) {
+            if (!EDITABLE_PROFILE_FIELDS.contains(field)) {
+                throw new BadRequestException("Field cannot be updated: " + field);
+            }
         }
+        return FutureUtils.toCompletableFuture(userRepository.update(uid, updates))
+                .<Void>thenApply(result -> null)
+                .exceptionally(FutureUtils.rethrow("Error updating user"));
     }
 }
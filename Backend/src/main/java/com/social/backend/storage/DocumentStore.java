@@ -0,0 +1,35 @@
+package com.social.backend.storage;
+
+import com.google.api.core.ApiFuture;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage SPI behind {@code AbstractFirestoreRepository}. Documents are plain maps of
+ * Firestore-compatible values (String, Long, Double, Boolean, Timestamp, List, Map, null),
+ * addressed by collection path and id.
+ */
+public interface DocumentStore {
+
+    /** Completes with {@code null} when the document does not exist. */
+    ApiFuture<Map<String, Object>> get(String collection, String id);
+
+    /** The result lines up with {@code ids}; missing documents are {@code null}. */
+    ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids);
+
+    ApiFuture<Void> set(String collection, String id, Map<String, Object> data);
+
+    /**
+     * Changes only the given fields; keys may be dotted field paths. Fails with
+     * {@code ResourceNotFoundException} if the document does not exist.
+     */
+    ApiFuture<Void> update(String collection, String id, Map<String, Object> fields);
+
+    ApiFuture<Void> delete(String collection, String id);
+
+    ApiFuture<List<StoredDocument>> scan(ScanRequest request);
+
+    /** Applies all writes atomically. */
+    ApiFuture<Void> commit(List<WriteOperation> writes);
+}
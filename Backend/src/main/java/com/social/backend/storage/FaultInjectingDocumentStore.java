@@ -0,0 +1,125 @@
+package com.social.backend.storage;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decorator that makes a fast store behave like a remote one: each call is delayed by a fixed
+ * latency plus uniform jitter before it reaches the delegate, and a configurable fraction of calls
+ * fails. Calls are counted per operation, so benchmarks can report backend round trips.
+ */
+public class FaultInjectingDocumentStore implements DocumentStore, Closeable {
+
+    private final DocumentStore delegate;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double errorRate;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    public FaultInjectingDocumentStore(DocumentStore delegate, Duration latency, Duration jitter, double errorRate) {
+        this.delegate = delegate;
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.errorRate = errorRate;
+        this.scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "fault-injecting-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Number of calls made to {@code operation} (get, getAll, set, update, delete, scan, commit). */
+    public long getCallCount(String operation) {
+        LongAdder count = calls.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public ApiFuture<Map<String, Object>> get(String collection, String id) {
+        return inject("get", () -> delegate.get(collection, id));
+    }
+
+    @Override
+    public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+        return inject("getAll", () -> delegate.getAll(collection, ids));
+    }
+
+    @Override
+    public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+        return inject("set", () -> delegate.set(collection, id, data));
+    }
+
+    @Override
+    public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+        return inject("update", () -> delegate.update(collection, id, fields));
+    }
+
+    @Override
+    public ApiFuture<Void> delete(String collection, String id) {
+        return inject("delete", () -> delegate.delete(collection, id));
+    }
+
+    @Override
+    public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+        return inject("scan", () -> delegate.scan(request));
+    }
+
+    @Override
+    public ApiFuture<Void> commit(List<WriteOperation> writes) {
+        return inject("commit", () -> delegate.commit(writes));
+    }
+
+    private <R> ApiFuture<R> inject(String operation, Supplier<ApiFuture<R>> call) {
+        calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean fail = errorRate > 0 && random.nextDouble() < errorRate;
+        long delay = latencyNanos + (jitterNanos > 0 ? random.nextLong(jitterNanos) : 0);
+        if (delay == 0 && !fail) {
+            return call.get();
+        }
+        SettableApiFuture<R> result = SettableApiFuture.create();
+        scheduler.schedule(() -> {
+            if (fail) {
+                result.setException(new IllegalStateException("Injected " + operation + " failure"));
+                return;
+            }
+            ApiFutures.addCallback(call.get(), new ApiFutureCallback<R>() {
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setException(t);
+                }
+
+                @Override
+                public void onSuccess(R value) {
+                    result.set(value);
+                }
+            }, MoreExecutors.directExecutor());
+        }, delay, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.social.backend.storage;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.metrics.RequestMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Times every store call as {@code store.operation} tagged with collection, operation and
+ * outcome, and counts documents returned as {@code store.documents.read} per collection.
+ * The timer measures until the store's future completes, so it reflects backend latency;
+ * entity-cache hits never reach the store and are reported by the {@code cache.*} metrics.
+ *
+ * <p>Documents read are also added to the calling request's {@link RequestMetrics}. Listeners on
+ * the returned future run bound to that request, so a read chained in a callback (on a Firestore
+ * or callback-executor thread) is attributed to the same route as the read that triggered it.
+ */
+public class InstrumentedDocumentStore implements DocumentStore, Closeable {
+
+    private final DocumentStore delegate;
+    private final MeterRegistry meterRegistry;
+    private final String engine;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> documentsRead = new ConcurrentHashMap<>();
+
+    public InstrumentedDocumentStore(DocumentStore delegate, MeterRegistry meterRegistry, String engine) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.engine = engine;
+    }
+
+    @Override
+    public ApiFuture<Map<String, Object>> get(String collection, String id) {
+        return observe(collection, "get", () -> delegate.get(collection, id),
+                document -> document == null ? 0 : 1);
+    }
+
+    @Override
+    public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+        return observe(collection, "getAll", () -> delegate.getAll(collection, ids),
+                documents -> (int) documents.stream().filter(Objects::nonNull).count());
+    }
+
+    @Override
+    public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+        return observe(collection, "set", () -> delegate.set(collection, id, data), result -> 0);
+    }
+
+    @Override
+    public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+        return observe(collection, "update", () -> delegate.update(collection, id, fields), result -> 0);
+    }
+
+    @Override
+    public ApiFuture<Void> delete(String collection, String id) {
+        return observe(collection, "delete", () -> delegate.delete(collection, id), result -> 0);
+    }
+
+    @Override
+    public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+        return observe(request.getCollection(), "scan", () -> delegate.scan(request), List::size);
+    }
+
+    @Override
+    public ApiFuture<Void> commit(List<WriteOperation> writes) {
+        String collection = writes.stream().map(write -> collectionTag(write.getCollection())).distinct().count() == 1
+                ? writes.get(0).getCollection()
+                : "mixed";
+        return observe(collection, "commit", () -> delegate.commit(writes), result -> 0);
+    }
+
+    private <R> ApiFuture<R> observe(String path, String operation, Supplier<ApiFuture<R>> call,
+                                     ToIntFunction<R> documentCount) {
+        String collection = collectionTag(path);
+        long start = System.nanoTime();
+        RequestMetrics request = RequestMetrics.current();
+        ApiFuture<R> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            timer(collection, operation, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        ApiFutures.addCallback(future, new ApiFutureCallback<R>() {
+            @Override
+            public void onFailure(Throwable t) {
+                timer(collection, operation, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void onSuccess(R result) {
+                timer(collection, operation, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                int count = documentCount.applyAsInt(result);
+                if (count > 0) {
+                    documentsRead(collection).increment(count);
+                    if (request != null) {
+                        request.addDocumentsRead(count);
+                    }
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return request == null ? future : new RequestBoundFuture<>(future, request);
+    }
+
+    private Timer timer(String collection, String operation, String outcome) {
+        return timers.computeIfAbsent(collection + "|" + operation + "|" + outcome, key -> Timer.builder("store.operation")
+                .tag("engine", engine)
+                .tag("collection", collection)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private Counter documentsRead(String collection) {
+        return documentsRead.computeIfAbsent(collection, key -> Counter.builder("store.documents.read")
+                .tag("engine", engine)
+                .tag("collection", collection)
+                .register(meterRegistry));
+    }
+
+    private record RequestBoundFuture<R>(ApiFuture<R> delegate, RequestMetrics request) implements ApiFuture<R> {
+
+        @Override
+        public void addListener(Runnable listener, Executor executor) {
+            delegate.addListener(RequestMetrics.bind(request, listener), executor);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return delegate.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public R get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public R get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+    }
+
+    // Subcollection paths such as timelines/{uid}/items would otherwise create a meter per parent document
+    static String collectionTag(String path) {
+        if (path.indexOf('/') < 0) {
+            return path;
+        }
+        String[] segments = path.split("/");
+        for (int i = 1; i < segments.length; i += 2) {
+            segments[i] = "{id}";
+        }
+        return String.join("/", segments);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.social.backend.storage;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered range scan over one collection: equality filters, one order-by field with the document id
+ * as tie-breaker, an optional exclusive start position and an optional field mask.
+ */
+@Value
+@Builder
+public class ScanRequest {
+    String collection;
+    /**
+     * Scans every collection whose last path segment is {@code collection}, e.g. {@code members} under
+     * every group. Such scans return one unordered page: {@code orderBy} and the start position are ignored,
+     * and document ids are only unique within their parent, so callers select the fields they need.
+     */
+    boolean collectionGroup;
+    @Builder.Default
+    Map<String, Object> equalTo = Map.of();
+    /** {@code null} scans in document id order. */
+    String orderBy;
+    @Builder.Default
+    boolean descending = true;
+    /** Resume after the document with this order-by value and id; both {@code null} to start at the top. */
+    Object startAfterValue;
+    String startAfterId;
+    int limit;
+    /** Fields to return; {@code null} returns whole documents. */
+    List<String> select;
+}
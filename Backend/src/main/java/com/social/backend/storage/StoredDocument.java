@@ -0,0 +1,11 @@
+package com.social.backend.storage;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class StoredDocument {
+    String id;
+    Map<String, Object> data;
+}
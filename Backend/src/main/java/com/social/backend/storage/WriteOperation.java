@@ -0,0 +1,36 @@
+package com.social.backend.storage;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class WriteOperation {
+
+    public enum Type { SET, UPDATE, DELETE, INCREMENT }
+
+    Type type;
+    String collection;
+    String id;
+    Map<String, Object> data;
+
+    public static WriteOperation set(String collection, String id, Map<String, Object> data) {
+        return new WriteOperation(Type.SET, collection, id, data);
+    }
+
+    public static WriteOperation update(String collection, String id, Map<String, Object> fields) {
+        return new WriteOperation(Type.UPDATE, collection, id, fields);
+    }
+
+    public static WriteOperation delete(String collection, String id) {
+        return new WriteOperation(Type.DELETE, collection, id, null);
+    }
+
+    /**
+     * Adds each delta to its top-level numeric field, creating the document and missing fields at 0.
+     * Engines apply it server-side, so concurrent increments of one document never conflict.
+     */
+    public static WriteOperation increment(String collection, String id, Map<String, Long> deltas) {
+        return new WriteOperation(Type.INCREMENT, collection, id, Map.copyOf(deltas));
+    }
+}
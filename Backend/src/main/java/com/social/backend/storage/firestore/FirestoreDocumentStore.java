@@ -0,0 +1,182 @@
+package com.social.backend.storage.firestore;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.StatusCode;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+public class FirestoreDocumentStore implements DocumentStore {
+
+    public static final int GET_ALL_CHUNK_SIZE = 100;
+
+    private final Firestore firestore;
+    private final Executor callbackExecutor;
+
+    public FirestoreDocumentStore(Firestore firestore, Executor callbackExecutor) {
+        this.firestore = firestore;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    private DocumentReference document(String collection, String id) {
+        return firestore.collection(collection).document(id);
+    }
+
+    @Override
+    public ApiFuture<Map<String, Object>> get(String collection, String id) {
+        return ApiFutures.transform(
+                document(collection, id).get(),
+                snapshot -> snapshot.exists() ? snapshot.getData() : null,
+                callbackExecutor
+        );
+    }
+
+    /**
+     * One {@code getAll} per chunk of {@value #GET_ALL_CHUNK_SIZE}, all chunks in flight at once.
+     */
+    @Override
+    public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+        List<ApiFuture<List<DocumentSnapshot>>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += GET_ALL_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + GET_ALL_CHUNK_SIZE, ids.size()));
+            DocumentReference[] references = new DocumentReference[chunk.size()];
+            for (int i = 0; i < references.length; i++) {
+                references[i] = document(collection, chunk.get(i));
+            }
+            chunks.add(firestore.getAll(references));
+        }
+        return ApiFutures.transform(
+                ApiFutures.allAsList(chunks),
+                results -> {
+                    Map<String, Map<String, Object>> byId = new HashMap<>(ids.size() * 2);
+                    for (List<DocumentSnapshot> snapshots : results) {
+                        for (DocumentSnapshot snapshot : snapshots) {
+                            if (snapshot.exists()) {
+                                byId.put(snapshot.getId(), snapshot.getData());
+                            }
+                        }
+                    }
+                    List<Map<String, Object>> documents = new ArrayList<>(ids.size());
+                    for (String id : ids) {
+                        documents.add(byId.get(id));
+                    }
+                    return documents;
+                },
+                callbackExecutor
+        );
+    }
+
+    @Override
+    public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+        return toVoid(document(collection, id).set(data));
+    }
+
+    @Override
+    public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+        return ApiFutures.catching(
+                toVoid(document(collection, id).update(fields)),
+                ApiException.class,
+                e -> {
+                    if (e.getStatusCode().getCode() == StatusCode.Code.NOT_FOUND) {
+                        throw new ResourceNotFoundException(collection + "/" + id + " not found");
+                    }
+                    throw e;
+                },
+                callbackExecutor
+        );
+    }
+
+    @Override
+    public ApiFuture<Void> delete(String collection, String id) {
+        return toVoid(document(collection, id).delete());
+    }
+
+    @Override
+    public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+        Query query = request.isCollectionGroup()
+                ? firestore.collectionGroup(request.getCollection())
+                : firestore.collection(request.getCollection());
+        for (Map.Entry<String, Object> filter : request.getEqualTo().entrySet()) {
+            query = query.whereEqualTo(filter.getKey(), filter.getValue());
+        }
+        if (request.getSelect() != null) {
+            query = query.select(request.getSelect().toArray(new String[0]));
+        }
+        if (request.isCollectionGroup()) {
+            return documents(query.limit(request.getLimit()));
+        }
+        Query.Direction direction = request.isDescending() ? Query.Direction.DESCENDING : Query.Direction.ASCENDING;
+        if (request.getOrderBy() != null) {
+            // Document id breaks ties between equal order-by values so no document is skipped or repeated
+            query = query.orderBy(request.getOrderBy(), direction)
+                    .orderBy(FieldPath.documentId(), direction);
+            if (request.getStartAfterId() != null) {
+                query = query.startAfter(request.getStartAfterValue(), request.getStartAfterId());
+            }
+        } else {
+            query = query.orderBy(FieldPath.documentId(), direction);
+            if (request.getStartAfterId() != null) {
+                query = query.startAfter(request.getStartAfterId());
+            }
+        }
+        return documents(query.limit(request.getLimit()));
+    }
+
+    private ApiFuture<List<StoredDocument>> documents(Query query) {
+        return ApiFutures.transform(
+                query.get(),
+                snapshot -> {
+                    List<StoredDocument> documents = new ArrayList<>(snapshot.size());
+                    for (QueryDocumentSnapshot document : snapshot.getDocuments()) {
+                        documents.add(new StoredDocument(document.getId(), document.getData()));
+                    }
+                    return documents;
+                },
+                callbackExecutor
+        );
+    }
+
+    @Override
+    public ApiFuture<Void> commit(List<WriteOperation> writes) {
+        WriteBatch batch = firestore.batch();
+        for (WriteOperation write : writes) {
+            DocumentReference reference = document(write.getCollection(), write.getId());
+            switch (write.getType()) {
+                case SET -> batch.set(reference, write.getData());
+                case UPDATE -> batch.update(reference, write.getData());
+                case DELETE -> batch.delete(reference);
+                case INCREMENT -> batch.set(reference, increments(write.getData()), SetOptions.merge());
+            }
+        }
+        return toVoid(batch.commit());
+    }
+
+    private static Map<String, Object> increments(Map<String, Object> deltas) {
+        Map<String, Object> fields = new HashMap<>(deltas.size() * 2);
+        deltas.forEach((field, delta) -> fields.put(field, FieldValue.increment(((Number) delta).longValue())));
+        return fields;
+    }
+
+    private <R> ApiFuture<Void> toVoid(ApiFuture<R> future) {
+        return ApiFutures.transform(future, result -> null, callbackExecutor);
+    }
+}
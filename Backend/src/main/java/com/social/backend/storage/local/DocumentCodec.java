@@ -0,0 +1,156 @@
+package com.social.backend.storage.local;
+
+import com.google.cloud.Timestamp;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of document values for the log, plus normalization of incoming values to the
+ * canonical types the engine stores: Long for integral numbers, Double for floating point and
+ * read-only List/Map containers.
+ */
+final class DocumentCodec {
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+    private static final byte TIMESTAMP = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+
+    private DocumentCodec() {
+    }
+
+    static Map<String, Object> normalizeDocument(Map<String, ?> document) {
+        Map<String, Object> copy = new LinkedHashMap<>(document.size() * 2);
+        for (Map.Entry<String, ?> field : document.entrySet()) {
+            copy.put(field.getKey(), normalize(field.getValue()));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object normalize(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Long || value instanceof Double
+                || value instanceof String || value instanceof Timestamp) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(normalize(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return normalizeDocument((Map<String, ?>) map);
+        }
+        throw new IllegalArgumentException("Unsupported document value type: " + value.getClass().getName());
+    }
+
+    static void writeDocument(DataOutput out, Map<String, Object> document) throws IOException {
+        out.writeInt(document.size());
+        for (Map.Entry<String, Object> field : document.entrySet()) {
+            writeString(out, field.getKey());
+            writeValue(out, field.getValue());
+        }
+    }
+
+    static Map<String, Object> readDocument(DataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, Object> document = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            document.put(readString(in), readValue(in));
+        }
+        return Collections.unmodifiableMap(document);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? TRUE : FALSE);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Timestamp timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(timestamp.getSeconds());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            writeDocument(out, (Map<String, Object>) map);
+        } else {
+            throw new IllegalArgumentException("Unsupported document value type: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case STRING -> readString(in);
+            case TIMESTAMP -> Timestamp.ofTimeSecondsAndNanos(in.readLong(), in.readInt());
+            case LIST -> {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield Collections.unmodifiableList(list);
+            }
+            case MAP -> readDocument(in);
+            default -> throw new IOException("Unknown value type " + type);
+        };
+    }
+
+    // DataOutput.writeUTF is limited to 64 KiB, which a post body can exceed
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,657 @@
+package com.social.backend.storage.local;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Embedded, persistent {@link DocumentStore} for running the backend without Firestore.
+ *
+ * <p>Every write is appended to a single log file as one checksummed record, then applied to an
+ * in-memory copy of all documents. Updates are resolved against the current document and logged
+ * as the resulting full document, so replaying the log needs no merge logic. A batch is one record,
+ * which makes {@link #commit} atomic across restarts. Ordered scans use per-field indexes that are
+ * built on first use and maintained on every write afterwards.
+ *
+ * <p>Once the log holds more superseded bytes than live ones it is compacted in the background:
+ * live documents are written to a new file, writes that arrived meanwhile are copied over, and the
+ * new file atomically replaces the old one. On startup a torn or corrupt tail record (from a crash
+ * mid-append) is truncated away. A commit whose append or fsync fails is cut off the log again
+ * before the caller hears of the failure, so no torn record ends up in front of later commits and
+ * no failed commit comes back on restart; if even that fails, the store refuses further writes.
+ *
+ * <p>Returned futures are already complete. Document maps handed out are read-only.
+ */
+public class LocalDocumentStore implements DocumentStore, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalDocumentStore.class);
+
+    static final String LOG_FILE = "documents.log";
+
+    private static final byte SET = 1;
+    private static final byte DELETE = 2;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int COMPACTION_FRAME_DOCUMENTS = 1000;
+
+    private final Path logPath;
+    private final boolean fsync;
+    private final long compactionThresholdBytes;
+    // Writers are serialized and readers never see half of a batch
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LocalCollection> collections = new HashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "local-store-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel;
+    private long logBytes;
+    private long liveBytes;
+    private boolean compacting;
+    // Set once a failed append could not be cut off the log; later commits would land behind it
+    private IOException failure;
+
+    public LocalDocumentStore(Path directory, boolean fsync, long compactionThresholdBytes) {
+        this.logPath = directory.resolve(LOG_FILE);
+        this.fsync = fsync;
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening local document store at " + directory, e);
+        }
+    }
+
+    @Override
+    public ApiFuture<Map<String, Object>> get(String collection, String id) {
+        lock.readLock().lock();
+        try {
+            LocalCollection documents = collections.get(collection);
+            Entry entry = documents == null ? null : documents.documents.get(id);
+            return ApiFutures.immediateFuture(entry == null ? null : entry.data());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+        lock.readLock().lock();
+        try {
+            LocalCollection documents = collections.get(collection);
+            List<Map<String, Object>> result = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Entry entry = documents == null ? null : documents.documents.get(id);
+                result.add(entry == null ? null : entry.data());
+            }
+            return ApiFutures.immediateFuture(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+        return commit(List.of(WriteOperation.set(collection, id, data)));
+    }
+
+    @Override
+    public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+        return commit(List.of(WriteOperation.update(collection, id, fields)));
+    }
+
+    @Override
+    public ApiFuture<Void> delete(String collection, String id) {
+        return commit(List.of(WriteOperation.delete(collection, id)));
+    }
+
+    @Override
+    public ApiFuture<Void> commit(List<WriteOperation> writes) {
+        lock.writeLock().lock();
+        long start = logBytes;
+        try {
+            if (failure != null) {
+                throw new UncheckedIOException("Log " + logPath + " is unusable after a failed write", failure);
+            }
+            List<Mutation> mutations = resolve(writes);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(mutations.size());
+            for (Mutation mutation : mutations) {
+                int start = out.size();
+                writeMutation(out, mutation);
+                mutation.size = out.size() - start;
+            }
+            byte[] payload = bytes.toByteArray();
+            try {
+                append(channel, payload);
+                if (fsync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                rollBack(start, e);
+                throw e;
+            }
+            mutations.forEach(this::apply);
+            maybeCompact();
+            return ApiFutures.immediateFuture(null);
+        } catch (IOException e) {
+            return ApiFutures.immediateFailedFuture(new UncheckedIOException("Error appending to " + logPath, e));
+        } catch (RuntimeException e) {
+            return ApiFutures.immediateFailedFuture(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Turns writes into full-document mutations; an update sees earlier writes of the same batch. */
+    private List<Mutation> resolve(List<WriteOperation> writes) {
+        Map<String, Map<String, Object>> staged = new HashMap<>();
+        List<Mutation> mutations = new ArrayList<>(writes.size());
+        for (WriteOperation write : writes) {
+            String key = write.getCollection() + "/" + write.getId();
+            Map<String, Object> data = switch (write.getType()) {
+                case SET -> DocumentCodec.normalizeDocument(write.getData());
+                case DELETE -> null;
+                case UPDATE -> {
+                    Map<String, Object> current = staged.containsKey(key) ? staged.get(key) : currentData(write);
+                    if (current == null) {
+                        throw new ResourceNotFoundException(key + " not found");
+                    }
+                    yield applyUpdate(current, write.getData());
+                }
+                case INCREMENT -> applyIncrement(staged.containsKey(key) ? staged.get(key) : currentData(write),
+                        write.getData());
+            };
+            staged.put(key, data);
+            mutations.add(new Mutation(write.getCollection(), write.getId(), data));
+        }
+        return mutations;
+    }
+
+    private Map<String, Object> currentData(WriteOperation write) {
+        LocalCollection documents = collections.get(write.getCollection());
+        Entry entry = documents == null ? null : documents.documents.get(write.getId());
+        return entry == null ? null : entry.data();
+    }
+
+    private static Map<String, Object> applyUpdate(Map<String, Object> current, Map<String, Object> fields) {
+        Map<String, Object> updated = new LinkedHashMap<>(current);
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            setPath(updated, field.getKey().split("\\."), 0, DocumentCodec.normalize(field.getValue()));
+        }
+        return Collections.unmodifiableMap(updated);
+    }
+
+    private static Map<String, Object> applyIncrement(Map<String, Object> current, Map<String, Object> deltas) {
+        Map<String, Object> updated = current == null ? new LinkedHashMap<>() : new LinkedHashMap<>(current);
+        for (Map.Entry<String, Object> delta : deltas.entrySet()) {
+            long value = updated.get(delta.getKey()) instanceof Number number ? number.longValue() : 0;
+            updated.put(delta.getKey(), value + ((Number) delta.getValue()).longValue());
+        }
+        return Collections.unmodifiableMap(updated);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setPath(Map<String, Object> target, String[] path, int depth, Object value) {
+        if (depth == path.length - 1) {
+            target.put(path[depth], value);
+            return;
+        }
+        Object child = target.get(path[depth]);
+        Map<String, Object> copy = child instanceof Map<?, ?> map
+                ? new LinkedHashMap<>((Map<String, Object>) map)
+                : new LinkedHashMap<>();
+        setPath(copy, path, depth + 1, value);
+        target.put(path[depth], Collections.unmodifiableMap(copy));
+    }
+
+    private void apply(Mutation mutation) {
+        LocalCollection documents = collections.computeIfAbsent(mutation.collection, name -> new LocalCollection());
+        Entry previous = mutation.data == null
+                ? documents.remove(mutation.id)
+                : documents.put(mutation.id, new Entry(mutation.data, mutation.size));
+        if (previous != null) {
+            liveBytes -= previous.size();
+        }
+        if (mutation.data != null) {
+            liveBytes += mutation.size;
+        }
+    }
+
+    @Override
+    public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+        if (request.isCollectionGroup()) {
+            return scanGroup(request);
+        }
+        if (request.getOrderBy() != null) {
+            ensureIndex(request.getCollection(), request.getOrderBy());
+        }
+        Map<String, Object> equalTo = new HashMap<>();
+        request.getEqualTo().forEach((field, value) -> equalTo.put(field, DocumentCodec.normalize(value)));
+
+        lock.readLock().lock();
+        try {
+            LocalCollection documents = collections.get(request.getCollection());
+            List<StoredDocument> result = new ArrayList<>(Math.min(request.getLimit(), 1024));
+            if (documents == null || request.getLimit() <= 0) {
+                return ApiFutures.immediateFuture(result);
+            }
+            Iterator<String> ids = orderedIds(documents, request);
+            while (ids.hasNext() && result.size() < request.getLimit()) {
+                String id = ids.next();
+                Map<String, Object> data = documents.documents.get(id).data();
+                if (matches(data, equalTo)) {
+                    result.add(new StoredDocument(id, project(data, request.getSelect())));
+                }
+            }
+            return ApiFutures.immediateFuture(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ApiFuture<List<StoredDocument>> scanGroup(ScanRequest request) {
+        Map<String, Object> equalTo = new HashMap<>();
+        request.getEqualTo().forEach((field, value) -> equalTo.put(field, DocumentCodec.normalize(value)));
+        String suffix = "/" + request.getCollection();
+
+        lock.readLock().lock();
+        try {
+            List<StoredDocument> result = new ArrayList<>();
+            for (Map.Entry<String, LocalCollection> collection : collections.entrySet()) {
+                String name = collection.getKey();
+                if (!name.equals(request.getCollection()) && !name.endsWith(suffix)) {
+                    continue;
+                }
+                for (Map.Entry<String, Entry> document : collection.getValue().documents.entrySet()) {
+                    if (result.size() >= request.getLimit()) {
+                        return ApiFutures.immediateFuture(result);
+                    }
+                    if (matches(document.getValue().data(), equalTo)) {
+                        result.add(new StoredDocument(document.getKey(),
+                                project(document.getValue().data(), request.getSelect())));
+                    }
+                }
+            }
+            return ApiFutures.immediateFuture(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Iterator<String> orderedIds(LocalCollection documents, ScanRequest request) {
+        if (request.getOrderBy() == null) {
+            NavigableMap<String, Entry> byId = request.isDescending()
+                    ? documents.documents.descendingMap()
+                    : documents.documents;
+            if (request.getStartAfterId() != null) {
+                byId = byId.tailMap(request.getStartAfterId(), false);
+            }
+            return byId.keySet().iterator();
+        }
+        NavigableSet<IndexKey> index = documents.indexes.get(request.getOrderBy());
+        if (request.isDescending()) {
+            index = index.descendingSet();
+        }
+        if (request.getStartAfterId() != null) {
+            Object value = DocumentCodec.normalize(request.getStartAfterValue());
+            index = index.tailSet(new IndexKey(value, request.getStartAfterId()), false);
+        }
+        Iterator<IndexKey> keys = index.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return keys.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return keys.next().id();
+            }
+        };
+    }
+
+    private static boolean matches(Map<String, Object> data, Map<String, Object> equalTo) {
+        for (Map.Entry<String, Object> filter : equalTo.entrySet()) {
+            if (!data.containsKey(filter.getKey())
+                    || ValueOrder.INSTANCE.compare(data.get(filter.getKey()), filter.getValue()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> project(Map<String, Object> data, List<String> select) {
+        if (select == null) {
+            return data;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>(select.size() * 2);
+        for (String field : select) {
+            if (data.containsKey(field)) {
+                projected.put(field, data.get(field));
+            }
+        }
+        return projected;
+    }
+
+    private void ensureIndex(String collection, String field) {
+        lock.readLock().lock();
+        try {
+            LocalCollection documents = collections.get(collection);
+            if (documents != null && documents.indexes.containsKey(field)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            LocalCollection documents = collections.computeIfAbsent(collection, name -> new LocalCollection());
+            documents.indexes.computeIfAbsent(field, documents::buildIndex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- log file ----
+
+    private void recover() throws IOException {
+        long validBytes = 0;
+        if (Files.exists(logPath)) {
+            try (InputStream file = Files.newInputStream(logPath);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+                while (true) {
+                    byte[] payload = readFrame(in);
+                    if (payload == null) {
+                        break;
+                    }
+                    for (Mutation mutation : readMutations(payload)) {
+                        apply(mutation);
+                    }
+                    validBytes += FRAME_HEADER_BYTES + payload.length;
+                }
+            }
+        }
+        channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() > validBytes) {
+            log.warn("Truncating {} bytes of incomplete or corrupt records at the end of {}",
+                    channel.size() - validBytes, logPath);
+            channel.truncate(validBytes);
+            channel.force(true);
+        }
+        channel.position(validBytes);
+        logBytes = validBytes;
+    }
+
+    /** Returns {@code null} at end of file and on a torn or corrupt record. */
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] payload = in.readNBytes(length);
+            if (payload.length < length || checksum(payload) != checksum) {
+                return null;
+            }
+            return payload;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static List<Mutation> readMutations(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int count = in.readInt();
+        List<Mutation> mutations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = in.available();
+            byte op = in.readByte();
+            String collection = DocumentCodec.readString(in);
+            String id = DocumentCodec.readString(in);
+            Map<String, Object> data = op == SET ? DocumentCodec.readDocument(in) : null;
+            Mutation mutation = new Mutation(collection, id, data);
+            mutation.size = start - in.available();
+            mutations.add(mutation);
+        }
+        return mutations;
+    }
+
+    private static void writeMutation(DataOutputStream out, Mutation mutation) throws IOException {
+        out.writeByte(mutation.data == null ? DELETE : SET);
+        DocumentCodec.writeString(out, mutation.collection);
+        DocumentCodec.writeString(out, mutation.id);
+        if (mutation.data != null) {
+            DocumentCodec.writeDocument(out, mutation.data);
+        }
+    }
+
+    private void append(FileChannel target, byte[] payload) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        while (frame.hasRemaining()) {
+            target.write(frame);
+        }
+        if (target == channel) {
+            logBytes += frame.limit();
+        }
+    }
+
+    // Cuts a failed append, whole or torn, off the log; called with the write lock held
+    private void rollBack(long position, IOException cause) {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+            if (fsync) {
+                channel.force(false);
+            }
+            logBytes = position;
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+            log.error("Could not cut a failed append off {}, refusing further writes", logPath, e);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // ---- compaction ----
+
+    private void maybeCompact() {
+        if (!compacting && logBytes > compactionThresholdBytes && logBytes - liveBytes > liveBytes) {
+            compacting = true;
+            compactor.execute(this::compact);
+        }
+    }
+
+    private void compact() {
+        Path compacted = logPath.resolveSibling(LOG_FILE + ".compact");
+        try {
+            List<Mutation> live = new ArrayList<>();
+            long snapshotEnd;
+            lock.readLock().lock();
+            try {
+                collections.forEach((collection, documents) -> documents.documents.forEach(
+                        (id, entry) -> live.add(new Mutation(collection, id, entry.data()))));
+                snapshotEnd = logBytes;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (int from = 0; from < live.size(); from += COMPACTION_FRAME_DOCUMENTS) {
+                    List<Mutation> frame = live.subList(from, Math.min(from + COMPACTION_FRAME_DOCUMENTS, live.size()));
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * frame.size());
+                    DataOutputStream data = new DataOutputStream(bytes);
+                    data.writeInt(frame.size());
+                    for (Mutation mutation : frame) {
+                        writeMutation(data, mutation);
+                    }
+                    append(out, bytes.toByteArray());
+                }
+
+                lock.writeLock().lock();
+                try {
+                    // Records appended while the snapshot was being written go over verbatim
+                    long position = snapshotEnd;
+                    while (position < logBytes) {
+                        position += channel.transferTo(position, logBytes - position, out);
+                    }
+                    out.force(true);
+                    long before = logBytes;
+                    channel.close();
+                    try {
+                        Files.move(compacted, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } finally {
+                        channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                        logBytes = channel.size();
+                        channel.position(logBytes);
+                    }
+                    log.info("Compacted {} from {} to {} bytes", logPath, before, logBytes);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Compaction of {} failed: {}", logPath, e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                compacting = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            channel.force(true);
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- in-memory state ----
+
+    private static final class LocalCollection {
+        private final TreeMap<String, Entry> documents = new TreeMap<>();
+        private final Map<String, TreeSet<IndexKey>> indexes = new HashMap<>();
+
+        private TreeSet<IndexKey> buildIndex(String field) {
+            TreeSet<IndexKey> index = new TreeSet<>(IndexKey.ORDER);
+            documents.forEach((id, entry) -> {
+                // Like Firestore, ordering by a field leaves out documents that do not have it
+                if (entry.data().containsKey(field)) {
+                    index.add(new IndexKey(entry.data().get(field), id));
+                }
+            });
+            return index;
+        }
+
+        private Entry put(String id, Entry entry) {
+            Entry previous = documents.put(id, entry);
+            indexes.forEach((field, index) -> {
+                if (previous != null && previous.data().containsKey(field)) {
+                    index.remove(new IndexKey(previous.data().get(field), id));
+                }
+                if (entry.data().containsKey(field)) {
+                    index.add(new IndexKey(entry.data().get(field), id));
+                }
+            });
+            return previous;
+        }
+
+        private Entry remove(String id) {
+            Entry previous = documents.remove(id);
+            if (previous != null) {
+                indexes.forEach((field, index) -> {
+                    if (previous.data().containsKey(field)) {
+                        index.remove(new IndexKey(previous.data().get(field), id));
+                    }
+                });
+            }
+            return previous;
+        }
+    }
+
+    private record Entry(Map<String, Object> data, int size) {
+    }
+
+    private record IndexKey(Object value, String id) {
+        private static final Comparator<IndexKey> ORDER = Comparator
+                .<IndexKey, Object>comparing(IndexKey::value, ValueOrder.INSTANCE)
+                .thenComparing(IndexKey::id);
+    }
+
+    private static final class Mutation {
+        private final String collection;
+        private final String id;
+        /** The full document after the write, or {@code null} for a delete. */
+        private final Map<String, Object> data;
+        private int size;
+
+        private Mutation(String collection, String id, Map<String, Object> data) {
+            this.collection = collection;
+            this.id = id;
+            this.data = data;
+        }
+    }
+}
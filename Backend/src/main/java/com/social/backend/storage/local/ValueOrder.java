@@ -0,0 +1,104 @@
+package com.social.backend.storage.local;
+
+import com.google.cloud.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Total order over normalized document values, following Firestore's cross-type ordering:
+ * null, booleans, numbers, timestamps, strings, arrays, maps.
+ */
+final class ValueOrder implements Comparator<Object> {
+
+    static final ValueOrder INSTANCE = new ValueOrder();
+
+    private ValueOrder() {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int compare(Object a, Object b) {
+        int rank = Integer.compare(rank(a), rank(b));
+        if (rank != 0) {
+            return rank;
+        }
+        if (a == null) {
+            return 0;
+        }
+        if (a instanceof Boolean x) {
+            return Boolean.compare(x, (Boolean) b);
+        }
+        if (a instanceof Number x) {
+            Number y = (Number) b;
+            if (x instanceof Long && y instanceof Long) {
+                return Long.compare(x.longValue(), y.longValue());
+            }
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        if (a instanceof Timestamp x) {
+            return x.compareTo((Timestamp) b);
+        }
+        if (a instanceof String x) {
+            return x.compareTo((String) b);
+        }
+        if (a instanceof List<?> x) {
+            return compareLists(x, (List<?>) b);
+        }
+        return compareMaps((Map<String, Object>) a, (Map<String, Object>) b);
+    }
+
+    private static int rank(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Number) {
+            return 2;
+        }
+        if (value instanceof Timestamp) {
+            return 3;
+        }
+        if (value instanceof String) {
+            return 4;
+        }
+        if (value instanceof List) {
+            return 5;
+        }
+        return 6;
+    }
+
+    private int compareLists(List<?> a, List<?> b) {
+        Iterator<?> x = a.iterator();
+        Iterator<?> y = b.iterator();
+        while (x.hasNext() && y.hasNext()) {
+            int result = compare(x.next(), y.next());
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Boolean.compare(x.hasNext(), y.hasNext());
+    }
+
+    private int compareMaps(Map<String, Object> a, Map<String, Object> b) {
+        List<String> keysA = new ArrayList<>(a.keySet());
+        List<String> keysB = new ArrayList<>(b.keySet());
+        keysA.sort(null);
+        keysB.sort(null);
+        for (int i = 0; i < Math.min(keysA.size(), keysB.size()); i++) {
+            int result = keysA.get(i).compareTo(keysB.get(i));
+            if (result == 0) {
+                result = compare(a.get(keysA.get(i)), b.get(keysB.get(i)));
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(keysA.size(), keysB.size());
+    }
+}
@@ -0,0 +1,55 @@
+package com.social.backend.utils;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.exception.BadRequestException;
+import com.social.backend.exception.ResourceNotFoundException;
+import com.social.backend.exception.WriteQueueFullException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+public class FutureUtils {
+
+    public static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> apiFuture) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ApiFutures.addCallback(apiFuture, new ApiFutureCallback<T>() {
+            @Override
+            public void onFailure(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onSuccess(T result) {
+                future.complete(result);
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    /**
+     * Used with {@code exceptionally} to keep the service-level error messages of the blocking API.
+     * Not-found, bad-request and queue-full errors are passed through so they still reach their handlers.
+     */
+    public static <T> Function<Throwable, T> rethrow(String message) {
+        return e -> {
+            Throwable cause = unwrap(e);
+            if (cause instanceof ResourceNotFoundException || cause instanceof BadRequestException
+                    || cause instanceof WriteQueueFullException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(message, cause);
+        };
+    }
+
+    public static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
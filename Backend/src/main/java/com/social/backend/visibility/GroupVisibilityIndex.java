@@ -0,0 +1,296 @@
+package com.social.backend.visibility;
+
+import com.social.backend.repository.SocialGraphRepository;
+import com.social.backend.repository.SocialGraphRepository.GroupJoin;
+import com.social.backend.repository.cache.ChangeFeed;
+import com.social.backend.utils.FutureUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Which private groups each user belongs to, so post listings can drop posts from private groups
+ * the reader is not in without any reads. Private groups are numbered as they are first seen; the
+ * private set and each member's memberships are bitsets over those numbers, so a check is two
+ * bit lookups.
+ *
+ * <p>The index is built once, when the subscription to the private group documents has synced.
+ * After that it follows the {@code memberCount} the app updates on join and leave: a rise reads
+ * only the members who joined after the latest known join; a fall, or a count the new joins don't
+ * explain, rescans that one group. Without a change feed the index is rebuilt every
+ * {@code refresh-interval} instead. All updates run on one thread and publish fresh bitsets, so
+ * readers never lock.
+ */
+@Component
+public class GroupVisibilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupVisibilityIndex.class);
+    private static final long RETRY_DELAY_MS = 5_000;
+    private static final int MAX_PRIVATE_GROUPS = 100_000;
+
+    private final SocialGraphRepository socialGraphRepository;
+    private final ObjectProvider<ChangeFeed> changeFeed;
+    private final Duration refreshInterval;
+    private final int maxMembersPerGroup;
+
+    private final Map<String, Integer> groupNumbers = new ConcurrentHashMap<>();
+    private final Map<Integer, PrivateGroup> privateGroupMembers = new ConcurrentHashMap<>();
+    private final Map<String, BitSet> memberships = new ConcurrentHashMap<>();
+    private volatile BitSet privateGroups = new BitSet();
+    private volatile boolean ready;
+    private boolean periodic;
+    private int nextGroupNumber;
+    private final ScheduledExecutorService updater = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "group-visibility");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Sorted member ids of a private group and the latest join among them. */
+    private record PrivateGroup(String[] members, GroupJoin latestJoin) {
+    }
+
+    public GroupVisibilityIndex(SocialGraphRepository socialGraphRepository, ObjectProvider<ChangeFeed> changeFeed,
+                                @Value("${app.groups.visibility.refresh-interval:5m}") Duration refreshInterval,
+                                @Value("${app.groups.visibility.max-members-per-group:100000}") int maxMembersPerGroup) {
+        this.socialGraphRepository = socialGraphRepository;
+        this.changeFeed = changeFeed;
+        this.refreshInterval = refreshInterval;
+        this.maxMembersPerGroup = maxMembersPerGroup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ChangeFeed feed = changeFeed.getIfAvailable();
+        if (feed != null) {
+            subscribe(feed);
+        } else {
+            updater.execute(() -> {
+                periodic = true;
+                refreshAll();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /** Whether the first full build has finished and {@link #canSee} can be trusted. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Whether {@code uid} (null for anonymous) may see a post of {@code groupId} (null for a non-group post). */
+    public boolean canSee(String uid, String groupId) {
+        if (groupId == null || groupId.isEmpty()) {
+            return true;
+        }
+        Integer number = groupNumbers.get(groupId);
+        if (number == null || !privateGroups.get(number)) {
+            return true;
+        }
+        BitSet groups = uid == null ? null : memberships.get(uid);
+        return groups != null && groups.get(number);
+    }
+
+    /**
+     * The items {@code uid} may see, checked against the store rather than the index: one batched
+     * read of the items' groups and one query for the reader's memberships. Used until the index is ready.
+     */
+    public <T> CompletableFuture<List<T>> filterVisible(String uid, List<T> items, Function<T, String> groupIdOf) {
+        Set<String> groupIds = new LinkedHashSet<>();
+        for (T item : items) {
+            String groupId = groupIdOf.apply(item);
+            if (groupId != null && !groupId.isEmpty()) {
+                groupIds.add(groupId);
+            }
+        }
+        if (groupIds.isEmpty()) {
+            return CompletableFuture.completedFuture(items);
+        }
+        return FutureUtils.toCompletableFuture(socialGraphRepository.filterPrivateGroups(new ArrayList<>(groupIds)))
+                .thenCompose(privateIds -> {
+                    if (privateIds.isEmpty()) {
+                        return CompletableFuture.completedFuture(items);
+                    }
+                    CompletableFuture<List<String>> memberOf = uid == null
+                            ? CompletableFuture.completedFuture(List.of())
+                            : FutureUtils.toCompletableFuture(socialGraphRepository.filterGroupMemberships(uid, privateIds));
+                    return memberOf.thenApply(member -> {
+                        Set<String> hidden = new HashSet<>(privateIds);
+                        member.forEach(hidden::remove);
+                        return items.stream()
+                                .filter(item -> !hidden.contains(groupIdOf.apply(item)))
+                                .toList();
+                    });
+                });
+    }
+
+    /** Full rebuild; runs once the subscription syncs, and every {@code refresh-interval} without a change feed. */
+    public void refreshAll() {
+        try {
+            List<String> privateIds = socialGraphRepository.findPrivateGroupIds(MAX_PRIVATE_GROUPS).get();
+            Set<String> stillPrivate = new HashSet<>(privateIds);
+            groupNumbers.forEach((groupId, number) -> {
+                if (privateGroups.get(number) && !stillPrivate.contains(groupId)) {
+                    markPublic(number);
+                }
+            });
+            for (String groupId : privateIds) {
+                rescanGroup(groupId);
+            }
+            ready = true;
+            log.info("Group visibility index holds {} private groups, {} members", privateIds.size(), memberships.size());
+            if (periodic) {
+                updater.schedule(this::refreshAll, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            log.warn("Building the group visibility index failed: {}", FutureUtils.unwrap(e).getMessage());
+            long delay = ready && periodic ? refreshInterval.toMillis() : RETRY_DELAY_MS;
+            updater.schedule(this::refreshAll, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void subscribe(ChangeFeed feed) {
+        feed.subscribeAll("groups", Map.of("privacy", "PRIVATE"), new ChangeFeed.ChangeListener() {
+            @Override
+            public void onSynced() {
+                // Changes missed while unsubscribed are only recovered by a rebuild
+                updater.execute(GroupVisibilityIndex.this::refreshAll);
+            }
+
+            @Override
+            public void onChange(String groupId) {
+                updater.execute(() -> {
+                    try {
+                        updateGroup(groupId);
+                    } catch (Exception e) {
+                        log.debug("Updating visibility of group {} failed: {}", groupId, FutureUtils.unwrap(e).getMessage());
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                log.warn("Group change feed for the visibility index failed, resubscribing: {}", error.getMessage());
+                updater.schedule(() -> subscribe(feed), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    // Only called on the updater thread
+    private void updateGroup(String groupId) throws Exception {
+        Long memberCount = socialGraphRepository.findPrivateGroupMemberCount(groupId).get();
+        Integer number = groupNumbers.get(groupId);
+        PrivateGroup known = number == null || !privateGroups.get(number) ? null : privateGroupMembers.get(number);
+        if (memberCount == null) {
+            if (known != null) {
+                markPublic(number);
+            }
+            return;
+        }
+        if (known == null || memberCount < known.members().length) {
+            rescanGroup(groupId);
+            return;
+        }
+        if (memberCount == known.members().length) {
+            return;
+        }
+        List<GroupJoin> joins = socialGraphRepository
+                .findJoinsAfter(groupId, known.latestJoin(), Math.max(1, maxMembersPerGroup - known.members().length)).get();
+        if (joins.isEmpty()) {
+            rescanGroup(groupId);
+            return;
+        }
+        Set<String> merged = new HashSet<>(Arrays.asList(known.members()));
+        joins.forEach(join -> merged.add(join.memberId()));
+        if (merged.size() != memberCount) {
+            // A leave hidden behind the joins, or a join timestamped before the latest known one
+            rescanGroup(groupId);
+            return;
+        }
+        String[] members = merged.toArray(String[]::new);
+        Arrays.sort(members);
+        apply(number, new PrivateGroup(members, joins.get(joins.size() - 1)));
+    }
+
+    // Only called on the updater thread
+    private void rescanGroup(String groupId) throws Exception {
+        Integer number = groupNumbers.get(groupId);
+        if (number == null) {
+            number = nextGroupNumber++;
+            groupNumbers.put(groupId, number);
+        }
+        GroupJoin latestJoin = socialGraphRepository.findLatestJoin(groupId).get();
+        String[] members = socialGraphRepository.findGroupMemberIds(groupId, maxMembersPerGroup).get().toArray(String[]::new);
+        Arrays.sort(members);
+        apply(number, new PrivateGroup(members, latestJoin));
+    }
+
+    private void apply(int number, PrivateGroup group) {
+        String[] members = group.members();
+        PrivateGroup previousGroup = privateGroupMembers.get(number);
+        String[] previous = previousGroup == null ? new String[0] : previousGroup.members();
+        // Grant new members before the group turns private, and revoke only after, so no member loses access in between
+        for (String member : members) {
+            if (Arrays.binarySearch(previous, member) < 0) {
+                setMembership(member, number, true);
+            }
+        }
+        privateGroupMembers.put(number, group);
+        if (!privateGroups.get(number)) {
+            BitSet updated = (BitSet) privateGroups.clone();
+            updated.set(number);
+            privateGroups = updated;
+        }
+        for (String member : previous) {
+            if (Arrays.binarySearch(members, member) < 0) {
+                setMembership(member, number, false);
+            }
+        }
+    }
+
+    private void markPublic(int number) {
+        BitSet updated = (BitSet) privateGroups.clone();
+        updated.clear(number);
+        privateGroups = updated;
+        PrivateGroup group = privateGroupMembers.remove(number);
+        if (group != null) {
+            for (String member : group.members()) {
+                setMembership(member, number, false);
+            }
+        }
+    }
+
+    // Copy-on-write so canSee never observes a bitset mid-update
+    private void setMembership(String uid, int number, boolean member) {
+        memberships.compute(uid, (key, groups) -> {
+            BitSet updated = groups == null ? new BitSet() : (BitSet) groups.clone();
+            updated.set(number, member);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+}
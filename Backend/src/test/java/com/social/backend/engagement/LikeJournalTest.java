@@ -0,0 +1,132 @@
+package com.social.backend.engagement;
+
+import com.social.backend.engagement.LikeJournal.Commit;
+import com.social.backend.engagement.LikeJournal.Intent;
+import com.social.backend.engagement.LikeJournal.Recovery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LikeJournalTest {
+
+    private static final Intent LIKE_A = new Intent("u1", "a", true, 1);
+    private static final Intent LIKE_B = new Intent("u2", "b", true, 1);
+    private static final Intent UNLIKE_A = new Intent("u1", "a", false, -1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversEveryAcknowledgedAppend() throws Exception {
+        try (LikeJournal journal = open()) {
+            journal.append(LIKE_A).join();
+            journal.append(LIKE_B).join();
+            journal.rotate();
+            journal.append(UNLIKE_A).join();
+        }
+
+        Recovery recovery = recoverAfterRestart();
+
+        assertThat(recovery.plans()).isEmpty();
+        assertThat(recovery.intents()).containsExactly(LIKE_A, LIKE_B, UNLIKE_A);
+    }
+
+    @Test
+    void replacesTheSegmentsAPlanCovers() throws Exception {
+        List<Commit> commits;
+        long planSegment;
+        try (LikeJournal journal = open()) {
+            journal.append(LIKE_A).join();
+            planSegment = journal.rotate();
+            commits = List.of(
+                    new Commit(journal.commitId(planSegment, 0), List.of(new Intent("u1", "a", true, 0))),
+                    new Commit(journal.commitId(planSegment, 1), List.of(new Intent(null, "a", false, 1))));
+            journal.writePlan(planSegment, commits);
+            journal.append(LIKE_B).join();
+        }
+
+        Recovery recovery = recoverAfterRestart();
+
+        assertThat(recovery.plans()).hasSize(1);
+        assertThat(recovery.plans().get(0).segment()).isEqualTo(planSegment);
+        assertThat(recovery.plans().get(0).commits()).isEqualTo(commits);
+        assertThat(recovery.intents()).containsExactly(LIKE_B);
+        assertThat(segmentFiles()).doesNotContain("likes-" + planSegment + ".journal");
+    }
+
+    @Test
+    void keepsOnlyTheLatestPlanAndDropsItOnceApplied() throws Exception {
+        try (LikeJournal journal = open()) {
+            journal.append(LIKE_A).join();
+            long first = journal.rotate();
+            Commit retried = new Commit(journal.commitId(first, 0), List.of(new Intent(null, "a", false, 1)));
+            journal.writePlan(first, List.of(retried));
+            journal.append(LIKE_B).join();
+            long second = journal.rotate();
+            journal.writePlan(second, List.of(retried,
+                    new Commit(journal.commitId(second, 0), List.of(new Intent(null, "b", false, 1)))));
+
+            assertThat(segmentFiles()).doesNotContain("plan-" + first + ".journal").contains("plan-" + second + ".journal");
+
+            journal.planApplied(second);
+        }
+
+        Recovery recovery = recoverAfterRestart();
+
+        assertThat(recovery.plans()).isEmpty();
+        assertThat(recovery.intents()).isEmpty();
+    }
+
+    @Test
+    void stopsAtATornRecord() throws Exception {
+        try (LikeJournal journal = open()) {
+            journal.append(LIKE_A).join();
+            journal.append(LIKE_B).join();
+        }
+        // A crash mid-append: a header promising more payload than made it to disk
+        try (FileChannel segment = FileChannel.open(directory.resolve("likes-0.journal"), StandardOpenOption.APPEND)) {
+            segment.write(ByteBuffer.allocate(12).putInt(64).putInt(0).putInt(1).flip());
+        }
+
+        assertThat(recoverAfterRestart().intents()).containsExactly(LIKE_A, LIKE_B);
+    }
+
+    @Test
+    void keepsItsIdAcrossRestarts() throws Exception {
+        String commitId;
+        try (LikeJournal journal = open()) {
+            commitId = journal.commitId(3, 1);
+        }
+
+        try (LikeJournal journal = open(); LikeJournal other = new LikeJournal(directory.resolve("other"), false)) {
+            assertThat(journal.commitId(3, 1)).isEqualTo(commitId);
+            assertThat(other.commitId(3, 1)).isNotEqualTo(commitId);
+        }
+    }
+
+    private LikeJournal open() throws IOException {
+        return new LikeJournal(directory, false);
+    }
+
+    private Recovery recoverAfterRestart() throws IOException {
+        try (LikeJournal journal = open()) {
+            return journal.recover();
+        }
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.social.backend.repository;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.cloud.Timestamp;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.storage.DocumentStore;
+import com.social.backend.storage.ScanRequest;
+import com.social.backend.storage.StoredDocument;
+import com.social.backend.storage.WriteOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    private final CountingStore store = new CountingStore();
+    private final AbstractFirestoreRepository<PostEntity> repository = new AbstractFirestoreRepository<>(
+            store, new FirestoreCallbackExecutor(MoreExecutors.directExecutor()), "posts", PostEntity.class) {
+    };
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentFindByIdIssuesOneGet() throws Exception {
+        List<ApiFuture<PostEntity>> results = callConcurrently(() -> repository.findById("post-1"));
+        store.release();
+
+        assertThat(store.gets.get()).isEqualTo(1);
+        for (ApiFuture<PostEntity> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo("post-1");
+        }
+    }
+
+    @Test
+    void concurrentFindPageIssuesOneScan() throws Exception {
+        List<ApiFuture<CursorPage<PostEntity>>> results = callConcurrently(() -> repository.findPage("createdAt", null, 20));
+        store.release();
+
+        assertThat(store.scans.get()).isEqualTo(1);
+        for (ApiFuture<CursorPage<PostEntity>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getItems()).extracting(PostEntity::getId).containsExactly("post-1");
+        }
+    }
+
+    @Test
+    void readAfterCompletionIssuesAnotherGet() throws Exception {
+        store.release();
+        repository.findById("post-1").get(5, TimeUnit.SECONDS);
+        repository.findById("post-1").get(5, TimeUnit.SECONDS);
+
+        assertThat(store.gets.get()).isEqualTo(2);
+    }
+
+    @Test
+    void differentPagesAreNotCoalesced() throws Exception {
+        repository.findPage("createdAt", null, 20);
+        repository.findPage("createdAt", null, 10);
+        store.release();
+
+        assertThat(store.scans.get()).isEqualTo(2);
+    }
+
+    // All callers start together and the store holds every read until release(), so all of them overlap
+    private <R> List<ApiFuture<R>> callConcurrently(Callable<ApiFuture<R>> call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ApiFuture<R>>> submitted = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            submitted.add(callers.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        List<ApiFuture<R>> results = new ArrayList<>(CALLERS);
+        for (Future<ApiFuture<R>> future : submitted) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static Map<String, Object> post() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("id", "post-1");
+        document.put("createdAt", Timestamp.ofTimeSecondsAndNanos(1_700_000_000L, 0));
+        return document;
+    }
+
+    private static final class CountingStore implements DocumentStore {
+
+        private final AtomicInteger gets = new AtomicInteger();
+        private final AtomicInteger scans = new AtomicInteger();
+        private final SettableApiFuture<Void> released = SettableApiFuture.create();
+
+        void release() {
+            released.set(null);
+        }
+
+        @Override
+        public ApiFuture<Map<String, Object>> get(String collection, String id) {
+            gets.incrementAndGet();
+            return ApiFutures.transform(released, ignored -> post(), MoreExecutors.directExecutor());
+        }
+
+        @Override
+        public ApiFuture<List<Map<String, Object>>> getAll(String collection, List<String> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ApiFuture<Void> set(String collection, String id, Map<String, Object> data) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ApiFuture<Void> update(String collection, String id, Map<String, Object> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ApiFuture<Void> delete(String collection, String id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ApiFuture<List<StoredDocument>> scan(ScanRequest request) {
+            scans.incrementAndGet();
+            return ApiFutures.transform(released, ignored -> List.of(new StoredDocument("post-1", post())),
+                    MoreExecutors.directExecutor());
+        }
+
+        @Override
+        public ApiFuture<Void> commit(List<WriteOperation> writes) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
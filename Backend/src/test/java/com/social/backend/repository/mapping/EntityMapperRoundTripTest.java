@@ -0,0 +1,106 @@
+package com.social.backend.repository.mapping;
+
+import com.google.cloud.Timestamp;
+import com.social.backend.model.dto.response.PostSummary;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks every explicit mapper against the bean-convention mapper it replaced, on an instance with
+ * every field set to a non-default value, so a field added to a class but not to its mapper fails here
+ * instead of being silently dropped on write.
+ */
+class EntityMapperRoundTripTest {
+
+    // Fields the mappers never write: response-only ones, and ones only read for filtering (@JsonIgnore)
+    private static final Map<Class<?>, Set<String>> NOT_STORED =
+            Map.of(PostSummary.class, Set.of("likedByMe", "hidden", "approvalStatus"));
+
+    static Stream<Class<?>> explicitlyMapped() {
+        return EntityMappers.explicitlyMapped().stream().sorted((a, b) -> a.getName().compareTo(b.getName()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("explicitlyMapped")
+    <T> void writesTheSameFieldsAsTheReflectiveMapper(Class<T> clazz) throws Exception {
+        T sample = sample(clazz);
+        Set<String> reflectiveFields = new HashSet<>(EntityMappers.reflective(clazz).toDocument(sample).keySet());
+        reflectiveFields.removeAll(NOT_STORED.getOrDefault(clazz, Set.of()));
+
+        assertThat(EntityMappers.forClass(clazz).toDocument(sample).keySet())
+                .containsExactlyInAnyOrderElementsOf(reflectiveFields);
+    }
+
+    @ParameterizedTest
+    @MethodSource("explicitlyMapped")
+    <T> void roundTripsEveryField(Class<T> clazz) throws Exception {
+        T sample = sample(clazz);
+        EntityMapper<T> explicit = EntityMappers.forClass(clazz);
+        EntityMapper<T> reflective = EntityMappers.reflective(clazz);
+
+        assertThat(explicit.fromDocument(explicit.toDocument(sample))).isEqualTo(sample);
+        assertThat(explicit.fromDocument(reflective.toDocument(sample))).isEqualTo(sample);
+        assertThat(reflective.fromDocument(explicit.toDocument(sample))).isEqualTo(sample);
+    }
+
+    private static <T> T sample(Class<T> clazz) throws Exception {
+        T instance = clazz.getDeclaredConstructor().newInstance();
+        int ordinal = 1;
+        for (Field field : clazz.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())
+                    || NOT_STORED.getOrDefault(clazz, Set.of()).contains(field.getName())) {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(instance, value(field.getName(), field.getGenericType(), ordinal++));
+        }
+        return instance;
+    }
+
+    // A value for the field that differs from its default and from every other field's value
+    private static Object value(String name, Type type, int ordinal) throws Exception {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (List.class.isAssignableFrom(raw)) {
+                return List.of(value(name + "0", arguments[0], ordinal), value(name + "1", arguments[0], ordinal + 1));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return Map.of(name + "-key", value(name, arguments[1], ordinal));
+            }
+            throw new IllegalArgumentException("No sample for " + type);
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == String.class) {
+            return name + "-value";
+        }
+        if (raw == int.class || raw == Integer.class) {
+            return 100 + ordinal;
+        }
+        if (raw == long.class || raw == Long.class) {
+            return 10_000L + ordinal;
+        }
+        if (raw == double.class || raw == Double.class) {
+            return ordinal + 0.5;
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return true;
+        }
+        if (raw == Timestamp.class) {
+            return Timestamp.ofTimeSecondsAndNanos(1_700_000_000L + ordinal, ordinal);
+        }
+        return sample(raw);
+    }
+}
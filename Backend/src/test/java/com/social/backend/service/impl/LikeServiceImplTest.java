@@ -0,0 +1,157 @@
+package com.social.backend.service.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.social.backend.engagement.LikeJournal;
+import com.social.backend.engagement.LikeJournal.Commit;
+import com.social.backend.engagement.LikeJournal.Intent;
+import com.social.backend.engagement.LikedPostIndex;
+import com.social.backend.engagement.PostCounters;
+import com.social.backend.model.dto.response.CursorPage;
+import com.social.backend.model.dto.response.PostSummary;
+import com.social.backend.model.entity.PostEntity;
+import com.social.backend.repository.FirestoreCallbackExecutor;
+import com.social.backend.repository.LikeRepository;
+import com.social.backend.repository.PostCounterRepository;
+import com.social.backend.repository.PostRepository;
+import com.social.backend.repository.cache.EntityCacheManager;
+import com.social.backend.repository.cache.EntityCacheProperties;
+import com.social.backend.service.FeedService;
+import com.social.backend.storage.local.LocalDocumentStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Recovery of buffered likes from the journal a previous run left behind. */
+class LikeServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private LocalDocumentStore store;
+    private FirestoreCallbackExecutor callbackExecutor;
+    private PostCounterRepository counterRepository;
+    private LikedPostIndex likedPostIndex;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalDocumentStore(directory.resolve("store"), false, Long.MAX_VALUE);
+        callbackExecutor = new FirestoreCallbackExecutor(MoreExecutors.directExecutor());
+        counterRepository = new PostCounterRepository(store, callbackExecutor, 10, 1000);
+        likedPostIndex = new LikedPostIndex(new LikeRepository(store, callbackExecutor), 1000, 200, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void replaysOnlyThePlannedCommitsWithoutAMarker() throws Exception {
+        String applied;
+        String lost;
+        try (LikeJournal journal = journal()) {
+            long segment = journal.rotate();
+            applied = journal.commitId(segment, 0);
+            lost = journal.commitId(segment, 1);
+            journal.writePlan(segment, List.of(
+                    new Commit(applied, List.of(new Intent(null, "p1", false, 1))),
+                    new Commit(lost, List.of(new Intent(null, "p2", false, 1)))));
+        }
+        // The previous run died after the first commit went through
+        store.commit(List.of(counterRepository.increment("p1", PostCounterRepository.LIKES, 1),
+                LikeRepository.flushMarker(applied))).get();
+
+        startAndStop();
+
+        Map<String, Map<String, Long>> totals = counterRepository.totals(List.of("p1", "p2")).get();
+        assertThat(totals.get("p1")).containsEntry(PostCounterRepository.LIKES, 1L);
+        assertThat(totals.get("p2")).containsEntry(PostCounterRepository.LIKES, 1L);
+        assertThat(new LikeRepository(store, callbackExecutor).findFlushMarkers(List.of(lost)).get()).isEmpty();
+    }
+
+    @Test
+    void replaysEachRetriedCommitOnce() throws Exception {
+        try (LikeJournal journal = journal()) {
+            long first = journal.rotate();
+            Commit retried = new Commit(journal.commitId(first, 0), List.of(new Intent(null, "p1", false, 1)));
+            journal.writePlan(first, List.of(retried));
+            long second = journal.rotate();
+            // A crash between writing the second plan and deleting the first leaves both listing the retry
+            Path firstPlan = directory.resolve("journal").resolve("plan-" + first + ".journal");
+            byte[] firstPlanBytes = Files.readAllBytes(firstPlan);
+            journal.writePlan(second, List.of(retried));
+            Files.write(firstPlan, firstPlanBytes);
+        }
+
+        startAndStop();
+
+        assertThat(counterRepository.totals(List.of("p1")).get().get("p1")).containsEntry(PostCounterRepository.LIKES, 1L);
+    }
+
+    @Test
+    void replayedLikesReachTheLikedPostIndex() throws Exception {
+        try (LikeJournal journal = journal()) {
+            journal.append(new Intent("u1", "p1", true, 1)).join();
+        }
+
+        LikeServiceImpl likeService = start();
+        try {
+            assertThat(likedPostIndex.recentLike("u1", "p1")).isTrue();
+        } finally {
+            likeService.shutdown();
+        }
+        assertThat(likedPostIndex.likedAmong("u1", List.of("p1")).get()).containsExactly("p1");
+    }
+
+    private LikeJournal journal() throws Exception {
+        return new LikeJournal(directory.resolve("journal"), false);
+    }
+
+    private void startAndStop() throws Exception {
+        start().shutdown();
+    }
+
+    // The scheduled flush never runs; shutdown flushes once
+    private LikeServiceImpl start() throws Exception {
+        EntityCacheProperties cacheProperties = new EntityCacheProperties();
+        cacheProperties.setEnabled(false);
+        PostRepository posts = new PostRepository(store, callbackExecutor,
+                new EntityCacheManager(cacheProperties, new SimpleMeterRegistry()));
+        PostCounters postCounters = new PostCounters(counterRepository, Duration.ofSeconds(30), 1000);
+        return new LikeServiceImpl(posts, new LikeRepository(store, callbackExecutor), counterRepository,
+                likedPostIndex, postCounters, new NoFeed(), new SimpleMeterRegistry(), Duration.ofHours(1), 2000,
+                directory.resolve("journal").toString(), false);
+    }
+
+    private static final class NoFeed implements FeedService {
+        @Override
+        public CompletableFuture<Void> fanOut(PostEntity post) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<CursorPage<PostSummary>> getFeed(String uid, String cursor, int limit) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+
+        @Override
+        public CompletableFuture<CursorPage<PostSummary>> getRankedFeed(String uid, String cursor, int limit) {
+            return CompletableFuture.completedFuture(new CursorPage<>(List.of(), null));
+        }
+
+        @Override
+        public void onEngagement(String postId, long likeDelta, long commentDelta) {
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.social.backend.storage.local;
+
+import com.social.backend.storage.WriteOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalDocumentStoreTest {
+
+    private static final long NO_COMPACTION = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversEveryCommittedWrite() throws Exception {
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            store.set("posts", "a", Map.of("text", "first", "likeCount", 1L)).get();
+            store.set("posts", "b", Map.of("text", "second")).get();
+            store.update("posts", "a", Map.of("text", "edited")).get();
+            store.delete("posts", "b").get();
+            store.commit(List.of(
+                    WriteOperation.set("posts", "c", Map.of("text", "third")),
+                    WriteOperation.increment("posts", "a", Map.of("likeCount", 2L)))).get();
+        }
+
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            assertThat(store.get("posts", "a").get()).containsEntry("text", "edited").containsEntry("likeCount", 3L);
+            assertThat(store.get("posts", "b").get()).isNull();
+            assertThat(store.get("posts", "c").get()).containsEntry("text", "third");
+        }
+    }
+
+    @Test
+    void truncatesATornTailAndKeepsLaterCommits() throws Exception {
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            store.set("posts", "a", Map.of("text", "kept")).get();
+        }
+        long validBytes = Files.size(log());
+        // A crash mid-append: a header promising more payload than made it to disk
+        appendToLog(ByteBuffer.allocate(12).putInt(100).putInt(0).putInt(7).flip());
+
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            assertThat(Files.size(log())).isEqualTo(validBytes);
+            assertThat(store.get("posts", "a").get()).containsEntry("text", "kept");
+            store.set("posts", "b", Map.of("text", "after recovery")).get();
+        }
+
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            assertThat(store.get("posts", "a").get()).containsEntry("text", "kept");
+            assertThat(store.get("posts", "b").get()).containsEntry("text", "after recovery");
+        }
+    }
+
+    @Test
+    void dropsARecordWithABadChecksum() throws Exception {
+        long firstRecordBytes;
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            store.set("posts", "a", Map.of("text", "kept")).get();
+            firstRecordBytes = Files.size(log());
+            store.set("posts", "b", Map.of("text", "corrupted")).get();
+        }
+        try (FileChannel file = FileChannel.open(log(), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), Files.size(log()) - 1);
+        }
+
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            assertThat(store.get("posts", "a").get()).containsEntry("text", "kept");
+            assertThat(store.get("posts", "b").get()).isNull();
+            assertThat(Files.size(log())).isEqualTo(firstRecordBytes);
+        }
+    }
+
+    @Test
+    void compactsSupersededRecordsWithoutLosingDocuments() throws Exception {
+        long uncompactedBytes = writeOverwrites(NO_COMPACTION);
+        Files.delete(log());
+
+        long compactedBytes = writeOverwrites(1024);
+
+        assertThat(compactedBytes).isLessThan(uncompactedBytes / 2);
+        try (LocalDocumentStore store = open(NO_COMPACTION)) {
+            for (int doc = 0; doc < 10; doc++) {
+                assertThat(store.get("posts", "post-" + doc).get()).containsEntry("version", 199L);
+            }
+            assertThat(store.get("posts", "deleted").get()).isNull();
+        }
+    }
+
+    private long writeOverwrites(long compactionThresholdBytes) throws Exception {
+        try (LocalDocumentStore store = open(compactionThresholdBytes)) {
+            store.set("posts", "deleted", Map.of("version", 0L)).get();
+            for (long version = 0; version < 200; version++) {
+                for (int doc = 0; doc < 10; doc++) {
+                    store.set("posts", "post-" + doc, Map.of("version", version, "text", "post text " + doc)).get();
+                }
+            }
+            store.delete("posts", "deleted").get();
+        }
+        // Compactions run in the background while writes go on; one write with no others after it
+        // starts a compaction of the whole log, and closing waits for it
+        try (LocalDocumentStore store = open(compactionThresholdBytes)) {
+            store.set("posts", "trigger", Map.of("version", 0L)).get();
+        }
+        return Files.size(log());
+    }
+
+    private LocalDocumentStore open(long compactionThresholdBytes) {
+        return new LocalDocumentStore(directory, false, compactionThresholdBytes);
+    }
+
+    private Path log() {
+        return directory.resolve(LocalDocumentStore.LOG_FILE);
+    }
+
+    private void appendToLog(ByteBuffer bytes) throws IOException {
+        try (FileChannel file = FileChannel.open(log(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            file.write(bytes);
+        }
+    }
+}